@@ -1,11 +1,32 @@
 package mst;
 
+import mst.algorithm.AlgorithmSelector;
+import mst.analysis.MSTVerifier;
+import mst.algorithm.CostModel;
+import mst.algorithm.MSTAlgorithm;
 import mst.algorithm.PrimAlgorithm;
+import mst.batch.BatchRunner;
+import mst.distributed.PartitionWorker;
+import mst.distributed.PartitionedMSTAlgorithm;
+import mst.io.BinaryResultFormat;
 import mst.io.JSONHandler;
+import mst.kernel.KernelizedAlgorithm;
+import mst.metrics.MetricsRegistry;
 import mst.model.Graph;
 import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
+import mst.model.WeightFormat;
+import mst.reorder.ReorderedAlgorithm;
+import mst.reorder.VertexOrdering;
+import mst.server.MSTServer;
+import mst.util.MemoryMeter;
 import mst.algorithm.KruskalAlgorithm;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,14 +39,112 @@ public class Main {
         String inputFile = "src/main/resources/input.json";
         String outputFile = "src/main/resources/output.json";
 
-        // Allow command line arguments
-        if (args.length >= 1) {
-            inputFile = args[0];
+        // Allow command line arguments; --auto runs only the engine the cost model picks,
+        // --calibrate=<csv> fits that model to the solve times of a benchmark CSV (e.g. a batch summary.csv)
+        // first, --kernelize solves reduced graphs, --partitions=<k> splits each graph across k local
+        // worker processes, --verify runs one engine and checks its tree with MSTVerifier instead of
+        // cross-checking against a second engine.
+        // An output path ending in .mstb selects the binary result format; --to-json converts one back.
+        // Paths ending in .gz are written compressed, and gzip inputs are detected and inflated on the fly.
+        // --reorder=bfs|rcm|hilbert relabels vertices for memory locality before solving.
+        // --batch treats the input as a directory or glob and the output as a directory; --parallel=<n>
+        // sets how many files are solved at once. --metrics=<file> writes solve and load metrics in the
+        // Prometheus text format when the run ends. --off-heap streams each graph into native memory and
+        // runs the off-heap Prim and Kruskal, whose working memory on the heap grows with V rather than E;
+        // --off-heap=float or --off-heap=fixed:<scale> stores 4-byte weights instead of doubles.
+        boolean autoSelect = false;
+        boolean toJson = false;
+        boolean verify = false;
+        boolean kernelize = false;
+        boolean offHeap = false;
+        WeightFormat weightFormat = WeightFormat.DOUBLE;
+        VertexOrdering.Strategy reorder = null;
+        boolean batch = false;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int partitions = 0;
+        String benchmarkFile = null;
+        String metricsFile = null;
+        Integer serverPort = null;
+        Integer workerPort = null;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--server")) {
+                serverPort = MSTServer.DEFAULT_PORT;
+            } else if (arg.startsWith("--server=")) {
+                serverPort = Integer.parseInt(arg.substring("--server=".length()));
+            } else if (arg.equals("--worker")) {
+                workerPort = 0;
+            } else if (arg.startsWith("--worker=")) {
+                workerPort = Integer.parseInt(arg.substring("--worker=".length()));
+            } else if (arg.startsWith("--partitions=")) {
+                partitions = Integer.parseInt(arg.substring("--partitions=".length()));
+            } else if (arg.equals("--auto")) {
+                autoSelect = true;
+            } else if (arg.equals("--verify")) {
+                verify = true;
+            } else if (arg.equals("--to-json")) {
+                toJson = true;
+            } else if (arg.startsWith("--reorder=")) {
+                reorder = VertexOrdering.Strategy.parse(arg.substring("--reorder=".length()));
+            } else if (arg.equals("--batch")) {
+                batch = true;
+            } else if (arg.startsWith("--parallel=")) {
+                parallelism = Integer.parseInt(arg.substring("--parallel=".length()));
+            } else if (arg.startsWith("--metrics=")) {
+                metricsFile = arg.substring("--metrics=".length());
+            } else if (arg.equals("--kernelize")) {
+                kernelize = true;
+            } else if (arg.equals("--off-heap")) {
+                offHeap = true;
+            } else if (arg.startsWith("--off-heap=")) {
+                offHeap = true;
+                weightFormat = WeightFormat.parse(arg.substring("--off-heap=".length()));
+            } else if (arg.startsWith("--calibrate=")) {
+                autoSelect = true;
+                benchmarkFile = arg.substring("--calibrate=".length());
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() >= 1) {
+            inputFile = positional.get(0);
+        }
+        if (positional.size() >= 2) {
+            outputFile = positional.get(1);
+        }
+        if (offHeap && (kernelize || reorder != null || autoSelect || verify || partitions > 0 || batch
+                || toJson || serverPort != null || workerPort != null)) {
+            System.err.println("Error: --off-heap runs plain Prim and Kruskal and cannot be combined with "
+                    + "--kernelize, --reorder, --auto, --calibrate, --verify, --partitions, --batch, --to-json, "
+                    + "--server or --worker");
+            return;
+        }
+
+        if (serverPort != null) {
+            startServer(serverPort);
+            return;
+        }
+        if (workerPort != null) {
+            startWorker(workerPort);
+            return;
+        }
+        if (toJson) {
+            convertToJson(inputFile, outputFile);
+            return;
+        }
+        if (offHeap) {
+            runOffHeap(inputFile, outputFile, weightFormat);
+            writeMetrics(metricsFile);
+            return;
         }
-        if (args.length >= 2) {
-            outputFile = args[1];
+        if (batch) {
+            runBatch(positional.isEmpty() ? "src/main/resources" : inputFile,
+                    positional.size() >= 2 ? outputFile : "batch_output", parallelism, kernelize, reorder);
+            writeMetrics(metricsFile);
+            return;
         }
 
+        PartitionedMSTAlgorithm partitioned = null;
         try {
             System.out.println("=== MST Transportation Network Optimizer ===\n");
 
@@ -35,15 +154,33 @@ public class Main {
             System.out.println("Loaded " + graphs.size() + " graph(s) from " + inputFile + "\n");
 
             // Initialize algorithms
-            PrimAlgorithm primAlgorithm = new PrimAlgorithm();
-            KruskalAlgorithm kruskalAlgorithm = new KruskalAlgorithm();
+            MSTAlgorithm primAlgorithm = new PrimAlgorithm(true);
+            MSTAlgorithm kruskalAlgorithm = new KruskalAlgorithm();
+            if (kernelize) {
+                primAlgorithm = new KernelizedAlgorithm(primAlgorithm);
+                kruskalAlgorithm = new KernelizedAlgorithm(kruskalAlgorithm);
+            }
+            if (reorder != null) {
+                primAlgorithm = new ReorderedAlgorithm(primAlgorithm, reorder);
+                kruskalAlgorithm = new ReorderedAlgorithm(kruskalAlgorithm, reorder);
+            }
+            MSTVerifier verifier = new MSTVerifier();
+            AlgorithmSelector selector = null;
+            if (autoSelect) {
+                selector = new AlgorithmSelector(benchmarkFile != null
+                        ? CostModel.calibrate(benchmarkFile) : CostModel.defaults());
+            }
+            if (partitions > 0) {
+                partitioned = PartitionedMSTAlgorithm.spawnLocal(partitions);
+                System.out.println("Started " + partitions + " partition worker(s)\n");
+            }
 
             // Process each graph
             List<JSONHandler.ResultPair> results = new ArrayList<>();
 
             for (Graph graph : graphs) {
                 System.out.println("Processing " + graph.getName() + " (ID: " + graph.getGraphId() + ")");
-                System.out.println("Vertices: " + graph.getVertices() + ", Edges: " + graph.getEdges().size());
+                System.out.println("Vertices: " + graph.getVertices() + ", Edges: " + graph.getInputEdgeCount());
                 System.out.println("Nodes: " + graph.getNodeNames());
 
                 // Check if graph is connected
@@ -51,33 +188,65 @@ public class Main {
                     System.out.println("WARNING: Graph is not connected!\n");
                 }
 
+                if (selector != null || partitioned != null || verify) {
+                    MSTAlgorithm engine;
+                    if (partitioned != null) {
+                        engine = partitioned;
+                        System.out.println("\nRunning " + engine.getName() + " (" + partitions + " workers)...");
+                    } else if (selector != null) {
+                        engine = selector.select(graph);
+                        System.out.println("\nRunning " + engine.getName() + " (auto-selected)...");
+                    } else {
+                        engine = primAlgorithm;
+                        System.out.println("\nRunning " + engine.getName() + "...");
+                    }
+                    if (engine != primAlgorithm) {
+                        if (kernelize) {
+                            engine = new KernelizedAlgorithm(engine);
+                        }
+                        if (reorder != null) {
+                            engine = new ReorderedAlgorithm(engine, reorder);
+                        }
+                    }
+                    MSTAlgorithm solver = engine;
+                    MSTResult result = MemoryMeter.measure(graph, () -> solver.findMST(graph));
+                    printResult(result);
+                    if (verify && result.isSuccess()) {
+                        System.out.println("Verified: " + (verifier.verify(graph, result).isValid() ? "YES" : "NO"));
+                    }
+
+                    results.add(new JSONHandler.ResultPair(
+                            graph.getGraphId(),
+                            graph.getName(),
+                            graph.getVertices(),
+                            graph.getInputEdgeCount(),
+                            result
+                    ));
+
+                    System.out.println("\n" + "=".repeat(60) + "\n");
+                    continue;
+                }
+
                 // Run Prim's algorithm
                 System.out.println("\nRunning Prim's Algorithm...");
-                MSTResult primResult = primAlgorithm.findMST(graph);
+                MSTAlgorithm prim = primAlgorithm;
+                MSTResult primResult = MemoryMeter.measure(graph, () -> prim.findMST(graph));
                 printResult(primResult);
 
                 // Run Kruskal's algorithm
                 System.out.println("\nRunning Kruskal's Algorithm...");
-                MSTResult kruskalResult = kruskalAlgorithm.findMST(graph);
+                MSTAlgorithm kruskal = kruskalAlgorithm;
+                MSTResult kruskalResult = MemoryMeter.measure(graph, () -> kruskal.findMST(graph));
                 printResult(kruskalResult);
 
-                // Compare results
-                if (primResult.isSuccess() && kruskalResult.isSuccess()) {
-                    System.out.println("\n--- Comparison ---");
-                    System.out.println("Cost Match: " +
-                            (Math.abs(primResult.getTotalCost() - kruskalResult.getTotalCost()) < 0.001 ? "YES" : "NO"));
-                    System.out.println("Prim Time: " + primResult.getExecutionTimeMs() + " ms");
-                    System.out.println("Kruskal Time: " + kruskalResult.getExecutionTimeMs() + " ms");
-                    System.out.println("Prim Operations: " + primResult.getOperationCount());
-                    System.out.println("Kruskal Operations: " + kruskalResult.getOperationCount());
-                }
+                printComparison(primResult, kruskalResult);
 
                 // Store results
                 results.add(new JSONHandler.ResultPair(
                         graph.getGraphId(),
                         graph.getName(),
                         graph.getVertices(),
-                        graph.getEdges().size(),
+                        graph.getInputEdgeCount(),
                         primResult,
                         kruskalResult
                 ));
@@ -85,10 +254,182 @@ public class Main {
                 System.out.println("\n" + "=".repeat(60) + "\n");
             }
 
-            // Write results to JSON
+            writeResults(jsonHandler, outputFile, results);
+
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (partitioned != null) {
+                partitioned.close();
+            }
+        }
+        writeMetrics(metricsFile);
+    }
+
+    /**
+     * Streams each graph into native memory and runs the off-heap Prim and Kruskal on it.
+     * Edge-list input never becomes an on-heap Graph, and each graph's native memory is
+     * released as soon as it is solved.
+     */
+    private static void runOffHeap(String inputFile, String outputFile, WeightFormat weightFormat) {
+        List<OffHeapGraph> graphs = new ArrayList<>();
+        try {
+            System.out.println("=== MST Transportation Network Optimizer ===\n");
+            JSONHandler jsonHandler = new JSONHandler();
+            graphs = jsonHandler.readOffHeapGraphs(inputFile, weightFormat);
+            System.out.println("Loaded " + graphs.size() + " graph(s) off-heap from " + inputFile + "\n");
+
+            PrimAlgorithm primAlgorithm = new PrimAlgorithm();
+            KruskalAlgorithm kruskalAlgorithm = new KruskalAlgorithm();
+            List<JSONHandler.ResultPair> results = new ArrayList<>();
+            for (OffHeapGraph graph : graphs) {
+                System.out.println("Processing " + graph.getName() + " (ID: " + graph.getGraphId() + ")");
+                System.out.println("Vertices: " + graph.getVertices() + ", Edges: " + graph.getEdgeCount());
+                System.out.println("Off-heap storage: " + graph.getStorageBytes() + " bytes ("
+                        + graph.getWeightFormat() + " weights"
+                        + (weightFormat == WeightFormat.FLOAT ? ", totals approximate)" : ")"));
+
+                System.out.println("\nRunning Prim's Algorithm (off-heap)...");
+                MSTResult primResult = MemoryMeter.measure(graph, () -> primAlgorithm.findMST(graph));
+                printResult(primResult);
+
+                System.out.println("\nRunning Kruskal's Algorithm (off-heap)...");
+                MSTResult kruskalResult = MemoryMeter.measure(graph, () -> kruskalAlgorithm.findMST(graph));
+                printResult(kruskalResult);
+
+                printComparison(primResult, kruskalResult);
+                results.add(new JSONHandler.ResultPair(
+                        graph.getGraphId(),
+                        graph.getName(),
+                        graph.getVertices(),
+                        (int) Math.min(graph.getEdgeCount(), Integer.MAX_VALUE),
+                        primResult,
+                        kruskalResult
+                ));
+                graph.close();
+
+                System.out.println("\n" + "=".repeat(60) + "\n");
+            }
+
+            writeResults(jsonHandler, outputFile, results);
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            graphs.forEach(OffHeapGraph::close);
+        }
+    }
+
+    private static void printComparison(MSTResult primResult, MSTResult kruskalResult) {
+        if (primResult.isSuccess() && kruskalResult.isSuccess()) {
+            System.out.println("\n--- Comparison ---");
+            System.out.println("Cost Match: " +
+                    (Math.abs(primResult.getTotalCost() - kruskalResult.getTotalCost()) < 0.001 ? "YES" : "NO"));
+            System.out.println("Prim Time: " + primResult.getExecutionTimeMs() + " ms");
+            System.out.println("Kruskal Time: " + kruskalResult.getExecutionTimeMs() + " ms");
+            System.out.println("Prim Operations: " + primResult.getOperationCount());
+            System.out.println("Kruskal Operations: " + kruskalResult.getOperationCount());
+        }
+    }
+
+    /**
+     * Writes results to JSON, or to the binary format if asked for by extension.
+     */
+    private static void writeResults(JSONHandler jsonHandler, String outputFile,
+                                     List<JSONHandler.ResultPair> results) throws IOException {
+        if (BinaryResultFormat.isBinaryPath(outputFile)) {
+            BinaryResultFormat.write(outputFile, results);
+        } else {
             jsonHandler.writeResults(outputFile, results);
-            System.out.println("Results written to " + outputFile);
+        }
+        System.out.println("Results written to " + outputFile);
+    }
 
+    private static void writeMetrics(String metricsFile) {
+        if (metricsFile == null) {
+            return;
+        }
+        try {
+            Files.writeString(Paths.get(metricsFile), MetricsRegistry.getDefault().toPrometheus(),
+                    StandardCharsets.UTF_8);
+            System.out.println("Metrics written to " + metricsFile);
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Solves every file matched by the input pattern in this JVM.
+     */
+    private static void runBatch(String inputPattern, String outputDirectory, int parallelism,
+                                 boolean kernelize, VertexOrdering.Strategy reorder) {
+        try {
+            MSTAlgorithm primAlgorithm = new PrimAlgorithm(true);
+            MSTAlgorithm kruskalAlgorithm = new KruskalAlgorithm();
+            if (kernelize) {
+                primAlgorithm = new KernelizedAlgorithm(primAlgorithm);
+                kruskalAlgorithm = new KernelizedAlgorithm(kruskalAlgorithm);
+            }
+            if (reorder != null) {
+                primAlgorithm = new ReorderedAlgorithm(primAlgorithm, reorder);
+                kruskalAlgorithm = new ReorderedAlgorithm(kruskalAlgorithm, reorder);
+            }
+
+            List<Path> inputs = BatchRunner.resolveInputs(inputPattern);
+            System.out.println("Solving " + inputs.size() + " file(s) from " + inputPattern
+                    + " with parallelism " + parallelism);
+            BatchRunner.Report report = new BatchRunner(primAlgorithm, kruskalAlgorithm, parallelism)
+                    .run(inputs, Paths.get(outputDirectory));
+            System.out.println("Solved " + report.getGraphsSolved() + " graph(s) in " + report.getFilesSolved()
+                    + " file(s) in " + report.getElapsedMs() + " ms");
+            for (String failure : report.getFailures()) {
+                System.err.println("Failed: " + failure);
+            }
+            System.out.println("Summary written to " + report.getSummaryFile());
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Rewrites a binary result file in the output.json format.
+     */
+    private static void convertToJson(String binaryFile, String jsonFile) {
+        try {
+            BinaryResultFormat.convertToJson(binaryFile, jsonFile);
+            System.out.println("Converted " + binaryFile + " to " + jsonFile);
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs a partition worker in this JVM until a coordinator shuts it down.
+     */
+    private static void startWorker(int port) {
+        try {
+            PartitionWorker worker = new PartitionWorker(port);
+            System.out.println("MST partition worker listening on localhost:" + worker.getPort());
+            worker.serve();
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Starts the local solver service; the JVM keeps running until it is terminated.
+     */
+    private static void startServer(int port) {
+        try {
+            int workers = Runtime.getRuntime().availableProcessors();
+            MSTServer server = new MSTServer(port, workers, workers * 64, workers * 4);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            System.out.println("MST server listening on http://localhost:" + server.getPort() + "/solve");
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
@@ -104,7 +445,15 @@ public class Main {
         System.out.println("Total Cost: " + result.getTotalCost());
         System.out.println("MST Edges: " + result.getMstEdges().size());
         System.out.println("Operations: " + result.getOperationCount());
+        if (result.getAllocatedBytes() >= 0) {
+            String retained = result.getGraphRetainedBytes() >= 0
+                    ? " (graph retains ~" + result.getGraphRetainedBytes() + " bytes)" : "";
+            System.out.println("Allocated: " + result.getAllocatedBytes() + " bytes" + retained);
+        }
         System.out.println("Execution Time: " + result.getExecutionTimeMs() + " ms");
+        if (result.getFrontier() != null) {
+            System.out.println("Frontier: " + result.getFrontier());
+        }
         System.out.println("Edges in MST:");
         for (var edge : result.getMstEdges()) {
             System.out.println("  " + edge.toStringWithNames());
@@ -0,0 +1,67 @@
+package mst.algorithm;
+
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Picks the engine with the lowest predicted cost for each graph and runs only that one.
+ */
+public class AlgorithmSelector implements MSTAlgorithm {
+
+    private static final String SELECTOR_NAME = "Auto-selected";
+
+    private final CostModel model;
+    private final Map<String, MSTAlgorithm> engines = new LinkedHashMap<>();
+
+    public AlgorithmSelector() {
+        this(CostModel.defaults());
+    }
+
+    public AlgorithmSelector(CostModel model) {
+        this.model = model;
+        engines.put(CostModel.PRIM, new PrimAlgorithm());
+        engines.put(CostModel.PRIM_BUCKET, new PrimAlgorithm(true));
+        engines.put(CostModel.KRUSKAL, new KruskalAlgorithm());
+        engines.put(CostModel.PARALLEL_PRIM, new ParallelPrimAlgorithm(model.getParallelism()));
+    }
+
+    /**
+     * Returns the key of the engine with the lowest predicted cost; ties keep registration order.
+     */
+    public String selectEngine(Graph graph) {
+        GraphProfile profile = GraphProfile.of(graph);
+        String best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (String engine : engines.keySet()) {
+            if (!model.isApplicable(engine, profile)) continue;
+            double cost = model.predict(engine, profile);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = engine;
+            }
+        }
+        return best != null ? best : CostModel.KRUSKAL;
+    }
+
+    public MSTAlgorithm select(Graph graph) {
+        return engines.get(selectEngine(graph));
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return select(graph).findMST(graph);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph, SolveControl control) {
+        return select(graph).findMST(graph, control);
+    }
+
+    @Override
+    public String getName() {
+        return SELECTOR_NAME;
+    }
+}
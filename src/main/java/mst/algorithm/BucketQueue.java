@@ -0,0 +1,120 @@
+package mst.algorithm;
+
+import mst.model.Edge;
+
+import java.util.Arrays;
+
+/**
+ * Bucket queue for edges with small non-negative integer weights.
+ * Each bucket is an intrusive singly linked list over parallel arrays, so offer and
+ * poll do not allocate. Prim's keys are not monotone (a newly added vertex can
+ * expose a lighter edge), so instead of a cursor the lightest non-empty bucket is
+ * found through a three-level bitmap of occupied buckets: offer and poll each touch
+ * one word per level, O(1) for keys below 2^18. Only reset depends on the weight
+ * range, so a solve costs O(E + W) for the queue.
+ */
+final class BucketQueue {
+
+    private static final int EMPTY = -1;
+    private static final int LEVEL_BITS = 6;
+
+    /**
+     * Keys must be below this: the top bitmap level is a single word.
+     */
+    static final int KEY_LIMIT = 1 << (3 * LEVEL_BITS);
+
+    private int[] head = new int[0];
+    private Edge[] entries = new Edge[0];
+    private int[] next = new int[0];
+    // Bit k of occupied is set if bucket k is non-empty, bit w of middle if occupied[w] != 0,
+    // and bit m of top if middle[m] != 0
+    private long[] occupied = new long[0];
+    private long[] middle = new long[0];
+    private long top;
+    private int used;
+    private int size;
+    private long scanSteps;
+
+    /**
+     * Prepares the queue for keys in [0, maxKey] and at most maxEntries offers.
+     *
+     * @throws IllegalArgumentException if maxKey is not below KEY_LIMIT
+     */
+    void reset(int maxKey, int maxEntries) {
+        if (maxKey >= KEY_LIMIT) {
+            throw new IllegalArgumentException("Bucket key " + maxKey + " exceeds " + (KEY_LIMIT - 1));
+        }
+        if (head.length < maxKey + 1) {
+            head = new int[maxKey + 1];
+            occupied = new long[(maxKey >>> LEVEL_BITS) + 1];
+            middle = new long[(maxKey >>> (2 * LEVEL_BITS)) + 1];
+        }
+        if (entries.length < maxEntries) {
+            entries = new Edge[maxEntries];
+            next = new int[maxEntries];
+        }
+        Arrays.fill(head, 0, maxKey + 1, EMPTY);
+        Arrays.fill(occupied, 0, (maxKey >>> LEVEL_BITS) + 1, 0L);
+        Arrays.fill(middle, 0, (maxKey >>> (2 * LEVEL_BITS)) + 1, 0L);
+        top = 0;
+        used = 0;
+        size = 0;
+        scanSteps = 0;
+    }
+
+    void offer(Edge edge) {
+        int key = (int) edge.getWeight();
+        if (head[key] == EMPTY) {
+            int word = key >>> LEVEL_BITS;
+            occupied[word] |= 1L << key;
+            middle[word >>> LEVEL_BITS] |= 1L << word;
+            top |= 1L << (word >>> LEVEL_BITS);
+        }
+        entries[used] = edge;
+        next[used] = head[key];
+        head[key] = used++;
+        size++;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    Edge poll() {
+        int m = Long.numberOfTrailingZeros(top);
+        int word = (m << LEVEL_BITS) + Long.numberOfTrailingZeros(middle[m]);
+        int key = (word << LEVEL_BITS) + Long.numberOfTrailingZeros(occupied[word]);
+        scanSteps += 3;
+
+        int slot = head[key];
+        head[key] = next[slot];
+        if (head[key] == EMPTY) {
+            occupied[word] &= ~(1L << key);
+            if (occupied[word] == 0) {
+                middle[m] &= ~(1L << word);
+                if (middle[m] == 0) {
+                    top &= ~(1L << m);
+                }
+            }
+        }
+        size--;
+        Edge edge = entries[slot];
+        entries[slot] = null;
+        return edge;
+    }
+
+    /**
+     * Number of bitmap words read to find the lightest bucket since the last reset.
+     */
+    long getScanSteps() {
+        return scanSteps;
+    }
+
+    /**
+     * Drops remaining edge references.
+     */
+    void clear() {
+        Arrays.fill(entries, 0, used, null);
+        size = 0;
+    }
+}
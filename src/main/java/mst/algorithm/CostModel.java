@@ -0,0 +1,251 @@
+package mst.algorithm;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linear cost model per engine: cost = intercept + slope * feature(graph).
+ *
+ * The features reflect the dominant work of each engine (heap work E log V for
+ * Prim, sorting E log E for Kruskal, E + V + W / 64 for bucket Prim), so
+ * density enters through the ratio of E to V. Parallel Prim's heap work is
+ * divided by the number of threads that actually run at once, and its intercept
+ * covers handing the trees to the pool. Costs are in milliseconds of solve time;
+ * coefficients are fitted by least squares on relative error to a benchmark CSV
+ * in the ResultAnalyzer format, such as the summary.csv of a batch run.
+ */
+public final class CostModel {
+
+    public static final String PRIM = "prim";
+    public static final String PRIM_BUCKET = "prim-bucket";
+    public static final String KRUSKAL = "kruskal";
+    public static final String PARALLEL_PRIM = "parallel-prim";
+
+    /**
+     * Which measured column the model is fitted to.
+     */
+    public enum Metric {
+        OPERATIONS("_Ops"),
+        TIME_MS("_Time_ms");
+
+        private final String columnSuffix;
+
+        Metric(String columnSuffix) {
+            this.columnSuffix = columnSuffix;
+        }
+    }
+
+    // CSV column prefix for each engine
+    private static final Map<String, String> COLUMN_PREFIX = new LinkedHashMap<>();
+
+    static {
+        COLUMN_PREFIX.put(PRIM, "Prim");
+        COLUMN_PREFIX.put(PRIM_BUCKET, "Prim_Bucket");
+        COLUMN_PREFIX.put(KRUSKAL, "Kruskal");
+        COLUMN_PREFIX.put(PARALLEL_PRIM, "Parallel_Prim");
+    }
+
+    private final Map<String, double[]> coefficients;
+    private final int parallelism;
+
+    private CostModel(Map<String, double[]> coefficients, int parallelism) {
+        this.coefficients = coefficients;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Coefficients fitted by calibrate() to src/main/resources/cost_model_benchmark.csv:
+     * median solve times of all four engines on random graphs with V from 50 to
+     * 300,000, E/V from 1 to 16 and integer weights up to 100 and up to 60,000, on
+     * JDK 17 and one core. CostModelBenchmarkTest regenerates the file (mvn test -Pbenchmark).
+     */
+    public static CostModel defaults() {
+        Map<String, double[]> coefficients = new HashMap<>();
+        coefficients.put(PRIM, new double[] { 0.0, 1.512e-5 });
+        coefficients.put(PRIM_BUCKET, new double[] { 1.867e-4, 2.419e-5 });
+        coefficients.put(KRUSKAL, new double[] { 0.0, 9.050e-6 });
+        coefficients.put(PARALLEL_PRIM, new double[] { 0.1541, 2.011e-5 });
+        return new CostModel(coefficients, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Fits the model to the Time_ms columns of a benchmark CSV.
+     *
+     * @throws IOException if the file cannot be read or holds no usable timings
+     */
+    public static CostModel calibrate(String csvFile) throws IOException {
+        return calibrate(csvFile, Metric.TIME_MS);
+    }
+
+    /**
+     * Fits each engine that has a column in the CSV. Engines without data keep their
+     * defaults, rescaled by the ratio between Prim's fitted and default slopes so all
+     * engines stay in the same unit. An optional Max_Weight column feeds bucket Prim's
+     * feature. Parallel Prim rows use the Parallel_Prim_Threads column, the number of
+     * threads that ran at once, or 1 without it; the returned model then predicts for
+     * this machine's core count.
+     *
+     * @throws IOException if the file cannot be read or no engine column can be fitted,
+     *                     e.g. when every time is 0 because the graphs are too small
+     */
+    public static CostModel calibrate(String csvFile, Metric metric) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        String[] header;
+        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Empty benchmark file: " + csvFile);
+            }
+            header = line.split(",");
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    rows.add(line.split(","));
+                }
+            }
+        }
+
+        List<String> columns = Arrays.asList(header);
+        int verticesColumn = columns.indexOf("Vertices");
+        int edgesColumn = columns.indexOf("Edges");
+        if (verticesColumn < 0 || edgesColumn < 0) {
+            throw new IOException("Benchmark file needs Vertices and Edges columns: " + csvFile);
+        }
+        int maxWeightColumn = columns.indexOf("Max_Weight");
+        int threadsColumn = columns.indexOf("Parallel_Prim_Threads");
+
+        CostModel defaults = defaults();
+        Map<String, double[]> fitted = new HashMap<>();
+        for (Map.Entry<String, String> entry : COLUMN_PREFIX.entrySet()) {
+            int column = columns.indexOf(entry.getValue() + metric.columnSuffix);
+            if (column < 0) continue;
+
+            // A zero reading is below the timer resolution and says nothing about the slope
+            double[] x = new double[rows.size()];
+            double[] y = new double[rows.size()];
+            int n = 0;
+            for (String[] row : rows) {
+                double value = Double.parseDouble(row[column]);
+                if (value <= 0) continue;
+                GraphProfile profile = new GraphProfile(Integer.parseInt(row[verticesColumn]),
+                        Integer.parseInt(row[edgesColumn]), true,
+                        maxWeightColumn < 0 ? 0.0 : Double.parseDouble(row[maxWeightColumn]));
+                int threads = threadsColumn < 0 ? 1 : Integer.parseInt(row[threadsColumn]);
+                x[n] = feature(entry.getKey(), profile, threads);
+                y[n] = value;
+                n++;
+            }
+            double[] line = fitLine(Arrays.copyOf(x, n), Arrays.copyOf(y, n));
+            if (line != null) {
+                fitted.put(entry.getKey(), line);
+            }
+        }
+        if (fitted.isEmpty()) {
+            throw new IOException("No usable " + metric.columnSuffix.substring(1) + " data in " + csvFile
+                    + " (every engine column is missing, zero or constant)");
+        }
+
+        double scale = fitted.containsKey(PRIM) ? fitted.get(PRIM)[1] / defaults.coefficients.get(PRIM)[1] : 1.0;
+        Map<String, double[]> coefficients = new HashMap<>();
+        for (String engine : COLUMN_PREFIX.keySet()) {
+            double[] base = defaults.coefficients.get(engine);
+            coefficients.put(engine, fitted.getOrDefault(engine, new double[] { base[0] * scale, base[1] * scale }));
+        }
+        return new CostModel(coefficients, defaults.parallelism);
+    }
+
+    /**
+     * Least squares weighted by 1 / y^2, i.e. on relative error, so a 50-vertex graph
+     * steers the intercept as much as a million-edge graph steers the slope. Returns
+     * null if the feature has no spread or the slope is not positive.
+     */
+    private static double[] fitLine(double[] x, double[] y) {
+        int n = x.length;
+        if (n < 2) return null;
+        double sumW = 0, meanX = 0, meanY = 0;
+        for (int i = 0; i < n; i++) {
+            double w = 1.0 / (y[i] * y[i]);
+            sumW += w;
+            meanX += w * x[i];
+            meanY += w * y[i];
+        }
+        meanX /= sumW;
+        meanY /= sumW;
+        double sxx = 0, sxy = 0;
+        for (int i = 0; i < n; i++) {
+            double w = 1.0 / (y[i] * y[i]);
+            sxx += w * (x[i] - meanX) * (x[i] - meanX);
+            sxy += w * (x[i] - meanX) * (y[i] - meanY);
+        }
+        if (sxx == 0 || sxy <= 0) return null;
+        double slope = sxy / sxx;
+        return new double[] { Math.max(0.0, meanY - slope * meanX), slope };
+    }
+
+    /**
+     * Returns a copy of this model that assumes the given number of worker threads for parallel Prim.
+     */
+    public CostModel withParallelism(int parallelism) {
+        return new CostModel(coefficients, Math.max(1, parallelism));
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns {intercept, slope} of the engine.
+     */
+    double[] coefficients(String engine) {
+        return coefficients.get(engine).clone();
+    }
+
+    /**
+     * Returns false for engines that cannot run on the graph (bucket Prim needs small integer weights).
+     */
+    public boolean isApplicable(String engine, GraphProfile profile) {
+        if (PRIM_BUCKET.equals(engine)) {
+            return profile.isIntegerWeighted() && profile.getMaxWeight() <= PrimAlgorithm.MAX_BUCKET_WEIGHT;
+        }
+        if (PARALLEL_PRIM.equals(engine)) {
+            return parallelism > 1;
+        }
+        return coefficients.containsKey(engine);
+    }
+
+    public double predict(String engine, GraphProfile profile) {
+        double[] c = coefficients.get(engine);
+        if (c == null) {
+            throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+        return c[0] + c[1] * feature(engine, profile, parallelism);
+    }
+
+    private static double feature(String engine, GraphProfile profile, int parallelism) {
+        double v = profile.getVertices();
+        double e = profile.getEdges();
+        switch (engine) {
+            case PRIM:
+                return e * log2(v);
+            case PRIM_BUCKET:
+                // Resetting W buckets is a block fill plus one bitmap word per 64 buckets
+                return e + v + profile.getMaxWeight() / 64;
+            case KRUSKAL:
+                return e * log2(e);
+            case PARALLEL_PRIM:
+                return e * log2(v) / parallelism + e;
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    private static double log2(double x) {
+        return Math.log(Math.max(2.0, x)) / Math.log(2.0);
+    }
+}
@@ -0,0 +1,191 @@
+package mst.algorithm;
+
+import mst.jfr.MSTEvents;
+import mst.jfr.SolveEvent;
+import mst.metrics.EngineMetrics;
+import mst.metrics.MetricsRegistry;
+import mst.model.AdjacencyMatrix;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Array-based Prim for near-complete graphs given as an AdjacencyMatrix.
+ *
+ * There is no priority queue: each step relaxes the keys of all vertices against
+ * the row of the vertex just added and picks the smallest key in the same pass,
+ * which is O(V^2) overall and streams the matrix sequentially. Vertices already
+ * in the tree have key NaN, so both comparisons fail for them without a separate
+ * in-tree test. Ties go to the lowest vertex index.
+ */
+public class DensePrimAlgorithm implements MSTAlgorithm {
+
+    private static final String ALGORITHM_NAME = "Dense Prim's Algorithm";
+    private static final EngineMetrics METRICS = MetricsRegistry.getDefault().engine(ALGORITHM_NAME);
+
+    public static final String FRONTIER_ARRAY_SCAN = "array-scan";
+
+    private static final double IN_TREE = Double.NaN;
+
+    @Override
+    public String getName() {
+        return ALGORITHM_NAME;
+    }
+
+    /**
+     * Converts the graph to a matrix first, which costs O(V^2) memory; use it for dense graphs only.
+     */
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph, SolveControl.NONE);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph, SolveControl control) {
+        return findMST(AdjacencyMatrix.fromGraph(graph), control);
+    }
+
+    public MSTResult findMST(AdjacencyMatrix matrix) {
+        return findMST(matrix, SolveControl.NONE);
+    }
+
+    /**
+     * Runs dense Prim on the matrix, stopping early with a partial forest if the control trips.
+     */
+    public MSTResult findMST(AdjacencyMatrix matrix, SolveControl control) {
+        long startNanos = System.nanoTime();
+        MSTResult result = solve(matrix, control);
+        METRICS.recordSolve(result, matrix.getEdgeCount(), System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private MSTResult solve(AdjacencyMatrix matrix, SolveControl control) {
+        long startTime = System.currentTimeMillis();
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
+
+        int vertices = matrix.getVertices();
+        int[] parent = new int[vertices];
+        List<Edge> mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
+        double totalCost = 0.0;
+        long operationCount = 0;
+        boolean stopped = false;
+        boolean disconnected = false;
+
+        if (vertices > 0) {
+            boolean single = matrix.isSinglePrecision();
+            double[] key = single ? null : new double[vertices];
+            float[] floatKey = single ? new float[vertices] : null;
+            if (single) {
+                Arrays.fill(floatKey, Float.POSITIVE_INFINITY);
+                floatKey[0] = Float.NaN;
+            } else {
+                Arrays.fill(key, Double.POSITIVE_INFINITY);
+                key[0] = IN_TREE;
+            }
+
+            int current = 0;
+            for (int added = 1; added < vertices; added++) {
+                if ((added & SolveControl.CHECK_INTERVAL_MASK) == 0 && control.shouldStop()) {
+                    stopped = true;
+                    break;
+                }
+                int next = single
+                        ? relaxAndSelect(matrix.getFloatRow(current), floatKey, parent, current, vertices)
+                        : relaxAndSelect(matrix.getDoubleRow(current), key, parent, current, vertices);
+                operationCount += vertices; // One relax and compare per column
+                if (next < 0) {
+                    disconnected = true;
+                    break;
+                }
+                double weight;
+                if (single) {
+                    weight = floatKey[next];
+                    floatKey[next] = Float.NaN;
+                } else {
+                    weight = key[next];
+                    key[next] = IN_TREE;
+                }
+                int from = parent[next];
+                mstEdges.add(new Edge(from, next, weight, matrix.getNodeName(from), matrix.getNodeName(next)));
+                totalCost += weight;
+                current = next;
+            }
+        }
+
+        long edgeCount = matrix.getEdgeCount();
+        int reportedEdges = (int) Math.min(edgeCount, Integer.MAX_VALUE);
+        if (disconnected) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
+                    .success(false)
+                    .message("Graph is not connected - MST cannot be formed")
+                    .vertexCount(vertices)
+                    .edgeCount(reportedEdges)
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build());
+        }
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
+                .mstEdges(mstEdges)
+                .totalCost(totalCost)
+                .vertexCount(vertices)
+                .edgeCount(reportedEdges)
+                .operationCount(operationCount)
+                .executionTimeMs(System.currentTimeMillis() - startTime)
+                .success(true)
+                .complete(!stopped)
+                .message(stopped ? control.stopMessage(mstEdges.size()) : "")
+                .frontier(FRONTIER_ARRAY_SCAN)
+                .build());
+    }
+
+    /**
+     * Lowers each key to the weight of its edge to u and returns the vertex with
+     * the smallest key afterwards, or -1 if every remaining key is infinite.
+     * A single fused loop measured faster than separate relax and min passes or
+     * manually unrolled lanes: HotSpot cannot vectorize the masked parent update,
+     * and one pass reads each key only once.
+     */
+    static int relaxAndSelect(double[] row, double[] key, int[] parent, int u, int vertices) {
+        double best = Double.POSITIVE_INFINITY;
+        int next = -1;
+        for (int j = 0; j < vertices; j++) {
+            double k = key[j];
+            double w = row[j];
+            if (w < k) {
+                k = w;
+                key[j] = w;
+                parent[j] = u;
+            }
+            if (k < best) {
+                best = k;
+                next = j;
+            }
+        }
+        return next;
+    }
+
+    static int relaxAndSelect(float[] row, float[] key, int[] parent, int u, int vertices) {
+        float best = Float.POSITIVE_INFINITY;
+        int next = -1;
+        for (int j = 0; j < vertices; j++) {
+            float k = key[j];
+            float w = row[j];
+            if (w < k) {
+                k = w;
+                key[j] = w;
+                parent[j] = u;
+            }
+            if (k < best) {
+                best = k;
+                next = j;
+            }
+        }
+        return next;
+    }
+}
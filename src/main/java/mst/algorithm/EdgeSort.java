@@ -0,0 +1,249 @@
+package mst.algorithm;
+
+import mst.model.OffHeapGraph;
+import mst.model.OffHeapLongArray;
+
+/**
+ * In-place introsort of edge indices by weight, ties broken by index.
+ * Because the index tie-break makes every key distinct, the result equals a
+ * stable sort of the edges in index order, without the temporary buffers a
+ * merge sort needs. Incremental yields the same order lazily, for consumers
+ * that usually stop after a prefix.
+ */
+public final class EdgeSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private EdgeSort() {
+    }
+
+    /**
+     * Sorts order[0..n) so that weights[order[i]] is non-decreasing.
+     */
+    public static void sort(int[] order, int n, double[] weights) {
+        if (n > 1) {
+            introSort(order, weights, 0, n - 1, 2 * (31 - Integer.numberOfLeadingZeros(n)));
+        }
+    }
+
+    /**
+     * Incremental quicksort (Paredes and Navarro): hands out the indices of
+     * order[0..n) in sorted order one at a time, partitioning only the part in
+     * front of the read position. Reading the k lightest of n edges costs
+     * O(n + k log k) expected instead of O(n log n). Pivot positions are kept on
+     * a stack; when it reaches the introsort depth limit the current segment is
+     * sorted outright, so the worst case stays O(n log n).
+     */
+    static final class Incremental {
+        private final int[] order;
+        private final double[] weights;
+        private final int[] pivots;
+        private int top;
+        private int next;
+        private int sortedEnd;
+        private long work;
+
+        Incremental(int[] order, int n, double[] weights) {
+            this.order = order;
+            this.weights = weights;
+            this.pivots = new int[2 * (32 - Integer.numberOfLeadingZeros(n)) + 1];
+            pivots[top++] = n;
+        }
+
+        /**
+         * Returns the next lightest edge index; must be called at most n times.
+         */
+        int poll() {
+            if (next < sortedEnd) {
+                return order[next++];
+            }
+            while (true) {
+                int end = pivots[top - 1];
+                if (end == next) {
+                    // Everything before this pivot has been read, so the pivot is next
+                    top--;
+                    return order[next++];
+                }
+                work += end - next;
+                if (end - next <= INSERTION_SORT_THRESHOLD) {
+                    insertionSort(order, weights, next, end - 1);
+                    sortedEnd = end;
+                    return order[next++];
+                }
+                if (top == pivots.length) {
+                    introSort(order, weights, next, end - 1, 2 * (31 - Integer.numberOfLeadingZeros(end - next)));
+                    sortedEnd = end;
+                    return order[next++];
+                }
+                pivots[top++] = partition(order, weights, next, end - 1);
+            }
+        }
+
+        /**
+         * Elements moved by partitioning and sorting so far, a proxy for the comparisons made.
+         */
+        long getWork() {
+            return work;
+        }
+    }
+
+    /**
+     * Sorts an off-heap edge order by the graph's weights, ties broken by edge id.
+     * Uses heapsort: it needs no recursion or scratch memory, which matters when
+     * the order array is too large for the heap.
+     */
+    static void sort(OffHeapLongArray order, OffHeapGraph graph) {
+        long n = order.length();
+        for (long i = n / 2 - 1; i >= 0; i--) {
+            siftDown(order, graph, i, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            long tmp = order.get(0);
+            order.set(0, order.get(end));
+            order.set(end, tmp);
+            siftDown(order, graph, 0, end);
+        }
+    }
+
+    /**
+     * Heapsorts off-heap values as unsigned longs, e.g. a weight key in the high
+     * half and the edge id in the low half, so ties fall back to the id.
+     */
+    static void sortPacked(OffHeapLongArray values) {
+        long n = values.length();
+        for (long i = n / 2 - 1; i >= 0; i--) {
+            siftDownPacked(values, i, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            long tmp = values.get(0);
+            values.set(0, values.get(end));
+            values.set(end, tmp);
+            siftDownPacked(values, 0, end);
+        }
+    }
+
+    private static void siftDownPacked(OffHeapLongArray values, long i, long n) {
+        long value = values.get(i);
+        while (true) {
+            long child = 2 * i + 1;
+            if (child >= n) break;
+            long larger = values.get(child);
+            if (child + 1 < n) {
+                long right = values.get(child + 1);
+                if (Long.compareUnsigned(larger, right) < 0) {
+                    child++;
+                    larger = right;
+                }
+            }
+            if (Long.compareUnsigned(value, larger) >= 0) break;
+            values.set(i, larger);
+            i = child;
+        }
+        values.set(i, value);
+    }
+
+    private static boolean less(OffHeapGraph graph, long a, long b) {
+        int cmp = graph.compareWeights(a, b);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    private static void siftDown(OffHeapLongArray order, OffHeapGraph graph, long i, long n) {
+        long value = order.get(i);
+        while (true) {
+            long child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && less(graph, order.get(child), order.get(child + 1))) child++;
+            if (!less(graph, value, order.get(child))) break;
+            order.set(i, order.get(child));
+            i = child;
+        }
+        order.set(i, value);
+    }
+
+    /**
+     * Returns true if edge a orders before edge b.
+     */
+    static boolean less(double[] weights, int a, int b) {
+        int cmp = Double.compare(weights[a], weights[b]);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
+    }
+
+    private static void introSort(int[] order, double[] weights, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(order, weights, lo, hi);
+                return;
+            }
+            int p = partition(order, weights, lo, hi);
+            // Recurse into the smaller side to bound stack depth
+            if (p - lo < hi - p) {
+                introSort(order, weights, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                introSort(order, weights, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        insertionSort(order, weights, lo, hi);
+    }
+
+    private static int partition(int[] order, double[] weights, int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        // Median of three ends up at hi and is used as the pivot
+        if (less(weights, order[mid], order[lo])) swap(order, mid, lo);
+        if (less(weights, order[hi], order[lo])) swap(order, hi, lo);
+        if (less(weights, order[mid], order[hi])) swap(order, mid, hi);
+
+        int pivot = order[hi];
+        int store = lo;
+        for (int i = lo; i < hi; i++) {
+            if (less(weights, order[i], pivot)) {
+                swap(order, store++, i);
+            }
+        }
+        swap(order, store, hi);
+        return store;
+    }
+
+    private static void insertionSort(int[] order, double[] weights, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int value = order[i];
+            int j = i - 1;
+            while (j >= lo && less(weights, value, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = value;
+        }
+    }
+
+    private static void heapSort(int[] order, double[] weights, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(order, weights, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(order, lo, lo + end);
+            siftDown(order, weights, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] order, double[] weights, int base, int i, int n) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n && less(weights, order[base + largest], order[base + left])) largest = left;
+            if (right < n && less(weights, order[base + largest], order[base + right])) largest = right;
+            if (largest == i) return;
+            swap(order, base + i, base + largest);
+            i = largest;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package mst.algorithm;
+
+import mst.model.Graph;
+
+/**
+ * Size and weight features of a graph used by the cost model.
+ */
+public final class GraphProfile {
+    private final int vertices;
+    private final int edges;
+    private final boolean integerWeights;
+    private final double maxWeight;
+
+    public GraphProfile(int vertices, int edges, boolean integerWeights, double maxWeight) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.integerWeights = integerWeights;
+        this.maxWeight = maxWeight;
+    }
+
+    public static GraphProfile of(Graph graph) {
+        return new GraphProfile(graph.getVertices(), graph.getEdgeCount(),
+                graph.isIntegerWeighted(), graph.getMaxWeight());
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public int getEdges() {
+        return edges;
+    }
+
+    /**
+     * Density 2E / (V(V-1)), the same definition ResultAnalyzer uses.
+     */
+    public double getDensity() {
+        return vertices > 1 ? (2.0 * edges) / ((double) vertices * (vertices - 1)) : 0.0;
+    }
+
+    public boolean isIntegerWeighted() {
+        return integerWeights;
+    }
+
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+}
@@ -0,0 +1,94 @@
+package mst.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over vertex ids with decrease-key, for eager Prim. Memory is
+ * proportional to the vertex count rather than the edge count, which keeps the
+ * frontier small when the graph itself lives off-heap.
+ */
+final class IndexedMinHeap {
+
+    private static final int ABSENT = -1;
+
+    private final int[] heap;
+    private final int[] position;
+    private final double[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, ABSENT);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts the vertex, or lowers its key if it is already queued with a larger one.
+     *
+     * @return true if the vertex was inserted or its key lowered
+     */
+    boolean offer(int vertex, double key) {
+        if (position[vertex] == ABSENT) {
+            keys[vertex] = key;
+            heap[size] = vertex;
+            position[vertex] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[vertex]) {
+            keys[vertex] = key;
+            siftUp(position[vertex]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the vertex with the smallest key.
+     */
+    int poll() {
+        int min = heap[0];
+        position[min] = ABSENT;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int vertex = heap[i];
+        double key = keys[vertex];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[heap[parent]] <= key) break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+
+    private void siftDown(int i) {
+        int vertex = heap[i];
+        double key = keys[vertex];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (keys[heap[child]] >= key) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+}
@@ -1,43 +1,127 @@
 package mst.algorithm;
 
+import mst.jfr.MSTEvents;
+import mst.jfr.SolveEvent;
+import mst.jfr.SolvePhaseEvent;
+import mst.metrics.EngineMetrics;
+import mst.metrics.MetricsRegistry;
 import mst.model.Edge;
 import mst.model.Graph;
 import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
+import mst.model.OffHeapLongArray;
+import mst.unionfind.DisjointSet;
 
 import java.util.*;
 
-public class KruskalAlgorithm {
+public class KruskalAlgorithm implements MSTAlgorithm {
 
+    private static final String ALGORITHM_NAME = "Kruskal's Algorithm";
+    private static final EngineMetrics METRICS = MetricsRegistry.getDefault().engine(ALGORITHM_NAME);
+    private static final long PACKED_EDGE_LIMIT = 1L << 32;
+
+    private final boolean lazySort;
+
+    public KruskalAlgorithm() {
+        this(false);
+    }
+
+    /**
+     * @param lazySort sort edges incrementally and only as far as the tree needs,
+     *                 instead of sorting them all up front; the chosen tree is the same
+     */
+    public KruskalAlgorithm(boolean lazySort) {
+        this.lazySort = lazySort;
+    }
+
+    @Override
+    public String getName() {
+        return ALGORITHM_NAME;
+    }
+
+    /**
+     * Solves with the calling thread's SolverWorkspace, so repeated solves on a thread reuse its buffers.
+     */
+    @Override
     public MSTResult findMST(Graph graph) {
+        return findMST(graph, SolverWorkspace.forCurrentThread());
+    }
+
+    /**
+     * Runs Kruskal's algorithm using the scratch buffers of the given workspace.
+     * Once the workspace has grown to the graph's size the solve only allocates the returned result.
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace) {
+        return findMST(graph, workspace, SolveControl.NONE);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph, SolveControl control) {
+        return findMST(graph, SolverWorkspace.forCurrentThread(), control);
+    }
+
+    /**
+     * Runs Kruskal's algorithm with a workspace, stopping early with a partial forest if the control trips.
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace, SolveControl control) {
+        long startNanos = System.nanoTime();
+        MSTResult result = solve(graph, workspace, control);
+        METRICS.recordSolve(result, graph.getEdgeCount(), System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private MSTResult solve(Graph graph, SolverWorkspace workspace, SolveControl control) {
         long startTime = System.currentTimeMillis();
         long operationCount = 0;
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
 
         int vertices = graph.getVertices();
+        workspace.ensureCapacity(vertices, graph.getEdgeCount());
 
         // Check if graph is connected
-        if (!graph.isConnected()) {
-            return new MSTResult.Builder()
-                    .algorithmName("Kruskal's Algorithm")
+        if (!MSTEvents.checkConnected(ALGORITHM_NAME, graph, workspace.visited, workspace.queue)) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
                     .success(false)
                     .message("Graph is not connected - MST cannot be formed")
                     .vertexCount(vertices)
-                    .edgeCount(graph.getEdges().size())
+                    .edgeCount(graph.getEdgeCount())
                     .executionTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
+                    .build());
         }
 
-        List<Edge> mstEdges = new ArrayList<>();
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
+        List<Edge> mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
 
         // Sort edges by weight
-        Collections.sort(sortedEdges);
-        operationCount += (long)(sortedEdges.size() * Math.log(sortedEdges.size())); // Sorting complexity
+        SolvePhaseEvent sortEvent = new SolvePhaseEvent();
+        sortEvent.begin();
+        int edgeCount;
+        EdgeSort.Incremental lazyOrder = null;
+        if (lazySort) {
+            // Partitioning happens while edges are taken, so this phase only copies them
+            edgeCount = workspace.loadEdges(graph);
+            lazyOrder = new EdgeSort.Incremental(workspace.order, edgeCount, workspace.weights);
+        } else {
+            edgeCount = workspace.loadSortedEdges(graph);
+            operationCount += (long)(edgeCount * Math.log(edgeCount)); // Sorting complexity
+        }
+        MSTEvents.commitPhase(sortEvent, ALGORITHM_NAME, SolvePhaseEvent.PHASE_SORT, graph, operationCount);
 
-        UnionFind uf = new UnionFind(vertices);
+        DisjointSet uf = workspace.unionFind;
+        uf.reset(vertices);
         double totalCost = 0.0;
+        Edge[] edges = workspace.edges;
+        int[] order = workspace.order;
 
         // Process edges in sorted order
-        for (Edge edge : sortedEdges) {
+        boolean stopped = false;
+        for (int i = 0; i < edgeCount; i++) {
+            if ((i & SolveControl.CHECK_INTERVAL_MASK) == 0 && control.shouldStop()) {
+                stopped = true;
+                break;
+            }
+            Edge edge = edges[lazyOrder != null ? lazyOrder.poll() : order[i]];
             operationCount++; // Edge examination
 
             int parent1 = uf.find(edge.getSource());
@@ -49,7 +133,7 @@ public class KruskalAlgorithm {
                 operationCount++; // Comparison
                 mstEdges.add(edge);
                 totalCost += edge.getWeight();
-                uf.union(edge.getSource(), edge.getDestination());
+                uf.link(parent1, parent2);
                 operationCount++; // Union operation
 
                 // Stop if we have V-1 edges
@@ -58,59 +142,145 @@ public class KruskalAlgorithm {
                 }
             }
         }
+        workspace.releaseEdges(edgeCount);
+        if (lazyOrder != null) {
+            operationCount += lazyOrder.getWork(); // Incremental partitioning
+        }
 
         long executionTime = System.currentTimeMillis() - startTime;
 
-        return new MSTResult.Builder()
-                .algorithmName("Kruskal's Algorithm")
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
                 .mstEdges(mstEdges)
                 .totalCost(totalCost)
                 .vertexCount(vertices)
-                .edgeCount(graph.getEdges().size())
+                .edgeCount(graph.getEdgeCount())
                 .operationCount(operationCount)
                 .executionTimeMs(executionTime)
                 .success(true)
-                .build();
+                .complete(!stopped)
+                .message(stopped ? control.stopMessage(mstEdges.size()) : "")
+                .build());
     }
 
     /**
-     * Union-Find (Disjoint Set) data structure with path compression and union by rank.
+     * Computes a minimum spanning forest over edges given as parallel arrays, with
+     * ties broken by index. Because that order is total, the forest is unique, which
+     * lets partial forests computed elsewhere be merged consistently.
+     *
+     * @return indices of the chosen edges, in the order Kruskal accepted them
      */
-    private static class UnionFind {
-        private final int[] parent;
-        private final int[] rank;
-
-        UnionFind(int size) {
-            parent = new int[size];
-            rank = new int[size];
-            for (int i = 0; i < size; i++) {
-                parent[i] = i;
-                rank[i] = 0;
-            }
+    public static int[] minimumSpanningForest(int vertices, int edgeCount,
+                                              int[] sources, int[] destinations, double[] weights) {
+        int[] order = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            order[i] = i;
         }
+        EdgeSort.sort(order, edgeCount, weights);
 
-        int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
+        DisjointSet uf = new DisjointSet(vertices);
+        int[] chosen = new int[Math.max(Math.min(vertices - 1, edgeCount), 0)];
+        int count = 0;
+        for (int i = 0; i < edgeCount && count < chosen.length; i++) {
+            int edge = order[i];
+            int parent1 = uf.find(sources[edge]);
+            int parent2 = uf.find(destinations[edge]);
+            if (parent1 != parent2) {
+                uf.link(parent1, parent2);
+                chosen[count++] = edge;
             }
-            return parent[x];
         }
+        return Arrays.copyOf(chosen, count);
+    }
+
+    public MSTResult findMST(OffHeapGraph graph) {
+        return findMST(graph, SolveControl.NONE);
+    }
+
+    /**
+     * Runs Kruskal's algorithm on an off-heap graph. The sorted edge order is kept
+     * in native memory too and released before returning.
+     */
+    public MSTResult findMST(OffHeapGraph graph, SolveControl control) {
+        long startNanos = System.nanoTime();
+        MSTResult result = solve(graph, control);
+        METRICS.recordSolve(result, graph.getEdgeCount(), System.nanoTime() - startNanos);
+        return result;
+    }
 
-        void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
-
-            if (rootX != rootY) {
-                // Union by rank
-                if (rank[rootX] < rank[rootY]) {
-                    parent[rootX] = rootY;
-                } else if (rank[rootX] > rank[rootY]) {
-                    parent[rootY] = rootX;
-                } else {
-                    parent[rootY] = rootX;
-                    rank[rootX]++;
+    private MSTResult solve(OffHeapGraph graph, SolveControl control) {
+        long startTime = System.currentTimeMillis();
+        long operationCount = 0;
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
+
+        int vertices = graph.getVertices();
+        long edgeCount = graph.getEdgeCount();
+        int reportedEdges = (int) Math.min(edgeCount, Integer.MAX_VALUE);
+        if (!MSTEvents.checkConnected(ALGORITHM_NAME, graph)) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
+                    .success(false)
+                    .message("Graph is not connected - MST cannot be formed")
+                    .vertexCount(vertices)
+                    .edgeCount(reportedEdges)
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build());
+        }
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
+        OffHeapGraph.WeightTotal totalCost = graph.newWeightTotal();
+        boolean stopped = false;
+        // 4-byte weights pack with the edge id into one long, so the sort never touches the edge records
+        boolean packed = graph.getWeightFormat().getBytes() == 4 && edgeCount <= PACKED_EDGE_LIMIT;
+        try (OffHeapLongArray order = new OffHeapLongArray(edgeCount)) {
+            SolvePhaseEvent sortEvent = new SolvePhaseEvent();
+            sortEvent.begin();
+            for (long i = 0; i < edgeCount; i++) {
+                order.set(i, packed ? ((long) graph.getWeightKey(i) << 32) | i : i);
+            }
+            if (packed) {
+                EdgeSort.sortPacked(order);
+            } else {
+                EdgeSort.sort(order, graph);
+            }
+            operationCount += (long) (edgeCount * Math.log(edgeCount)); // Sorting complexity
+            MSTEvents.commitPhase(sortEvent, ALGORITHM_NAME, SolvePhaseEvent.PHASE_SORT, graph, operationCount);
+
+            DisjointSet uf = new DisjointSet(vertices);
+            for (long i = 0; i < edgeCount && mstEdges.size() < vertices - 1; i++) {
+                if ((i & SolveControl.CHECK_INTERVAL_MASK) == 0 && control.shouldStop()) {
+                    stopped = true;
+                    break;
+                }
+                long edge = packed ? order.get(i) & 0xFFFFFFFFL : order.get(i);
+                operationCount++; // Edge examination
+
+                int parent1 = uf.find(graph.getSource(edge));
+                int parent2 = uf.find(graph.getDestination(edge));
+                operationCount += 2; // Two find operations
+
+                if (parent1 != parent2) {
+                    operationCount++; // Comparison
+                    mstEdges.add(graph.toEdge(edge));
+                    totalCost.add(edge);
+                    uf.link(parent1, parent2);
+                    operationCount++; // Union operation
                 }
             }
         }
+
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
+                .mstEdges(mstEdges)
+                .totalCost(totalCost.getValue())
+                .vertexCount(vertices)
+                .edgeCount(reportedEdges)
+                .operationCount(operationCount)
+                .executionTimeMs(System.currentTimeMillis() - startTime)
+                .success(true)
+                .complete(!stopped)
+                .message(stopped ? control.stopMessage(mstEdges.size()) : "")
+                .build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package mst.algorithm;
+
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Common interface of the MST engines.
+ */
+public interface MSTAlgorithm {
+
+    /**
+     * Computes a minimum spanning tree, or a failed result if the graph is not connected.
+     */
+    MSTResult findMST(Graph graph);
+
+    /**
+     * Like findMST(Graph), but stops early when the control trips and returns the
+     * partial forest flagged as incomplete. Engines without cooperative checks
+     * ignore the control and always run to completion.
+     */
+    default MSTResult findMST(Graph graph, SolveControl control) {
+        return findMST(graph);
+    }
+
+    /**
+     * Human-readable engine name, as reported in MSTResult.getAlgorithmName().
+     */
+    String getName();
+
+    /**
+     * Solves on the given executor. Cancelling the returned future stops the solve at its next check.
+     */
+    default CompletableFuture<MSTResult> findMSTAsync(Graph graph, Executor executor) {
+        return findMSTAsync(graph, executor, SolveControl.cancellable());
+    }
+
+    /**
+     * Solves on the given executor; once the deadline passes the future completes
+     * with the partial forest built so far instead of running unbounded.
+     */
+    default CompletableFuture<MSTResult> findMSTAsync(Graph graph, Executor executor, Instant deadline) {
+        return findMSTAsync(graph, executor, SolveControl.withDeadline(deadline));
+    }
+
+    private CompletableFuture<MSTResult> findMSTAsync(Graph graph, Executor executor, SolveControl control) {
+        CompletableFuture<MSTResult> future = CompletableFuture.supplyAsync(() -> findMST(graph, control), executor);
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                control.cancel();
+            }
+        });
+        return future;
+    }
+}
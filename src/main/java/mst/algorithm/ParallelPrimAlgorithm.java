@@ -0,0 +1,321 @@
+package mst.algorithm;
+
+import mst.jfr.MSTEvents;
+import mst.jfr.SolveEvent;
+import mst.jfr.SolvePhaseEvent;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.unionfind.ConcurrentDisjointSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-source Prim: several threads grow trees concurrently from well-spread seeds.
+ *
+ * Each tree claims vertices with a CAS on a shared owner array and grows exactly
+ * like sequential Prim. When the lightest frontier edge of a tree reaches a vertex
+ * owned by another tree, that edge is still the minimum edge leaving the tree, so
+ * it is an MST edge by the cut property: the two trees are merged in a concurrent
+ * union-find and the thread starts a new tree from the next unclaimed vertex.
+ * Edges are ordered by (weight, edge index) everywhere, so all threads agree on a
+ * single MST even with tied weights. A final sequential Kruskal pass over the
+ * edges that still connect different components completes the tree.
+ */
+public class ParallelPrimAlgorithm implements MSTAlgorithm {
+
+    private static final String ALGORITHM_NAME = "Parallel Prim's Algorithm";
+
+    private static final int UNCLAIMED = -1;
+
+    private final int parallelism;
+    private final Executor executor;
+
+    public ParallelPrimAlgorithm() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelPrimAlgorithm(int parallelism) {
+        this(parallelism, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param parallelism number of trees grown concurrently
+     * @param executor    executor that runs the growing threads
+     */
+    public ParallelPrimAlgorithm(int parallelism, Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getName() {
+        return ALGORITHM_NAME;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        long startTime = System.currentTimeMillis();
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
+
+        int vertices = graph.getVertices();
+
+        // Check if graph is connected
+        if (!MSTEvents.checkConnected(ALGORITHM_NAME, graph)) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
+                    .success(false)
+                    .message("Graph is not connected - MST cannot be formed")
+                    .vertexCount(vertices)
+                    .edgeCount(graph.getEdgeCount())
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build());
+        }
+
+        Adjacency adjacency = new Adjacency(graph);
+        AtomicIntegerArray owner = new AtomicIntegerArray(vertices);
+        for (int v = 0; v < vertices; v++) {
+            owner.set(v, UNCLAIMED);
+        }
+        ConcurrentDisjointSet trees = new ConcurrentDisjointSet(vertices);
+        AtomicLong operationCount = new AtomicLong();
+
+        // Phase 1: grow trees concurrently
+        SolvePhaseEvent heapEvent = new SolvePhaseEvent();
+        heapEvent.begin();
+        int workers = Math.max(1, Math.min(parallelism, vertices));
+        List<TreeGrower> growers = new ArrayList<>(workers);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+        for (int k = 0; k < workers; k++) {
+            // Seeds are spread evenly over the vertex range
+            TreeGrower grower = new TreeGrower(adjacency, owner, trees, (int) ((long) k * vertices / workers));
+            growers.add(grower);
+            futures[k] = CompletableFuture.runAsync(grower, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
+        double totalCost = 0.0;
+        for (TreeGrower grower : growers) {
+            for (int i = 0; i < grower.acceptedCount; i++) {
+                Edge edge = graph.getEdge(grower.accepted[i]);
+                mstEdges.add(edge);
+                totalCost += edge.getWeight();
+            }
+            operationCount.addAndGet(grower.operationCount);
+        }
+        MSTEvents.commitPhase(heapEvent, ALGORITHM_NAME, SolvePhaseEvent.PHASE_HEAP, graph, operationCount.get());
+
+        // Phase 2: Kruskal over edges that still join different components
+        SolvePhaseEvent sortEvent = new SolvePhaseEvent();
+        sortEvent.begin();
+        int edgeCount = graph.getEdgeCount();
+        int[] boundary = new int[edgeCount];
+        int boundaryCount = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (trees.find(owner.get(adjacency.source[e])) != trees.find(owner.get(adjacency.destination[e]))) {
+                boundary[boundaryCount++] = e;
+            }
+        }
+        EdgeSort.sort(boundary, boundaryCount, adjacency.weight);
+        long ops = edgeCount + (long) (boundaryCount * Math.log(Math.max(boundaryCount, 1)));
+        for (int i = 0; i < boundaryCount && mstEdges.size() < vertices - 1; i++) {
+            int e = boundary[i];
+            ops++;
+            if (trees.union(owner.get(adjacency.source[e]), owner.get(adjacency.destination[e]))) {
+                Edge edge = graph.getEdge(e);
+                mstEdges.add(edge);
+                totalCost += edge.getWeight();
+            }
+        }
+        operationCount.addAndGet(ops);
+        MSTEvents.commitPhase(sortEvent, ALGORITHM_NAME, SolvePhaseEvent.PHASE_SORT, graph, operationCount.get());
+
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
+                .mstEdges(mstEdges)
+                .totalCost(totalCost)
+                .vertexCount(vertices)
+                .edgeCount(edgeCount)
+                .operationCount(operationCount.get())
+                .executionTimeMs(executionTime)
+                .success(true)
+                .build());
+    }
+
+    /**
+     * Read-only compressed adjacency shared by all threads. Slot s of vertex v lies in
+     * [offset[v], offset[v + 1]) and points at edge edgeId[s] towards target[s].
+     */
+    static final class Adjacency {
+        final int[] offset;
+        final int[] target;
+        final int[] edgeId;
+        final int[] source;
+        final int[] destination;
+        final double[] weight;
+
+        Adjacency(Graph graph) {
+            int vertices = graph.getVertices();
+            int edges = graph.getEdgeCount();
+            offset = new int[vertices + 1];
+            target = new int[2 * edges];
+            edgeId = new int[2 * edges];
+            source = new int[edges];
+            destination = new int[edges];
+            weight = new double[edges];
+
+            for (int e = 0; e < edges; e++) {
+                Edge edge = graph.getEdge(e);
+                source[e] = edge.getSource();
+                destination[e] = edge.getDestination();
+                weight[e] = edge.getWeight();
+                offset[source[e] + 1]++;
+                offset[destination[e] + 1]++;
+            }
+            for (int v = 0; v < vertices; v++) {
+                offset[v + 1] += offset[v];
+            }
+            int[] fill = new int[vertices];
+            for (int e = 0; e < edges; e++) {
+                int u = source[e];
+                int v = destination[e];
+                int su = offset[u] + fill[u]++;
+                target[su] = v;
+                edgeId[su] = e;
+                int sv = offset[v] + fill[v]++;
+                target[sv] = u;
+                edgeId[sv] = e;
+            }
+        }
+    }
+
+    /**
+     * Grows trees from unclaimed vertices, scanning from its seed and wrapping around.
+     */
+    private static final class TreeGrower implements Runnable {
+        private final Adjacency adjacency;
+        private final AtomicIntegerArray owner;
+        private final ConcurrentDisjointSet trees;
+        private final int seed;
+
+        private int[] heap = new int[16];
+        private int heapSize;
+        int[] accepted = new int[16];
+        int acceptedCount;
+        long operationCount;
+
+        TreeGrower(Adjacency adjacency, AtomicIntegerArray owner, ConcurrentDisjointSet trees, int seed) {
+            this.adjacency = adjacency;
+            this.owner = owner;
+            this.trees = trees;
+            this.seed = seed;
+        }
+
+        @Override
+        public void run() {
+            int vertices = owner.length();
+            for (int i = 0; i < vertices; i++) {
+                int start = (seed + i) % vertices;
+                // The seed vertex doubles as the tree id
+                if (owner.get(start) == UNCLAIMED && owner.compareAndSet(start, UNCLAIMED, start)) {
+                    growTree(start);
+                }
+            }
+        }
+
+        private void growTree(int tree) {
+            heapSize = 0;
+            pushEdges(tree, tree);
+
+            while (heapSize > 0) {
+                int slot = poll();
+                operationCount++; // Queue extraction
+                int vertex = adjacency.target[slot];
+                int current = owner.get(vertex);
+
+                if (current == tree) {
+                    continue;
+                }
+                if (current == UNCLAIMED && owner.compareAndSet(vertex, UNCLAIMED, tree)) {
+                    accept(adjacency.edgeId[slot]);
+                    pushEdges(vertex, tree);
+                    continue;
+                }
+
+                // Collided with another tree: this is still our lightest outgoing edge
+                if (trees.union(tree, owner.get(vertex))) {
+                    accept(adjacency.edgeId[slot]);
+                }
+                operationCount++; // Union operation
+                return;
+            }
+        }
+
+        private void pushEdges(int vertex, int tree) {
+            for (int s = adjacency.offset[vertex]; s < adjacency.offset[vertex + 1]; s++) {
+                operationCount++; // Comparison for each edge
+                if (owner.get(adjacency.target[s]) != tree) {
+                    push(s);
+                    operationCount++; // Queue insertion
+                }
+            }
+        }
+
+        private void accept(int edge) {
+            if (acceptedCount == accepted.length) {
+                accepted = Arrays.copyOf(accepted, acceptedCount * 2);
+            }
+            accepted[acceptedCount++] = edge;
+        }
+
+        private boolean less(int slotA, int slotB) {
+            return EdgeSort.less(adjacency.weight, adjacency.edgeId[slotA], adjacency.edgeId[slotB]);
+        }
+
+        private void push(int slot) {
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(slot, heap[parent])) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = slot;
+        }
+
+        private int poll() {
+            int top = heap[0];
+            int last = heap[--heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && less(heap[child + 1], heap[child])) child++;
+                if (!less(heap[child], last)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (heapSize > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+    }
+}
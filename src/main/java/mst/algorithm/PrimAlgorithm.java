@@ -1,54 +1,148 @@
 package mst.algorithm;
 
+import mst.jfr.MSTEvents;
+import mst.jfr.SolveEvent;
+import mst.jfr.SolvePhaseEvent;
+import mst.metrics.EngineMetrics;
+import mst.metrics.MetricsRegistry;
 import mst.model.Edge;
 import mst.model.Graph;
 import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
 
 import java.util.*;
 
 
-public class PrimAlgorithm {
+public class PrimAlgorithm implements MSTAlgorithm {
 
+    private static final String ALGORITHM_NAME = "Prim's Algorithm";
+    private static final EngineMetrics METRICS = MetricsRegistry.getDefault().engine(ALGORITHM_NAME);
+
+    public static final String FRONTIER_BINARY_HEAP = "binary-heap";
+    public static final String FRONTIER_BUCKET_QUEUE = "bucket-queue";
+    public static final String FRONTIER_INDEXED_HEAP = "indexed-heap";
+
+    /**
+     * Largest weight for which the bucket frontier is used; beyond this clearing the
+     * bucket array on every solve costs more than the comparison heap saves.
+     */
+    public static final int MAX_BUCKET_WEIGHT = 1 << 16;
+
+    private final boolean bucketFrontier;
+
+    public PrimAlgorithm() {
+        this(false);
+    }
+
+    /**
+     * @param bucketFrontier use a bucket queue instead of the binary heap when all
+     *                       weights are small non-negative integers
+     */
+    public PrimAlgorithm(boolean bucketFrontier) {
+        this.bucketFrontier = bucketFrontier;
+    }
+
+    @Override
+    public String getName() {
+        return ALGORITHM_NAME;
+    }
+
+    /**
+     * Solves with the calling thread's SolverWorkspace, so repeated solves on a thread reuse its buffers.
+     */
+    @Override
     public MSTResult findMST(Graph graph) {
+        return findMST(graph, SolverWorkspace.forCurrentThread());
+    }
+
+    /**
+     * Runs Prim's algorithm using the scratch buffers of the given workspace.
+     * Once the workspace has grown to the graph's size the solve only allocates the returned result.
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace) {
+        return findMST(graph, workspace, SolveControl.NONE);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph, SolveControl control) {
+        return findMST(graph, SolverWorkspace.forCurrentThread(), control);
+    }
+
+    /**
+     * Runs Prim's algorithm with a workspace, stopping early with a partial forest if the control trips.
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace, SolveControl control) {
+        long startNanos = System.nanoTime();
+        MSTResult result = solve(graph, workspace, control);
+        METRICS.recordSolve(result, graph.getEdgeCount(), System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private MSTResult solve(Graph graph, SolverWorkspace workspace, SolveControl control) {
         long startTime = System.currentTimeMillis();
         long operationCount = 0;
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
 
         int vertices = graph.getVertices();
+        workspace.ensureCapacity(vertices, 0);
 
         // Check if graph is connected
-        if (!graph.isConnected()) {
-            return new MSTResult.Builder()
-                    .algorithmName("Prim's Algorithm")
+        if (!MSTEvents.checkConnected(ALGORITHM_NAME, graph, workspace.visited, workspace.queue)) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
                     .success(false)
                     .message("Graph is not connected - MST cannot be formed")
                     .vertexCount(vertices)
-                    .edgeCount(graph.getEdges().size())
+                    .edgeCount(graph.getEdgeCount())
                     .executionTimeMs(System.currentTimeMillis() - startTime)
-                    .build();
+                    .build());
         }
 
-        List<Edge> mstEdges = new ArrayList<>();
-        boolean[] inMST = new boolean[vertices];
-        PriorityQueue<EdgeWithVertex> pq = new PriorityQueue<>();
-
-        // Start from vertex 0
-        inMST[0] = true;
-        operationCount++; // Initial vertex selection
-
-        // Add all edges from vertex 0 to priority queue
-        for (Edge edge : graph.getAdjacencyList().get(0)) {
-            pq.offer(new EdgeWithVertex(edge, edge.getDestination()));
-            operationCount++; // Queue insertion
+        List<Edge> mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
+        boolean[] inMST = workspace.inTree;
+        Arrays.fill(inMST, 0, vertices, false);
+        // Adjacency edges are oriented away from the tree, so the destination is the vertex being reached
+        boolean useBuckets = bucketFrontier && graph.isIntegerWeighted()
+                && graph.getMaxWeight() <= MAX_BUCKET_WEIGHT;
+        PriorityQueue<Edge> pq = workspace.frontier;
+        BucketQueue buckets = workspace.buckets;
+        if (useBuckets) {
+            buckets.reset((int) graph.getMaxWeight(), 2 * graph.getEdgeCount());
+        } else {
+            pq.clear();
         }
 
+        SolvePhaseEvent heapEvent = new SolvePhaseEvent();
+        heapEvent.begin();
+
         double totalCost = 0.0;
 
+        if (vertices > 0) {
+            // Start from vertex 0
+            inMST[0] = true;
+            operationCount++; // Initial vertex selection
+
+            // Add all edges from vertex 0 to priority queue
+            List<Edge> startEdges = graph.getAdjacentEdges(0);
+            for (int i = 0; i < startEdges.size(); i++) {
+                offer(startEdges.get(i), useBuckets, pq, buckets);
+                operationCount++; // Queue insertion
+            }
+        }
+
         // Continue until we have V-1 edges in MST
-        while (!pq.isEmpty() && mstEdges.size() < vertices - 1) {
-            EdgeWithVertex current = pq.poll();
+        int iterations = 0;
+        boolean stopped = false;
+        while (!(useBuckets ? buckets.isEmpty() : pq.isEmpty()) && mstEdges.size() < vertices - 1) {
+            if ((iterations++ & SolveControl.CHECK_INTERVAL_MASK) == 0 && control.shouldStop()) {
+                stopped = true;
+                break;
+            }
+            Edge current = useBuckets ? buckets.poll() : pq.poll();
             operationCount++; // Queue extraction
 
-            int vertex = current.vertex;
+            int vertex = current.getDestination();
 
             // Skip if vertex is already in MST
             if (inMST[vertex]) {
@@ -57,50 +151,146 @@ public class PrimAlgorithm {
             }
 
             // Add edge to MST
-            mstEdges.add(current.edge);
-            totalCost += current.edge.getWeight();
+            mstEdges.add(current);
+            totalCost += current.getWeight();
             inMST[vertex] = true;
             operationCount++; // Edge addition
 
             // Add all edges from newly added vertex
-            for (Edge edge : graph.getAdjacencyList().get(vertex)) {
+            List<Edge> adjacent = graph.getAdjacentEdges(vertex);
+            for (int i = 0; i < adjacent.size(); i++) {
+                Edge edge = adjacent.get(i);
                 if (!inMST[edge.getDestination()]) {
-                    pq.offer(new EdgeWithVertex(edge, edge.getDestination()));
+                    offer(edge, useBuckets, pq, buckets);
                     operationCount++; // Queue insertion
                 }
                 operationCount++; // Comparison for each edge
             }
         }
+        if (useBuckets) {
+            operationCount += buckets.getScanSteps(); // Bitmap words read to find the lightest bucket
+            buckets.clear();
+        } else {
+            pq.clear();
+        }
+        MSTEvents.commitPhase(heapEvent, ALGORITHM_NAME, SolvePhaseEvent.PHASE_HEAP, graph, operationCount);
 
         long executionTime = System.currentTimeMillis() - startTime;
 
-        return new MSTResult.Builder()
-                .algorithmName("Prim's Algorithm")
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
                 .mstEdges(mstEdges)
                 .totalCost(totalCost)
                 .vertexCount(vertices)
-                .edgeCount(graph.getEdges().size())
+                .edgeCount(graph.getEdgeCount())
                 .operationCount(operationCount)
                 .executionTimeMs(executionTime)
                 .success(true)
-                .build();
+                .complete(!stopped)
+                .message(stopped ? control.stopMessage(mstEdges.size()) : "")
+                .frontier(useBuckets ? FRONTIER_BUCKET_QUEUE : FRONTIER_BINARY_HEAP)
+                .build());
+    }
+
+    public MSTResult findMST(OffHeapGraph graph) {
+        return findMST(graph, SolveControl.NONE);
     }
 
     /**
-     * Helper class to store edge with its destination vertex for priority queue.
+     * Runs eager Prim on an off-heap graph. The frontier is an indexed heap over
+     * vertices with decrease-key, so on-heap memory stays proportional to the
+     * vertex count however many edges the graph has.
      */
-    private static class EdgeWithVertex implements Comparable<EdgeWithVertex> {
-        Edge edge;
-        int vertex;
+    public MSTResult findMST(OffHeapGraph graph, SolveControl control) {
+        long startNanos = System.nanoTime();
+        MSTResult result = solve(graph, control);
+        METRICS.recordSolve(result, graph.getEdgeCount(), System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private MSTResult solve(OffHeapGraph graph, SolveControl control) {
+        long startTime = System.currentTimeMillis();
+        long operationCount = 0;
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
+
+        int vertices = graph.getVertices();
+        int reportedEdges = (int) Math.min(graph.getEdgeCount(), Integer.MAX_VALUE);
+        if (!MSTEvents.checkConnected(ALGORITHM_NAME, graph)) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
+                    .success(false)
+                    .message("Graph is not connected - MST cannot be formed")
+                    .vertexCount(vertices)
+                    .edgeCount(reportedEdges)
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build());
+        }
 
-        EdgeWithVertex(Edge edge, int vertex) {
-            this.edge = edge;
-            this.vertex = vertex;
+        List<Edge> mstEdges = new ArrayList<>(Math.max(vertices - 1, 0));
+        boolean[] inMST = new boolean[vertices];
+        long[] bestEdge = new long[vertices];
+        IndexedMinHeap heap = new IndexedMinHeap(vertices);
+        OffHeapGraph.WeightTotal totalCost = graph.newWeightTotal();
+        SolvePhaseEvent heapEvent = new SolvePhaseEvent();
+        heapEvent.begin();
+
+        int iterations = 0;
+        boolean stopped = false;
+        if (vertices > 0) {
+            heap.offer(0, 0.0);
+            bestEdge[0] = -1;
         }
+        while (!heap.isEmpty()) {
+            if ((iterations++ & SolveControl.CHECK_INTERVAL_MASK) == 0 && control.shouldStop()) {
+                stopped = true;
+                break;
+            }
+            int vertex = heap.poll();
+            operationCount++; // Queue extraction
+            inMST[vertex] = true;
+            if (bestEdge[vertex] >= 0) {
+                long edge = bestEdge[vertex];
+                int from = graph.getOpposite(edge, vertex);
+                mstEdges.add(new Edge(from, vertex, graph.getWeight(edge),
+                        graph.getNodeName(from), graph.getNodeName(vertex)));
+                totalCost.add(edge);
+                operationCount++; // Edge addition
+            }
+
+            long end = graph.getAdjacencyEnd(vertex);
+            for (long p = graph.getAdjacencyStart(vertex); p < end; p++) {
+                long edge = graph.getAdjacentEdge(p);
+                int neighbor = graph.getOpposite(edge, vertex);
+                operationCount++; // Comparison for each edge
+                if (!inMST[neighbor] && heap.offer(neighbor, graph.getWeight(edge))) {
+                    bestEdge[neighbor] = edge;
+                    operationCount++; // Queue insertion or decrease-key
+                }
+            }
+        }
+        MSTEvents.commitPhase(heapEvent, ALGORITHM_NAME, SolvePhaseEvent.PHASE_HEAP, graph, operationCount);
+
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
+                .mstEdges(mstEdges)
+                .totalCost(totalCost.getValue())
+                .vertexCount(vertices)
+                .edgeCount(reportedEdges)
+                .operationCount(operationCount)
+                .executionTimeMs(System.currentTimeMillis() - startTime)
+                .success(true)
+                .complete(!stopped)
+                .message(stopped ? control.stopMessage(mstEdges.size()) : "")
+                .frontier(FRONTIER_INDEXED_HEAP)
+                .build());
+    }
 
-        @Override
-        public int compareTo(EdgeWithVertex other) {
-            return Double.compare(this.edge.getWeight(), other.edge.getWeight());
+    private static void offer(Edge edge, boolean useBuckets, PriorityQueue<Edge> pq, BucketQueue buckets) {
+        if (useBuckets) {
+            buckets.offer(edge);
+        } else {
+            pq.offer(edge);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package mst.algorithm;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deadline and cancellation flag polled cooperatively by the engines' main loops.
+ * When it trips, the engine stops and returns the forest built so far, flagged
+ * as incomplete in its MSTResult.
+ */
+public final class SolveControl {
+
+    /**
+     * Control that never stops a solve; used by the synchronous findMST overloads.
+     */
+    public static final SolveControl NONE = new SolveControl(false, 0L, false);
+
+    /**
+     * Main loops poll the control once per this many iterations, keeping
+     * System.nanoTime() off the hot path.
+     */
+    static final int CHECK_INTERVAL_MASK = 1023;
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final boolean cancellable;
+    private volatile boolean cancelled;
+
+    private SolveControl(boolean hasDeadline, long deadlineNanos, boolean cancellable) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.cancellable = cancellable;
+    }
+
+    /**
+     * A control that only stops when cancelled.
+     */
+    public static SolveControl cancellable() {
+        return new SolveControl(false, 0L, true);
+    }
+
+    public static SolveControl withTimeout(Duration timeout) {
+        return new SolveControl(true, System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    public static SolveControl withDeadline(Instant deadline) {
+        return withTimeout(Duration.between(Instant.now(), deadline));
+    }
+
+    public void cancel() {
+        if (cancellable) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDeadlineExceeded() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public boolean shouldStop() {
+        return cancelled || isDeadlineExceeded();
+    }
+
+    /**
+     * Message for a result cut short by this control.
+     */
+    String stopMessage(int forestEdges) {
+        String reason = cancelled ? "Cancelled" : "Deadline exceeded";
+        return reason + " - partial forest with " + forestEdges + " edge(s)";
+    }
+}
@@ -0,0 +1,115 @@
+package mst.algorithm;
+
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.unionfind.DisjointSet;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Reusable scratch buffers for PrimAlgorithm and KruskalAlgorithm.
+ * Arrays grow to the largest graph seen and are reused afterwards, so once a
+ * workspace is warmed up a solve only allocates its returned MSTResult.
+ * A workspace is not thread-safe: use forCurrentThread() or one instance per thread.
+ * The engines' findMST(Graph) overloads use forCurrentThread() themselves.
+ */
+public final class SolverWorkspace {
+
+    private static final ThreadLocal<SolverWorkspace> PER_THREAD = ThreadLocal.withInitial(SolverWorkspace::new);
+
+    // Connectivity check
+    boolean[] visited = new boolean[0];
+    int[] queue = new int[0];
+
+    // Prim
+    boolean[] inTree = new boolean[0];
+    final PriorityQueue<Edge> frontier = new PriorityQueue<>();
+    final BucketQueue buckets = new BucketQueue();
+
+    // Kruskal
+    final DisjointSet unionFind = new DisjointSet(0);
+    Edge[] edges = new Edge[0];
+    double[] weights = new double[0];
+    int[] order = new int[0];
+
+    /**
+     * Returns the workspace owned by the calling thread.
+     */
+    public static SolverWorkspace forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Grows the buffers so they can hold a graph of the given size.
+     */
+    public void ensureCapacity(int vertexCount, int edgeCount) {
+        if (visited.length < vertexCount) {
+            int capacity = grow(visited.length, vertexCount);
+            visited = new boolean[capacity];
+            queue = new int[capacity];
+            inTree = new boolean[capacity];
+        }
+        if (edges.length < edgeCount) {
+            int capacity = grow(edges.length, edgeCount);
+            edges = new Edge[capacity];
+            weights = new double[capacity];
+            order = new int[capacity];
+        }
+    }
+
+    /**
+     * Returns the current vertex capacity.
+     */
+    public int getVertexCapacity() {
+        return visited.length;
+    }
+
+    /**
+     * Returns the current edge capacity.
+     */
+    public int getEdgeCapacity() {
+        return edges.length;
+    }
+
+    private static int grow(int current, int required) {
+        return Math.max(required, current + (current >> 1));
+    }
+
+    /**
+     * Copies the graph's edges into the workspace and sorts order[0..n) so that
+     * edges[order[i]] is the i-th lightest edge. Ties keep insertion order, which
+     * matches the stable Collections.sort the algorithm used before.
+     *
+     * @return number of edges loaded
+     */
+    int loadSortedEdges(Graph graph) {
+        int n = loadEdges(graph);
+        EdgeSort.sort(order, n, weights);
+        return n;
+    }
+
+    /**
+     * Copies the graph's edges and weights into the workspace with order[i] = i, unsorted.
+     *
+     * @return number of edges loaded
+     */
+    int loadEdges(Graph graph) {
+        int n = graph.getEdgeCount();
+        ensureCapacity(graph.getVertices(), n);
+        for (int i = 0; i < n; i++) {
+            Edge edge = graph.getEdge(i);
+            edges[i] = edge;
+            weights[i] = edge.getWeight();
+            order[i] = i;
+        }
+        return n;
+    }
+
+    /**
+     * Drops edge references so a large workspace does not keep old graphs reachable.
+     */
+    void releaseEdges(int n) {
+        Arrays.fill(edges, 0, n, null);
+    }
+}
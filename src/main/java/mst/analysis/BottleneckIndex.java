@@ -0,0 +1,148 @@
+package mst.analysis;
+
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.util.List;
+
+/**
+ * Constant-time minimax ("bottleneck") queries: the smallest possible worst link
+ * on any route between two districts, which is the heaviest edge on their MST path.
+ *
+ * Built on the Kruskal reconstruction tree, where that weight is the weight of the
+ * two leaves' lowest common ancestor. Instead of a full Euler tour, the tree is
+ * linearised by its in-order traversal, which alternates leaves and merge nodes.
+ * Between two leaves the shallowest merge node is their ancestor, and it is also
+ * the heaviest one, because weights grow towards the root. A query is therefore a
+ * range maximum over the V-1 merge weights in in-order, answered in O(1) by a
+ * sparse table: half the size of a sparse table over the Euler tour.
+ */
+public final class BottleneckIndex {
+
+    private final Graph graph;
+    private final int[] position;
+    private final double[][] table;
+
+    private BottleneckIndex(Graph graph, int[] position, double[][] table) {
+        this.graph = graph;
+        this.position = position;
+        this.table = table;
+    }
+
+    /**
+     * Builds the index in O(V log V) from a complete MST of the graph.
+     *
+     * @throws IllegalArgumentException if the result is not a spanning tree of the graph
+     */
+    public static BottleneckIndex build(Graph graph, MSTResult result) {
+        if (!result.isSuccess() || !result.isComplete()) {
+            throw new IllegalArgumentException("Bottleneck queries need a complete minimum spanning tree");
+        }
+        int vertices = graph.getVertices();
+        KruskalReconstructionTree tree = KruskalReconstructionTree.build(vertices, result.getMstEdges());
+
+        // In-order walk: leaf positions and the merge weight between consecutive leaves
+        int[] position = new int[vertices];
+        double[] gaps = new double[Math.max(vertices - 1, 0)];
+        if (vertices > 0) {
+            int[] stack = new int[tree.getNodeCount()];
+            int top = 0;
+            int node = tree.getRoot();
+            int leaves = 0;
+            int gapCount = 0;
+            while (node >= 0 || top > 0) {
+                while (node >= 0) {
+                    stack[top++] = node;
+                    node = tree.getLeft(node);
+                }
+                node = stack[--top];
+                if (tree.isLeaf(node)) {
+                    position[node] = leaves++;
+                } else {
+                    gaps[gapCount++] = tree.getWeight(node);
+                }
+                node = tree.getRight(node);
+            }
+        }
+
+        // table[k][i] = max of gaps[i .. i + 2^k)
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(gaps.length, 1)));
+        double[][] table = new double[levels][];
+        table[0] = gaps;
+        for (int k = 1; k < levels; k++) {
+            double[] previous = table[k - 1];
+            int half = 1 << (k - 1);
+            double[] level = new double[gaps.length - (1 << k) + 1];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = Math.max(previous[i], previous[i + half]);
+            }
+            table[k] = level;
+        }
+        return new BottleneckIndex(graph, position, table);
+    }
+
+    /**
+     * Returns the bottleneck weight between two vertices, or 0 if they are the same.
+     */
+    public double bottleneck(int u, int v) {
+        int a = position[u];
+        int b = position[v];
+        if (a == b) {
+            return 0.0;
+        }
+        if (a > b) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        // Gaps a .. b-1 lie between the two leaves
+        int k = 31 - Integer.numberOfLeadingZeros(b - a);
+        double[] level = table[k];
+        return Math.max(level[a], level[b - (1 << k)]);
+    }
+
+    /**
+     * Returns the bottleneck weight between two named nodes.
+     *
+     * @throws IllegalArgumentException if a name is not a node of the graph
+     */
+    public double bottleneck(String from, String to) {
+        return bottleneck(indexOf(from), indexOf(to));
+    }
+
+    /**
+     * Answers from[i]-to[i] queries for all i.
+     */
+    public double[] bottleneck(int[] from, int[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Query arrays differ in length");
+        }
+        double[] answers = new double[from.length];
+        for (int i = 0; i < from.length; i++) {
+            answers[i] = bottleneck(from[i], to[i]);
+        }
+        return answers;
+    }
+
+    /**
+     * Answers queries between named nodes, resolving each name once per query.
+     */
+    public double[] bottleneck(List<String> from, List<String> to) {
+        if (from.size() != to.size()) {
+            throw new IllegalArgumentException("Query lists differ in length");
+        }
+        double[] answers = new double[from.size()];
+        for (int i = 0; i < answers.length; i++) {
+            answers[i] = bottleneck(indexOf(from.get(i)), indexOf(to.get(i)));
+        }
+        return answers;
+    }
+
+    private int indexOf(String name) {
+        Integer index = graph.getNodeIndex(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown node: " + name);
+        }
+        return index;
+    }
+}
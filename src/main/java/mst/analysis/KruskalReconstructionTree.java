@@ -0,0 +1,149 @@
+package mst.analysis;
+
+import mst.model.Edge;
+import mst.unionfind.DisjointSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kruskal reconstruction tree of a spanning tree: merging the tree's edges in
+ * weight order, every merge becomes a new node whose children are the two merged
+ * components and whose weight is the merging edge's weight. Leaves 0..V-1 are the
+ * graph vertices and internal nodes V..2V-2 the merges, so the heaviest edge on
+ * the tree path between u and v is the weight of their lowest common ancestor.
+ */
+public final class KruskalReconstructionTree {
+
+    private static final int NONE = -1;
+
+    private final int leafCount;
+    private final int[] parent;
+    private final int[] left;
+    private final int[] right;
+    private final double[] weight;
+    private final Edge[] mergeEdge;
+    private final int root;
+
+    private KruskalReconstructionTree(int leafCount, int[] parent, int[] left, int[] right,
+                                      double[] weight, Edge[] mergeEdge, int root) {
+        this.leafCount = leafCount;
+        this.parent = parent;
+        this.left = left;
+        this.right = right;
+        this.weight = weight;
+        this.mergeEdge = mergeEdge;
+        this.root = root;
+    }
+
+    /**
+     * Builds the tree from the edges of a spanning tree over the given number of vertices.
+     *
+     * @throws IllegalArgumentException if the edges contain a cycle or do not span all vertices
+     */
+    public static KruskalReconstructionTree build(int vertices, List<Edge> treeEdges) {
+        if (vertices == 0) {
+            return new KruskalReconstructionTree(0, new int[0], new int[0], new int[0],
+                    new double[0], new Edge[0], NONE);
+        }
+        if (treeEdges.size() != vertices - 1) {
+            throw new IllegalArgumentException("A spanning tree over " + vertices + " vertices needs "
+                    + (vertices - 1) + " edges, got " + treeEdges.size());
+        }
+
+        int nodes = 2 * vertices - 1;
+        int[] parent = new int[nodes];
+        int[] left = new int[nodes];
+        int[] right = new int[nodes];
+        double[] weight = new double[nodes];
+        Edge[] mergeEdge = new Edge[nodes];
+        for (int i = 0; i < nodes; i++) {
+            parent[i] = NONE;
+            left[i] = NONE;
+            right[i] = NONE;
+        }
+
+        List<Edge> sorted = new ArrayList<>(treeEdges);
+        Collections.sort(sorted);
+
+        // top[root of a component] is the reconstruction node currently representing it
+        DisjointSet components = new DisjointSet(vertices);
+        int[] top = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            top[v] = v;
+        }
+        int next = vertices;
+        for (Edge edge : sorted) {
+            int a = components.find(edge.getSource());
+            int b = components.find(edge.getDestination());
+            if (a == b) {
+                throw new IllegalArgumentException("Tree edges contain a cycle at " + edge);
+            }
+            int node = next++;
+            left[node] = top[a];
+            right[node] = top[b];
+            parent[top[a]] = node;
+            parent[top[b]] = node;
+            weight[node] = edge.getWeight();
+            mergeEdge[node] = edge;
+            components.link(a, b);
+            top[components.find(a)] = node;
+        }
+        return new KruskalReconstructionTree(vertices, parent, left, right, weight, mergeEdge, nodes - 1);
+    }
+
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    public int getNodeCount() {
+        return parent.length;
+    }
+
+    /**
+     * Returns the root node, or -1 for an empty graph.
+     */
+    public int getRoot() {
+        return root;
+    }
+
+    public boolean isLeaf(int node) {
+        return node < leafCount;
+    }
+
+    /**
+     * Returns the parent node, or -1 for the root.
+     */
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Returns the first child of an internal node, or -1 for a leaf.
+     */
+    public int getLeft(int node) {
+        return left[node];
+    }
+
+    /**
+     * Returns the second child of an internal node, or -1 for a leaf.
+     */
+    public int getRight(int node) {
+        return right[node];
+    }
+
+    /**
+     * Returns the weight of the tree edge that created an internal node; 0 for leaves.
+     */
+    public double getWeight(int node) {
+        return weight[node];
+    }
+
+    /**
+     * Returns the tree edge that created an internal node, or null for a leaf.
+     */
+    public Edge getMergeEdge(int node) {
+        return mergeEdge[node];
+    }
+}
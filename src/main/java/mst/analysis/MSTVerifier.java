@@ -0,0 +1,179 @@
+package mst.analysis;
+
+import mst.model.Edge;
+import mst.model.EdgePairIndex;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.unionfind.DisjointSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that an MSTResult is a minimum spanning tree of its graph without
+ * solving again. A spanning tree is minimum iff every graph edge weighs at least
+ * the heaviest tree edge on the path between its endpoints (cycle property).
+ *
+ * Path maxima come from the Kruskal reconstruction tree of the candidate: the
+ * heaviest edge between u and v is the weight of their lowest common ancestor.
+ * All E ancestor queries are answered offline with Tarjan's union-find LCA in one
+ * traversal, so verification takes O(V log V + E alpha(V)) time: the only sort
+ * is over the V-1 tree edges. This is in the spirit of the linear-time verifiers
+ * of Komlos and King, with a union-find factor instead of their word tricks.
+ */
+public class MSTVerifier {
+
+    private static final double COST_TOLERANCE = 1e-9;
+
+    /**
+     * Verifies the candidate; the result's edges must refer to the graph's vertex indices.
+     */
+    public Verification verify(Graph graph, MSTResult result) {
+        long operations = 0;
+        int vertices = graph.getVertices();
+        if (!result.isSuccess()) {
+            return Verification.invalid("result is not a successful solve", operations);
+        }
+        if (!result.isComplete()) {
+            return Verification.invalid("result is a partial forest", operations);
+        }
+        List<Edge> treeEdges = result.getMstEdges();
+        if (vertices > 0 && treeEdges.size() != vertices - 1) {
+            return Verification.invalid("expected " + (vertices - 1) + " edges, found " + treeEdges.size(),
+                    operations);
+        }
+
+        // Copy the graph's edges into arrays once; the same pass matches tree edges to graph edges.
+        // Tree edges are indexed by pair, parallel tree-edge candidates chained, so the hash stays V-sized
+        int edgeCount = graph.getEdgeCount();
+        int treeSize = treeEdges.size();
+        EdgePairIndex treeByPair = new EdgePairIndex(treeSize);
+        int[] nextSamePair = new int[treeSize];
+        boolean[] matched = new boolean[treeSize];
+        double cost = 0.0;
+        for (int t = 0; t < treeSize; t++) {
+            Edge tree = treeEdges.get(t);
+            long key = EdgePairIndex.key(tree.getSource(), tree.getDestination());
+            nextSamePair[t] = treeByPair.get(key);
+            treeByPair.put(key, t);
+            cost += tree.getWeight();
+        }
+        if (Math.abs(cost - result.getTotalCost()) > COST_TOLERANCE * Math.max(1.0, Math.abs(cost))) {
+            return Verification.invalid("reported cost " + result.getTotalCost()
+                    + " differs from the edge sum " + cost, operations);
+        }
+
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int[] offsets = new int[vertices + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = graph.getEdge(i);
+            int u = edge.getSource();
+            int v = edge.getDestination();
+            sources[i] = u;
+            destinations[i] = v;
+            weights[i] = edge.getWeight();
+            offsets[u + 1]++;
+            offsets[v + 1]++;
+            operations++;
+            for (int t = treeByPair.get(EdgePairIndex.key(u, v)); t >= 0; t = nextSamePair[t]) {
+                if (!matched[t] && treeEdges.get(t).getWeight() == weights[i]) {
+                    matched[t] = true;
+                    break;
+                }
+            }
+        }
+        for (int t = 0; t < treeSize; t++) {
+            if (!matched[t]) {
+                return Verification.invalid("edge " + treeEdges.get(t) + " is not in the graph", operations);
+            }
+        }
+
+        KruskalReconstructionTree tree;
+        try {
+            tree = KruskalReconstructionTree.build(vertices, treeEdges);
+        } catch (IllegalArgumentException e) {
+            return Verification.invalid("edges do not form a spanning tree: " + e.getMessage(), operations);
+        }
+        operations += (long) (treeSize * Math.log(Math.max(treeSize, 1)));
+
+        return checkCycleProperty(graph, tree, sources, destinations, weights, offsets, operations);
+    }
+
+    /**
+     * Tarjan's offline LCA over the reconstruction tree, with each graph edge as a
+     * query at both endpoints. offsets holds per-vertex degree counts shifted by one.
+     */
+    private Verification checkCycleProperty(Graph graph, KruskalReconstructionTree tree, int[] sources,
+                                            int[] destinations, double[] weights, int[] offsets,
+                                            long operations) {
+        int vertices = tree.getLeafCount();
+        int edgeCount = sources.length;
+        if (vertices == 0) {
+            return new Verification(true, "", null, null, operations);
+        }
+
+        // Queries in CSR form, keyed by leaf
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] queries = new int[2 * edgeCount];
+        int[] fill = Arrays.copyOf(offsets, vertices);
+        for (int i = 0; i < edgeCount; i++) {
+            queries[fill[sources[i]]++] = i;
+            queries[fill[destinations[i]]++] = i;
+        }
+
+        int nodes = tree.getNodeCount();
+        DisjointSet sets = new DisjointSet(nodes);
+        int[] ancestor = new int[nodes];
+        boolean[] visited = new boolean[vertices];
+        int[] stack = new int[nodes];
+        byte[] phase = new byte[nodes];
+        int top = 0;
+        stack[top++] = tree.getRoot();
+
+        while (top > 0) {
+            int node = stack[top - 1];
+            if (tree.isLeaf(node)) {
+                top--;
+                ancestor[node] = node;
+                visited[node] = true;
+                for (int q = offsets[node]; q < offsets[node + 1]; q++) {
+                    operations++;
+                    int edge = queries[q];
+                    int other = sources[edge] == node ? destinations[edge] : sources[edge];
+                    if (!visited[other] || other == node) continue;
+                    int lca = ancestor[sets.find(other)];
+                    if (tree.getWeight(lca) > weights[edge]) {
+                        Edge violating = graph.getEdge(edge);
+                        return new Verification(false, "edge " + violating + " is lighter than tree edge "
+                                + tree.getMergeEdge(lca) + " on its path", violating, tree.getMergeEdge(lca),
+                                operations);
+                    }
+                }
+                continue;
+            }
+            // Internal node: descend left, then right, merging each finished child into this node
+            if (phase[node] == 0) {
+                phase[node] = 1;
+                ancestor[node] = node;
+                stack[top++] = tree.getLeft(node);
+            } else if (phase[node] == 1) {
+                phase[node] = 2;
+                merge(sets, ancestor, node, tree.getLeft(node));
+                stack[top++] = tree.getRight(node);
+            } else {
+                merge(sets, ancestor, node, tree.getRight(node));
+                top--;
+            }
+        }
+        return new Verification(true, "", null, null, operations);
+    }
+
+    private static void merge(DisjointSet sets, int[] ancestor, int node, int child) {
+        sets.union(node, child);
+        ancestor[sets.find(node)] = node;
+    }
+}
@@ -0,0 +1,395 @@
+package mst.analysis;
+
+import mst.algorithm.EdgeSort;
+import mst.model.Edge;
+import mst.model.EdgePairIndex;
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers what-if questions about a computed MST without solving again.
+ *
+ * For a tree edge: how much its weight may rise before another edge would take
+ * its place (its tolerance), and which edge replaces it if the road is closed.
+ * That is the lightest non-tree edge whose tree path covers it; all covers are
+ * found in one sweep over the non-tree edges in weight order, where a union-find
+ * over the rooted tree skips edges that already have a cover.
+ * For a non-tree edge: how much its weight must fall before it enters the tree,
+ * and which tree edge it then displaces: the heaviest edge on its tree path,
+ * found with binary lifting in O(log V).
+ *
+ * Edges are addressed by their index in the graph (Graph.getEdge).
+ */
+public final class SensitivityIndex {
+
+    private static final int NONE = -1;
+
+    private final Graph graph;
+    private final double totalCost;
+    private final int[] depth;
+    private final int levels;
+    private final int[] up;
+    private final int[] upEdge;
+    private final double[] upMax;
+    private final int[] sources;
+    private final int[] destinations;
+    private final boolean[] inTree;
+    private final int[] lowerEndpoint;
+    private final int[] cover;
+    private final double[] weights;
+    private final EdgePairIndex lightestByPair;
+
+    private SensitivityIndex(Graph graph, double totalCost, int[] depth, int levels, int[] up, int[] upEdge,
+                             double[] upMax, int[] sources, int[] destinations, boolean[] inTree,
+                             int[] lowerEndpoint, int[] cover, double[] weights, EdgePairIndex lightestByPair) {
+        this.graph = graph;
+        this.totalCost = totalCost;
+        this.depth = depth;
+        this.levels = levels;
+        this.up = up;
+        this.upEdge = upEdge;
+        this.upMax = upMax;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.inTree = inTree;
+        this.lowerEndpoint = lowerEndpoint;
+        this.cover = cover;
+        this.weights = weights;
+        this.lightestByPair = lightestByPair;
+    }
+
+    /**
+     * Builds the index in O(E log E) for a complete MST of a connected graph.
+     *
+     * @throws IllegalArgumentException if the result is not a spanning tree made of the graph's edges
+     */
+    public static SensitivityIndex build(Graph graph, MSTResult result) {
+        if (!result.isSuccess() || !result.isComplete()) {
+            throw new IllegalArgumentException("Sensitivity needs a complete minimum spanning tree");
+        }
+        int vertices = graph.getVertices();
+        int edgeCount = graph.getEdgeCount();
+        List<Edge> treeEdges = result.getMstEdges();
+        if (vertices > 0 && treeEdges.size() != vertices - 1) {
+            throw new IllegalArgumentException("Expected " + (vertices - 1) + " tree edges, got " + treeEdges.size());
+        }
+
+        // Match result edges to graph edge indices by endpoints and weight
+        EdgePairIndex treeByPair = new EdgePairIndex(treeEdges.size());
+        int[] nextSamePair = new int[treeEdges.size()];
+        boolean[] matched = new boolean[treeEdges.size()];
+        for (int t = 0; t < treeEdges.size(); t++) {
+            Edge edge = treeEdges.get(t);
+            long key = EdgePairIndex.key(edge.getSource(), edge.getDestination());
+            nextSamePair[t] = treeByPair.get(key);
+            treeByPair.put(key, t);
+        }
+        boolean[] inTree = new boolean[edgeCount];
+        double[] weights = new double[edgeCount];
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        EdgePairIndex lightestByPair = new EdgePairIndex(edgeCount);
+        int[] offsets = new int[vertices + 1];
+        int matchedCount = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = graph.getEdge(i);
+            weights[i] = edge.getWeight();
+            sources[i] = edge.getSource();
+            destinations[i] = edge.getDestination();
+            long key = EdgePairIndex.key(edge.getSource(), edge.getDestination());
+            int lightest = lightestByPair.putIfAbsent(key, i);
+            if (lightest >= 0 && weights[i] < weights[lightest]) {
+                lightestByPair.put(key, i);
+            }
+            for (int t = treeByPair.get(key); t >= 0; t = nextSamePair[t]) {
+                if (!matched[t] && treeEdges.get(t).getWeight() == weights[i]) {
+                    matched[t] = true;
+                    inTree[i] = true;
+                    matchedCount++;
+                    offsets[edge.getSource() + 1]++;
+                    offsets[edge.getDestination() + 1]++;
+                    break;
+                }
+            }
+        }
+        if (matchedCount != treeEdges.size()) {
+            throw new IllegalArgumentException("Result contains edges that are not in the graph");
+        }
+
+        // Tree adjacency, then a BFS from vertex 0 for parents and depths
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] incident = new int[2 * matchedCount];
+        int[] fill = Arrays.copyOf(offsets, vertices);
+        for (int i = 0; i < edgeCount; i++) {
+            if (!inTree[i]) continue;
+            Edge edge = graph.getEdge(i);
+            incident[fill[edge.getSource()]++] = i;
+            incident[fill[edge.getDestination()]++] = i;
+        }
+
+        int[] depth = new int[vertices];
+        int[] parent = new int[vertices];
+        int[] parentEdge = new int[vertices];
+        int[] lowerEndpoint = new int[edgeCount];
+        Arrays.fill(lowerEndpoint, NONE);
+        int[] order = new int[vertices];
+        boolean[] seen = new boolean[vertices];
+        int head = 0;
+        int tail = 0;
+        int maxDepth = 0;
+        if (vertices > 0) {
+            order[tail++] = 0;
+            seen[0] = true;
+            parentEdge[0] = NONE;
+        }
+        while (head < tail) {
+            int v = order[head++];
+            for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                int edge = incident[p];
+                int child = sources[edge] == v ? destinations[edge] : sources[edge];
+                if (seen[child]) continue;
+                seen[child] = true;
+                depth[child] = depth[v] + 1;
+                maxDepth = Math.max(maxDepth, depth[child]);
+                parent[child] = v;
+                parentEdge[child] = edge;
+                lowerEndpoint[edge] = child;
+                order[tail++] = child;
+            }
+        }
+        if (tail != vertices) {
+            throw new IllegalArgumentException("Result edges do not span the graph");
+        }
+
+        // Jump tables stored per vertex (row v holds all levels), sized by the tree's depth
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth));
+        int[] up = new int[vertices * levels];
+        int[] upEdge = new int[vertices * levels];
+        double[] upMax = new double[vertices * levels];
+        for (int v = 0; v < vertices; v++) {
+            int row = v * levels;
+            up[row] = parent[v];
+            upEdge[row] = parentEdge[v];
+            upMax[row] = parentEdge[v] == NONE ? Double.NEGATIVE_INFINITY : weights[parentEdge[v]];
+        }
+        // BFS order visits ancestors first, so their rows are complete when a descendant reads them
+        for (int i = 0; i < vertices; i++) {
+            int row = order[i] * levels;
+            for (int k = 1; k < levels; k++) {
+                int midRow = up[row + k - 1] * levels;
+                up[row + k] = up[midRow + k - 1];
+                if (upMax[midRow + k - 1] > upMax[row + k - 1]) {
+                    upMax[row + k] = upMax[midRow + k - 1];
+                    upEdge[row + k] = upEdge[midRow + k - 1];
+                } else {
+                    upMax[row + k] = upMax[row + k - 1];
+                    upEdge[row + k] = upEdge[row + k - 1];
+                }
+            }
+        }
+
+        int[] cover = computeCovers(sources, destinations, inTree, weights, depth, parent);
+        return new SensitivityIndex(graph, result.getTotalCost(), depth, levels, up, upEdge, upMax,
+                sources, destinations, inTree, lowerEndpoint, cover, weights, lightestByPair);
+    }
+
+    /**
+     * For every vertex, the lightest non-tree edge covering the tree edge to its parent, or -1.
+     */
+    private static int[] computeCovers(int[] sources, int[] destinations, boolean[] inTree, double[] weights,
+                                       int[] depth, int[] parent) {
+        int vertices = depth.length;
+        int edgeCount = weights.length;
+        int[] nonTree = new int[edgeCount];
+        int count = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            if (!inTree[i]) nonTree[count++] = i;
+        }
+        EdgeSort.sort(nonTree, count, weights);
+
+        // jump[v] == v while v's parent edge has no cover; covered vertices point upwards.
+        // The root has no parent edge but also keeps jump == itself, which ends every climb
+        int[] cover = new int[vertices];
+        int[] jump = new int[vertices];
+        Arrays.fill(cover, NONE);
+        for (int v = 0; v < vertices; v++) {
+            jump[v] = v;
+        }
+        for (int i = 0; i < count; i++) {
+            int edge = nonTree[i];
+            int u = uncovered(jump, sources[edge]);
+            int v = uncovered(jump, destinations[edge]);
+            while (u != v) {
+                if (depth[u] < depth[v]) {
+                    int tmp = u;
+                    u = v;
+                    v = tmp;
+                }
+                cover[u] = edge;
+                jump[u] = parent[u];
+                u = uncovered(jump, parent[u]);
+            }
+        }
+        return cover;
+    }
+
+    private static int uncovered(int[] jump, int v) {
+        while (jump[v] != v) {
+            jump[v] = jump[jump[v]];
+            v = jump[v];
+        }
+        return v;
+    }
+
+    public boolean isTreeEdge(int edgeIndex) {
+        return inTree[edgeIndex];
+    }
+
+    /**
+     * For a tree edge, how much its weight can rise before the tree changes; for a
+     * non-tree edge, how much its weight must fall before it would enter the tree.
+     * Infinite for a tree edge that is a bridge; 0 where a tie already allows a swap.
+     */
+    public double getTolerance(int edgeIndex) {
+        if (inTree[edgeIndex]) {
+            int covering = cover[lowerEndpoint[edgeIndex]];
+            return covering == NONE ? Double.POSITIVE_INFINITY : weights[covering] - weights[edgeIndex];
+        }
+        double pathMax = pathMax(sources[edgeIndex], destinations[edgeIndex]);
+        return pathMax == Double.NEGATIVE_INFINITY ? Double.POSITIVE_INFINITY : weights[edgeIndex] - pathMax;
+    }
+
+    /**
+     * For a tree edge, the non-tree edge that reconnects the tree most cheaply if it is
+     * closed (null for a bridge); for a non-tree edge, the tree edge it would displace.
+     */
+    public Edge getReplacement(int edgeIndex) {
+        int replacement;
+        if (inTree[edgeIndex]) {
+            replacement = cover[lowerEndpoint[edgeIndex]];
+        } else {
+            replacement = pathMaxEdge(sources[edgeIndex], destinations[edgeIndex]);
+        }
+        return replacement == NONE ? null : graph.getEdge(replacement);
+    }
+
+    /**
+     * Returns the MST cost after closing a tree edge, or infinity if it is a bridge.
+     * Closing a non-tree edge leaves the cost unchanged.
+     */
+    public double getCostWithout(int edgeIndex) {
+        if (!inTree[edgeIndex]) {
+            return totalCost;
+        }
+        int covering = cover[lowerEndpoint[edgeIndex]];
+        return covering == NONE ? Double.POSITIVE_INFINITY : totalCost - weights[edgeIndex] + weights[covering];
+    }
+
+    /**
+     * Returns the heaviest tree-edge weight between two vertices, or 0 if they coincide.
+     */
+    public double pathMaxWeight(int u, int v) {
+        return u == v ? 0.0 : pathMax(u, v);
+    }
+
+    /**
+     * Returns the index of the lightest graph edge joining two named nodes, or -1.
+     */
+    public int findEdge(String from, String to) {
+        Integer u = graph.getNodeIndex(from);
+        Integer v = graph.getNodeIndex(to);
+        if (u == null || v == null) {
+            return NONE;
+        }
+        return lightestByPair.get(EdgePairIndex.key(u, v));
+    }
+
+    /**
+     * Heaviest weight on the tree path, or negative infinity if u == v.
+     */
+    private double pathMax(int u, int v) {
+        double best = Double.NEGATIVE_INFINITY;
+        if (depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff > 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                best = Math.max(best, upMax[u * levels + k]);
+                u = up[u * levels + k];
+            }
+        }
+        if (u == v) {
+            return best;
+        }
+        for (int k = levels - 1; k >= 0; k--) {
+            int uk = u * levels + k;
+            int vk = v * levels + k;
+            if (up[uk] != up[vk]) {
+                best = Math.max(best, Math.max(upMax[uk], upMax[vk]));
+                u = up[uk];
+                v = up[vk];
+            }
+        }
+        return Math.max(best, Math.max(upMax[u * levels], upMax[v * levels]));
+    }
+
+    /**
+     * Index of the heaviest tree edge on the path, or -1 if u == v.
+     */
+    private int pathMaxEdge(int u, int v) {
+        int best = NONE;
+        double bestWeight = Double.NEGATIVE_INFINITY;
+        if (depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff > 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                int uk = u * levels + k;
+                if (upMax[uk] > bestWeight) {
+                    bestWeight = upMax[uk];
+                    best = upEdge[uk];
+                }
+                u = up[uk];
+            }
+        }
+        if (u == v) {
+            return best;
+        }
+        for (int k = levels - 1; k >= 0; k--) {
+            int uk = u * levels + k;
+            int vk = v * levels + k;
+            if (up[uk] != up[vk]) {
+                if (upMax[uk] > bestWeight) {
+                    bestWeight = upMax[uk];
+                    best = upEdge[uk];
+                }
+                if (upMax[vk] > bestWeight) {
+                    bestWeight = upMax[vk];
+                    best = upEdge[vk];
+                }
+                u = up[uk];
+                v = up[vk];
+            }
+        }
+        // u and v are now children of the lowest common ancestor
+        if (upMax[u * levels] > bestWeight) {
+            bestWeight = upMax[u * levels];
+            best = upEdge[u * levels];
+        }
+        if (upMax[v * levels] > bestWeight) {
+            best = upEdge[v * levels];
+        }
+        return best;
+    }
+}
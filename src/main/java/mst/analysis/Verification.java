@@ -0,0 +1,60 @@
+package mst.analysis;
+
+import mst.model.Edge;
+
+/**
+ * Outcome of MSTVerifier.verify. An invalid result carries a message and, when
+ * minimality is what failed, the non-tree edge that is lighter than the heaviest
+ * tree edge on its path together with that tree edge.
+ */
+public final class Verification {
+
+    private final boolean valid;
+    private final String message;
+    private final Edge violatingEdge;
+    private final Edge heavierTreeEdge;
+    private final long operationCount;
+
+    Verification(boolean valid, String message, Edge violatingEdge, Edge heavierTreeEdge, long operationCount) {
+        this.valid = valid;
+        this.message = message;
+        this.violatingEdge = violatingEdge;
+        this.heavierTreeEdge = heavierTreeEdge;
+        this.operationCount = operationCount;
+    }
+
+    static Verification invalid(String message, long operationCount) {
+        return new Verification(false, message, null, null, operationCount);
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns a graph edge that would improve the tree, or null.
+     */
+    public Edge getViolatingEdge() {
+        return violatingEdge;
+    }
+
+    /**
+     * Returns the tree edge that the violating edge could replace, or null.
+     */
+    public Edge getHeavierTreeEdge() {
+        return heavierTreeEdge;
+    }
+
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    @Override
+    public String toString() {
+        return valid ? "Verified minimum spanning tree" : "Not a minimum spanning tree: " + message;
+    }
+}
@@ -0,0 +1,199 @@
+package mst.batch;
+
+import mst.algorithm.MSTAlgorithm;
+import mst.io.FileStreams;
+import mst.io.JSONHandler;
+import mst.model.Graph;
+import mst.util.MemoryMeter;
+import mst.util.ResultAnalyzer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves many input files in one JVM, so only the first file pays for startup and
+ * JIT warm-up. Files are processed in parallel, each by one thread; graphs within a
+ * file run Prim then Kruskal, which reuse that thread's SolverWorkspace.
+ *
+ * Each input gets its own output file in the output.json format, and all graphs go
+ * into one summary CSV with ResultAnalyzer's columns plus the source file. A file
+ * that cannot be read or written is reported and skipped; the rest of the batch
+ * still runs.
+ */
+public final class BatchRunner {
+
+    public static final String SUMMARY_FILE = "summary.csv";
+
+    private static final String JSON_EXTENSION = ".json";
+    private static final String OUTPUT_SUFFIX = "_output";
+
+    private final MSTAlgorithm primAlgorithm;
+    private final MSTAlgorithm kruskalAlgorithm;
+    private final int parallelism;
+
+    /**
+     * @param primAlgorithm    engine reported as "prim"; must be safe to share between threads
+     * @param kruskalAlgorithm engine reported as "kruskal"; must be safe to share between threads
+     * @param parallelism      number of files solved at once
+     */
+    public BatchRunner(MSTAlgorithm primAlgorithm, MSTAlgorithm kruskalAlgorithm, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.primAlgorithm = primAlgorithm;
+        this.kruskalAlgorithm = kruskalAlgorithm;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Lists the inputs named by a directory (its .json and .json.gz files) or by a
+     * glob such as data/2024-*.json, whose wildcards apply to the file name. The
+     * list is sorted by name.
+     */
+    public static List<Path> resolveInputs(String pattern) throws IOException {
+        Path path = Paths.get(pattern);
+        List<Path> inputs = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(path)) {
+                for (Path file : files) {
+                    String name = FileStreams.stripCompression(file.getFileName().toString());
+                    if (name.endsWith(JSON_EXTENSION) && Files.isRegularFile(file)) {
+                        inputs.add(file);
+                    }
+                }
+            }
+        } else {
+            Path directory = path.getParent() != null ? path.getParent() : Paths.get(".");
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + path.getFileName());
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    if (matcher.matches(file.getFileName()) && Files.isRegularFile(file)) {
+                        inputs.add(file);
+                    }
+                }
+            }
+        }
+        Collections.sort(inputs);
+        return inputs;
+    }
+
+    /**
+     * Returns where the result for an input goes: name_output.json, compressed if the input was.
+     */
+    public static Path outputPathFor(Path input, Path outputDirectory) {
+        String name = input.getFileName().toString();
+        boolean compressed = FileStreams.isCompressedPath(name);
+        String base = FileStreams.stripCompression(name);
+        if (base.endsWith(JSON_EXTENSION)) {
+            base = base.substring(0, base.length() - JSON_EXTENSION.length());
+        }
+        return outputDirectory.resolve(base + OUTPUT_SUFFIX + JSON_EXTENSION
+                + (compressed ? FileStreams.GZIP_EXTENSION : ""));
+    }
+
+    /**
+     * Solves every input, writing outputs and the summary CSV into the output directory.
+     */
+    public Report run(List<Path> inputs, Path outputDirectory) throws IOException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        Files.createDirectories(outputDirectory);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(inputs.size(), 1)));
+        List<Future<List<JSONHandler.ResultPair>>> futures = new ArrayList<>(inputs.size());
+        try {
+            for (Path input : inputs) {
+                futures.add(pool.submit(() -> solveFile(input, outputPathFor(input, outputDirectory))));
+            }
+
+            Report report = new Report();
+            Path summary = outputDirectory.resolve(SUMMARY_FILE);
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(summary))) {
+                writer.println(ResultAnalyzer.CSV_HEADER + ",Source_File");
+                // Rows follow input order, whichever file finished first
+                for (int i = 0; i < inputs.size(); i++) {
+                    String source = inputs.get(i).getFileName().toString().replace(',', ' ');
+                    try {
+                        List<JSONHandler.ResultPair> results = futures.get(i).get();
+                        for (JSONHandler.ResultPair pair : results) {
+                            writer.println(ResultAnalyzer.summarize(pair) + "," + source);
+                        }
+                        report.filesSolved++;
+                        report.graphsSolved += results.size();
+                    } catch (ExecutionException e) {
+                        report.failures.add(source + ": " + e.getCause().toString());
+                    }
+                }
+            }
+            report.summaryFile = summary;
+            report.elapsedMs = System.currentTimeMillis() - startTime;
+            return report;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<JSONHandler.ResultPair> solveFile(Path input, Path output) throws IOException {
+        JSONHandler jsonHandler = new JSONHandler();
+        List<Graph> graphs = jsonHandler.readGraphs(input.toString());
+        List<JSONHandler.ResultPair> results = new ArrayList<>(graphs.size());
+        for (Graph graph : graphs) {
+            results.add(new JSONHandler.ResultPair(
+                    graph.getGraphId(),
+                    graph.getName(),
+                    graph.getVertices(),
+                    graph.getInputEdgeCount(),
+                    MemoryMeter.measure(graph, () -> primAlgorithm.findMST(graph)),
+                    MemoryMeter.measure(graph, () -> kruskalAlgorithm.findMST(graph))
+            ));
+        }
+        jsonHandler.writeResults(output.toString(), results);
+        return results;
+    }
+
+    /**
+     * Outcome of a batch run.
+     */
+    public static final class Report {
+        private int filesSolved;
+        private int graphsSolved;
+        private final List<String> failures = new ArrayList<>();
+        private Path summaryFile;
+        private long elapsedMs;
+
+        public int getFilesSolved() {
+            return filesSolved;
+        }
+
+        public int getGraphsSolved() {
+            return graphsSolved;
+        }
+
+        /**
+         * Returns one "file: reason" line per input that could not be processed.
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+
+        public Path getSummaryFile() {
+            return summaryFile;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+    }
+}
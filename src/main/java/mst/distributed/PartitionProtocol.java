@@ -0,0 +1,89 @@
+package mst.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary messages between the coordinator and a worker, all big-endian.
+ *
+ * Solve request: OP_SOLVE, vertex count, edge count, then per edge the two local
+ * vertex ids and the weight. Edges are sent in global edge order, so a worker's
+ * index tie-break agrees with the coordinator's.
+ * Solve reply: operation count, number of forest edges, then their request indices.
+ * Shutdown: OP_SHUTDOWN, no reply.
+ */
+final class PartitionProtocol {
+
+    static final int OP_SOLVE = 1;
+    static final int OP_SHUTDOWN = 2;
+
+    /** Line a spawned worker prints once it listens, followed by its port. */
+    static final String READY_PREFIX = "MST-WORKER-PORT ";
+
+    private PartitionProtocol() {
+    }
+
+    /**
+     * A partition as sent to a worker, with vertices renumbered from 0.
+     */
+    static final class Partition {
+        final int vertices;
+        final int edgeCount;
+        final int[] sources;
+        final int[] destinations;
+        final double[] weights;
+
+        Partition(int vertices, int edgeCount, int[] sources, int[] destinations, double[] weights) {
+            this.vertices = vertices;
+            this.edgeCount = edgeCount;
+            this.sources = sources;
+            this.destinations = destinations;
+            this.weights = weights;
+        }
+    }
+
+    static void writeSolve(DataOutputStream out, Partition partition) throws IOException {
+        out.writeInt(OP_SOLVE);
+        out.writeInt(partition.vertices);
+        out.writeInt(partition.edgeCount);
+        for (int i = 0; i < partition.edgeCount; i++) {
+            out.writeInt(partition.sources[i]);
+            out.writeInt(partition.destinations[i]);
+            out.writeDouble(partition.weights[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the body of a solve request, after its op code.
+     */
+    static Partition readSolve(DataInputStream in) throws IOException {
+        int vertices = in.readInt();
+        int edgeCount = in.readInt();
+        if (vertices < 0 || edgeCount < 0) {
+            throw new IOException("Invalid partition header: " + vertices + " vertices, " + edgeCount + " edges");
+        }
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            sources[i] = in.readInt();
+            destinations[i] = in.readInt();
+            weights[i] = in.readDouble();
+            if (sources[i] < 0 || sources[i] >= vertices || destinations[i] < 0 || destinations[i] >= vertices) {
+                throw new IOException("Edge " + i + " references a vertex outside the partition");
+            }
+        }
+        return new Partition(vertices, edgeCount, sources, destinations, weights);
+    }
+
+    static void writeForest(DataOutputStream out, long operations, int[] forest) throws IOException {
+        out.writeLong(operations);
+        out.writeInt(forest.length);
+        for (int edge : forest) {
+            out.writeInt(edge);
+        }
+        out.flush();
+    }
+}
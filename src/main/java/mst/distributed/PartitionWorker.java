@@ -0,0 +1,93 @@
+package mst.distributed;
+
+import mst.algorithm.KruskalAlgorithm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Worker process for PartitionedMSTAlgorithm. Listens on the loopback interface,
+ * computes a minimum spanning forest for every partition it receives and replies
+ * with the chosen edges. Connections are served one at a time; a shutdown
+ * message ends the process.
+ */
+public class PartitionWorker {
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * @param port loopback port, 0 for an ephemeral port
+     */
+    public PartitionWorker(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Serves connections until a shutdown message arrives or the socket is closed.
+     */
+    public void serve() throws IOException {
+        try (ServerSocket server = serverSocket) {
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    socket.setTcpNoDelay(true);
+                    if (!handle(socket)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers requests on one connection.
+     *
+     * @return false if the coordinator asked the worker to shut down
+     */
+    private boolean handle(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        while (true) {
+            int op;
+            try {
+                op = in.readInt();
+            } catch (EOFException e) {
+                return true; // Coordinator disconnected; wait for the next one
+            }
+            if (op == PartitionProtocol.OP_SHUTDOWN) {
+                return false;
+            }
+            if (op != PartitionProtocol.OP_SOLVE) {
+                throw new IOException("Unknown op code " + op);
+            }
+
+            PartitionProtocol.Partition partition = PartitionProtocol.readSolve(in);
+            int[] forest = KruskalAlgorithm.minimumSpanningForest(partition.vertices, partition.edgeCount,
+                    partition.sources, partition.destinations, partition.weights);
+            long operations = (long) (partition.edgeCount * Math.log(Math.max(partition.edgeCount, 1)))
+                    + 3L * partition.edgeCount;
+            PartitionProtocol.writeForest(out, operations, forest);
+        }
+    }
+
+    /**
+     * Entry point for spawned workers: prints the ready line with the bound port, then serves.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        PartitionWorker worker = new PartitionWorker(port);
+        System.out.println(PartitionProtocol.READY_PREFIX + worker.getPort());
+        System.out.flush();
+        worker.serve();
+    }
+}
@@ -0,0 +1,344 @@
+package mst.distributed;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.MSTAlgorithm;
+import mst.jfr.MSTEvents;
+import mst.jfr.SolveEvent;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator that splits a graph across worker processes.
+ *
+ * Vertices are ordered by BFS and cut into equal contiguous blocks, so each
+ * partition is a connected-ish region with few edges leaving it. Each worker
+ * receives the edges inside its block and returns that subgraph's minimum
+ * spanning forest. An internal edge the worker drops is the heaviest on a cycle
+ * of its partition, so by the cycle property it is in no MST of the whole graph.
+ * The coordinator then runs Kruskal over the returned forests plus the cut edges.
+ * Ties are broken by global edge index everywhere, so the result is exactly the
+ * tree plain Kruskal would pick.
+ */
+public class PartitionedMSTAlgorithm implements MSTAlgorithm, AutoCloseable {
+
+    private static final String ALGORITHM_NAME = "Partitioned Kruskal";
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+
+    private final List<WorkerConnection> workers = new ArrayList<>();
+    private final List<Process> processes = new ArrayList<>();
+
+    /**
+     * Connects to workers that are already running, e.g. started with Main --worker.
+     * close() disconnects but leaves them running.
+     */
+    public PartitionedMSTAlgorithm(List<InetSocketAddress> endpoints) throws IOException {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        try {
+            for (InetSocketAddress endpoint : endpoints) {
+                workers.add(new WorkerConnection(endpoint));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private PartitionedMSTAlgorithm() {
+    }
+
+    /**
+     * Starts worker JVMs on this host with the current classpath and connects to
+     * them. close() shuts the processes down.
+     */
+    public static PartitionedMSTAlgorithm spawnLocal(int workerCount) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        PartitionedMSTAlgorithm coordinator = new PartitionedMSTAlgorithm();
+        try {
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            String classPath = workerClassPath();
+            for (int i = 0; i < workerCount; i++) {
+                Process process = new ProcessBuilder(java, "-cp", classPath, PartitionWorker.class.getName())
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                coordinator.processes.add(process);
+                int port = awaitReady(process);
+                coordinator.workers.add(new WorkerConnection(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), port)));
+            }
+        } catch (IOException e) {
+            coordinator.close();
+            throw e;
+        }
+        return coordinator;
+    }
+
+    /**
+     * Puts the location of the worker classes first: under launchers such as
+     * mvn exec:java, java.class.path names the launcher rather than this project.
+     */
+    private static String workerClassPath() throws IOException {
+        String classPath = System.getProperty("java.class.path");
+        CodeSource source = PartitionWorker.class.getProtectionDomain().getCodeSource();
+        if (source == null) {
+            return classPath;
+        }
+        try {
+            return Paths.get(source.getLocation().toURI()) + File.pathSeparator + classPath;
+        } catch (URISyntaxException e) {
+            throw new IOException("Cannot locate the worker classes", e);
+        }
+    }
+
+    private static int awaitReady(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(PartitionProtocol.READY_PREFIX)) {
+                return Integer.parseInt(line.substring(PartitionProtocol.READY_PREFIX.length()).trim());
+            }
+        }
+        throw new IOException("Worker process exited before it was ready");
+    }
+
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    @Override
+    public String getName() {
+        return ALGORITHM_NAME;
+    }
+
+    /**
+     * Solves the graph across the workers. Calls are serialised because each
+     * worker connection carries one request at a time.
+     *
+     * @throws UncheckedIOException if a worker cannot be reached or fails
+     */
+    @Override
+    public synchronized MSTResult findMST(Graph graph) {
+        long startTime = System.currentTimeMillis();
+        SolveEvent solveEvent = new SolveEvent();
+        solveEvent.begin();
+
+        int vertices = graph.getVertices();
+        int edgeCount = graph.getEdgeCount();
+        if (!MSTEvents.checkConnected(ALGORITHM_NAME, graph)) {
+            return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                    .algorithmName(ALGORITHM_NAME)
+                    .success(false)
+                    .message("Graph is not connected - MST cannot be formed")
+                    .vertexCount(vertices)
+                    .edgeCount(edgeCount)
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build());
+        }
+
+        int parts = workers.size();
+        int[] partOf = new int[vertices];
+        int[] localId = new int[vertices];
+        assignPartitions(graph, parts, partOf, localId);
+
+        // Internal edges go to their partition's worker, in global order; cut edges stay here
+        int[] internalCount = new int[parts];
+        int cutCount = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = graph.getEdge(i);
+            int part = partOf[edge.getSource()];
+            if (part == partOf[edge.getDestination()]) {
+                internalCount[part]++;
+            } else {
+                cutCount++;
+            }
+        }
+        int[][] globalIds = new int[parts][];
+        PartitionProtocol.Partition[] partitions = new PartitionProtocol.Partition[parts];
+        int[] partVertices = new int[parts];
+        for (int v = 0; v < vertices; v++) {
+            partVertices[partOf[v]]++;
+        }
+        for (int p = 0; p < parts; p++) {
+            globalIds[p] = new int[internalCount[p]];
+            partitions[p] = new PartitionProtocol.Partition(partVertices[p], internalCount[p],
+                    new int[internalCount[p]], new int[internalCount[p]], new double[internalCount[p]]);
+        }
+        int[] candidates = new int[cutCount + Math.max(vertices - 1, 0)];
+        int candidateCount = 0;
+        int[] fill = new int[parts];
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = graph.getEdge(i);
+            int part = partOf[edge.getSource()];
+            if (part != partOf[edge.getDestination()]) {
+                candidates[candidateCount++] = i;
+                continue;
+            }
+            int slot = fill[part]++;
+            PartitionProtocol.Partition partition = partitions[part];
+            partition.sources[slot] = localId[edge.getSource()];
+            partition.destinations[slot] = localId[edge.getDestination()];
+            partition.weights[slot] = edge.getWeight();
+            globalIds[part][slot] = i;
+        }
+
+        // Send every partition before reading any reply so the workers run concurrently
+        long operationCount = edgeCount;
+        try {
+            for (int p = 0; p < parts; p++) {
+                PartitionProtocol.writeSolve(workers.get(p).out, partitions[p]);
+            }
+            for (int p = 0; p < parts; p++) {
+                DataInputStream in = workers.get(p).in;
+                operationCount += in.readLong();
+                int forestSize = in.readInt();
+                for (int j = 0; j < forestSize; j++) {
+                    candidates[candidateCount++] = globalIds[p][in.readInt()];
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Partition worker failed", e);
+        }
+
+        // Final Kruskal over forests plus cut edges; sorting by global id keeps the index tie-break global
+        Arrays.sort(candidates, 0, candidateCount);
+        int[] sources = new int[candidateCount];
+        int[] destinations = new int[candidateCount];
+        double[] weights = new double[candidateCount];
+        for (int c = 0; c < candidateCount; c++) {
+            Edge edge = graph.getEdge(candidates[c]);
+            sources[c] = edge.getSource();
+            destinations[c] = edge.getDestination();
+            weights[c] = edge.getWeight();
+        }
+        int[] chosen = KruskalAlgorithm.minimumSpanningForest(vertices, candidateCount, sources, destinations, weights);
+        operationCount += (long) (candidateCount * Math.log(Math.max(candidateCount, 1))) + 3L * candidateCount;
+
+        List<Edge> mstEdges = new ArrayList<>(chosen.length);
+        double totalCost = 0.0;
+        for (int c : chosen) {
+            Edge edge = graph.getEdge(candidates[c]);
+            mstEdges.add(edge);
+            totalCost += edge.getWeight();
+        }
+
+        return MSTEvents.commitSolve(solveEvent, new MSTResult.Builder()
+                .algorithmName(ALGORITHM_NAME)
+                .mstEdges(mstEdges)
+                .totalCost(totalCost)
+                .vertexCount(vertices)
+                .edgeCount(edgeCount)
+                .operationCount(operationCount)
+                .executionTimeMs(System.currentTimeMillis() - startTime)
+                .success(true)
+                .build());
+    }
+
+    /**
+     * Cuts the BFS order from vertex 0 into equal blocks. The graph must be connected.
+     */
+    private static void assignPartitions(Graph graph, int parts, int[] partOf, int[] localId) {
+        int vertices = graph.getVertices();
+        int[] order = new int[vertices];
+        boolean[] visited = new boolean[vertices];
+        int head = 0;
+        int tail = 0;
+        if (vertices > 0) {
+            order[tail++] = 0;
+            visited[0] = true;
+        }
+        while (head < tail) {
+            int current = order[head++];
+            List<Edge> adjacent = graph.getAdjacentEdges(current);
+            for (int i = 0; i < adjacent.size(); i++) {
+                int neighbor = adjacent.get(i).getDestination();
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    order[tail++] = neighbor;
+                }
+            }
+        }
+
+        int[] partStart = new int[parts + 1];
+        for (int p = 0; p <= parts; p++) {
+            partStart[p] = (int) ((long) vertices * p / parts);
+        }
+        int part = 0;
+        for (int rank = 0; rank < vertices; rank++) {
+            while (rank >= partStart[part + 1]) {
+                part++;
+            }
+            partOf[order[rank]] = part;
+            localId[order[rank]] = rank - partStart[part];
+        }
+    }
+
+    /**
+     * Disconnects from the workers; spawned worker processes are shut down.
+     */
+    @Override
+    public synchronized void close() {
+        boolean owned = !processes.isEmpty();
+        for (WorkerConnection worker : workers) {
+            try {
+                if (owned) {
+                    worker.out.writeInt(PartitionProtocol.OP_SHUTDOWN);
+                    worker.out.flush();
+                }
+                worker.socket.close();
+            } catch (IOException e) {
+                // Worker already gone; nothing left to release
+            }
+        }
+        workers.clear();
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    private static final class WorkerConnection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        WorkerConnection(InetSocketAddress endpoint) throws IOException {
+            socket = new Socket(endpoint.getAddress(), endpoint.getPort());
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+    }
+}
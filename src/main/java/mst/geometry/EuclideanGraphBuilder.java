@@ -0,0 +1,65 @@
+package mst.geometry;
+
+import mst.model.Graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds a sparse candidate graph for a Euclidean MST from node coordinates.
+ *
+ * For every point the nearest neighbour in each of six 60-degree cones is kept
+ * (the Yao graph). If uv is an MST edge and w is closer to u in the same cone,
+ * the angle at u is below 60 degrees so |vw| < |uv|, making uv the heaviest edge
+ * of triangle uvw; hence every MST edge of the complete graph is a candidate.
+ * The result has at most 6V edges instead of V(V-1)/2, and the usual algorithms
+ * can run on it unchanged.
+ */
+public final class EuclideanGraphBuilder {
+
+    private EuclideanGraphBuilder() {
+    }
+
+    /**
+     * Creates a graph over the named points whose edges are the Yao candidates,
+     * weighted by Euclidean distance. The coordinates are stored on the graph.
+     */
+    public static Graph build(List<String> nodeNames, double[] x, double[] y) {
+        int n = nodeNames.size();
+        if (x.length != n || y.length != n) {
+            throw new IllegalArgumentException("Coordinate arrays must match the number of nodes");
+        }
+
+        Graph graph = new Graph(nodeNames);
+        graph.setCoordinates(x, y);
+
+        KdTree tree = new KdTree(x, y);
+        int[] nearest = new int[KdTree.CONES];
+        double[] distance = new double[KdTree.CONES];
+
+        // Pack each undirected pair into a long so duplicates from both endpoints collapse after sorting
+        long[] pairs = new long[n * KdTree.CONES];
+        int count = 0;
+        for (int p = 0; p < n; p++) {
+            tree.nearestPerCone(p, nearest, distance);
+            for (int c = 0; c < KdTree.CONES; c++) {
+                int q = nearest[c];
+                if (q >= 0) {
+                    pairs[count++] = ((long) Math.min(p, q) << 32) | Math.max(p, q);
+                }
+            }
+        }
+
+        Arrays.sort(pairs, 0, count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && pairs[i] == pairs[i - 1]) continue;
+            int u = (int) (pairs[i] >>> 32);
+            int v = (int) pairs[i];
+            double dx = x[u] - x[v];
+            double dy = y[u] - y[v];
+            graph.addEdge(u, v, Math.sqrt(dx * dx + dy * dy));
+        }
+
+        return graph;
+    }
+}
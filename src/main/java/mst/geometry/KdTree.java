@@ -0,0 +1,242 @@
+package mst.geometry;
+
+/**
+ * Static 2-d tree over a point set, used to find the nearest neighbour of a point
+ * inside each of the six 60-degree cones around it.
+ */
+final class KdTree {
+
+    static final int CONES = 6;
+
+    private static final int LEAF_SIZE = 8;
+    private static final double CONE_ANGLE = Math.PI / 3;
+    private static final double[] RAY_X = new double[CONES + 1];
+    private static final double[] RAY_Y = new double[CONES + 1];
+
+    static {
+        for (int k = 0; k <= CONES; k++) {
+            RAY_X[k] = Math.cos(k * CONE_ANGLE);
+            RAY_Y[k] = Math.sin(k * CONE_ANGLE);
+        }
+    }
+
+    private final double[] x;
+    private final double[] y;
+    private final int[] index;
+
+    // Node storage, one entry per node in build order
+    private final int[] from;
+    private final int[] to;
+    private final int[] left;
+    private final int[] right;
+    private final double[] minX;
+    private final double[] maxX;
+    private final double[] minY;
+    private final double[] maxY;
+    private int nodeCount;
+
+    KdTree(double[] x, double[] y) {
+        this.x = x;
+        this.y = y;
+        int n = x.length;
+        this.index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+
+        int capacity = 2 * Math.max(1, n) + 1;
+        from = new int[capacity];
+        to = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        minX = new double[capacity];
+        maxX = new double[capacity];
+        minY = new double[capacity];
+        maxY = new double[capacity];
+
+        if (n > 0) {
+            build(0, n);
+        }
+    }
+
+    private int build(int lo, int hi) {
+        int node = nodeCount++;
+        from[node] = lo;
+        to[node] = hi;
+
+        double x0 = Double.POSITIVE_INFINITY, x1 = Double.NEGATIVE_INFINITY;
+        double y0 = Double.POSITIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (int i = lo; i < hi; i++) {
+            int p = index[i];
+            x0 = Math.min(x0, x[p]);
+            x1 = Math.max(x1, x[p]);
+            y0 = Math.min(y0, y[p]);
+            y1 = Math.max(y1, y[p]);
+        }
+        minX[node] = x0;
+        maxX[node] = x1;
+        minY[node] = y0;
+        maxY[node] = y1;
+
+        if (hi - lo <= LEAF_SIZE) {
+            left[node] = -1;
+            right[node] = -1;
+            return node;
+        }
+
+        // Split on the wider side at the median
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi, mid, (x1 - x0) >= (y1 - y0) ? x : y);
+        left[node] = build(lo, mid);
+        right[node] = build(mid, hi);
+        return node;
+    }
+
+    /**
+     * Quickselect with Hoare partitioning, which stays linear on repeated coordinates.
+     */
+    private void select(int lo, int hi, int k, double[] coord) {
+        int l = lo;
+        int h = hi - 1;
+        while (h > l) {
+            double pivot = coord[index[(l + h) >>> 1]];
+            int i = l;
+            int j = h;
+            while (i <= j) {
+                while (coord[index[i]] < pivot) i++;
+                while (coord[index[j]] > pivot) j--;
+                if (i <= j) {
+                    int tmp = index[i];
+                    index[i] = index[j];
+                    index[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                h = j;
+            } else if (k >= i) {
+                l = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the cone (0..5) containing direction (dx, dy); cone k covers angles [60k, 60k + 60).
+     */
+    static int coneOf(double dx, double dy) {
+        double angle = Math.atan2(dy, dx);
+        if (angle < 0) {
+            angle += 2 * Math.PI;
+        }
+        int cone = (int) (angle / CONE_ANGLE);
+        return Math.min(cone, CONES - 1);
+    }
+
+    /**
+     * Finds, for each cone around point p, the nearest other point in that cone.
+     * Ties are broken by the lower point index so results do not depend on tree shape.
+     *
+     * @param nearest  receives the neighbour index per cone, or -1 if the cone is empty
+     * @param distance receives the squared distance per cone
+     */
+    void nearestPerCone(int p, int[] nearest, double[] distance) {
+        for (int c = 0; c < CONES; c++) {
+            nearest[c] = -1;
+            distance[c] = Double.POSITIVE_INFINITY;
+        }
+        if (nodeCount > 0) {
+            search(0, p, nearest, distance);
+        }
+    }
+
+    private void search(int node, int p, int[] nearest, double[] distance) {
+        double px = x[p];
+        double py = y[p];
+
+        if (left[node] < 0) {
+            for (int i = from[node]; i < to[node]; i++) {
+                int q = index[i];
+                if (q == p) continue;
+                double dx = x[q] - px;
+                double dy = y[q] - py;
+                double d2 = dx * dx + dy * dy;
+                int c = coneOf(dx, dy);
+                if (d2 < distance[c] || (d2 == distance[c] && q < nearest[c])) {
+                    distance[c] = d2;
+                    nearest[c] = q;
+                }
+            }
+            return;
+        }
+
+        int first = left[node];
+        int second = right[node];
+        if (minDistance2(second, px, py) < minDistance2(first, px, py)) {
+            first = right[node];
+            second = left[node];
+        }
+        if (isRelevant(first, px, py, distance)) {
+            search(first, p, nearest, distance);
+        }
+        if (isRelevant(second, px, py, distance)) {
+            search(second, p, nearest, distance);
+        }
+    }
+
+    private double minDistance2(int node, double px, double py) {
+        double dx = minX[node] > px ? minX[node] - px : (maxX[node] < px ? px - maxX[node] : 0);
+        double dy = minY[node] > py ? minY[node] - py : (maxY[node] < py ? py - maxY[node] : 0);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * A node is worth visiting if, for some cone, its box is closer than the best point
+     * found so far and the box intersects that cone's wedge.
+     */
+    private boolean isRelevant(int node, double px, double py, double[] distance) {
+        double d2 = minDistance2(node, px, py);
+        double bx0 = minX[node] - px;
+        double bx1 = maxX[node] - px;
+        double by0 = minY[node] - py;
+        double by1 = maxY[node] - py;
+        for (int c = 0; c < CONES; c++) {
+            if (d2 <= distance[c] && intersectsCone(c, bx0, bx1, by0, by1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Separating-axis test between a box (relative to the apex) and the wedge of cone c.
+     * Tests are conservative: near-boundary boxes are treated as intersecting.
+     */
+    private static boolean intersectsCone(int c, double bx0, double bx1, double by0, double by1) {
+        // Axis-aligned constraints implied by the cone's angular range
+        switch (c) {
+            case 0: if (bx1 < 0 || by1 < 0) return false; break;
+            case 1: if (by1 < 0) return false; break;
+            case 2: if (bx0 > 0 || by1 < 0) return false; break;
+            case 3: if (bx0 > 0 || by0 > 0) return false; break;
+            case 4: if (by0 > 0) return false; break;
+            default: if (bx1 < 0 || by0 > 0) return false; break;
+        }
+
+        double eps = 1e-12 * Math.max(Math.max(Math.abs(bx0), Math.abs(bx1)), Math.max(Math.abs(by0), Math.abs(by1)));
+        // Box entirely clockwise of the cone's starting ray
+        if (cross(c, bx0, by0) < -eps && cross(c, bx1, by0) < -eps
+                && cross(c, bx0, by1) < -eps && cross(c, bx1, by1) < -eps) {
+            return false;
+        }
+        // Box entirely counter-clockwise of the cone's ending ray
+        return !(cross(c + 1, bx0, by0) > eps && cross(c + 1, bx1, by0) > eps
+                && cross(c + 1, bx0, by1) > eps && cross(c + 1, bx1, by1) > eps);
+    }
+
+    private static double cross(int ray, double dx, double dy) {
+        return RAY_X[ray] * dy - RAY_Y[ray] * dx;
+    }
+}
@@ -0,0 +1,492 @@
+package mst.io;
+
+import mst.model.Edge;
+import mst.model.MSTResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary alternative to the output.json format, carrying the same results.
+ *
+ * Layout, after the magic "MSTB" and a version byte: the number of result pairs,
+ * then per pair its graph id, name, vertex and edge counts, a byte flagging which
+ * results follow, and one node-name table shared by those results. A table whose
+ * names are just the vertex indices is stored as a single mode byte.
+ *
+ * A result stores its scalars, then its tree as a forest parent array: each vertex
+ * is written as the delta to its parent, with 0 for a root. The weights of the
+ * parent edges follow, packed as integers, floats or doubles depending on what
+ * represents every weight exactly. Finally the edges are listed in their original
+ * order, each as the delta to the previous edge's child vertex plus one bit for
+ * its direction, so a converted file reproduces the JSON output exactly.
+ *
+ * Integers are unsigned LEB128 varints, signed values zigzag-encoded first.
+ * Version 2 adds each result's allocated bytes and graph retained size after its
+ * total cost (-1 if not measured); version 1 files are still read.
+ */
+public final class BinaryResultFormat {
+
+    public static final String FILE_EXTENSION = ".mstb";
+
+    private static final byte[] MAGIC = {'M', 'S', 'T', 'B'};
+    private static final int VERSION = 2;
+    private static final int MEMORY_FIELDS_VERSION = 2;
+
+    private static final int HAS_PRIM = 1;
+    private static final int HAS_KRUSKAL = 2;
+    private static final int HAS_SELECTED = 4;
+
+    private static final int SUCCESS = 1;
+    private static final int COMPLETE = 2;
+
+    private static final int NAMES_NUMERIC = 0;
+    private static final int NAMES_TABLE = 1;
+
+    private static final int WEIGHTS_INTEGER = 0;
+    private static final int WEIGHTS_FLOAT = 1;
+    private static final int WEIGHTS_DOUBLE = 2;
+
+    private BinaryResultFormat() {
+    }
+
+    /**
+     * Returns true if the path names a binary result file, optionally gzip-compressed.
+     */
+    public static boolean isBinaryPath(String filePath) {
+        return FileStreams.stripCompression(filePath).endsWith(FILE_EXTENSION);
+    }
+
+    public static void write(String filePath, List<JSONHandler.ResultPair> results) throws IOException {
+        try (OutputStream out = FileStreams.openOutput(filePath)) {
+            write(out, results);
+        }
+    }
+
+    /**
+     * Writes results to a stream, leaving it open.
+     *
+     * @throws IllegalArgumentException if a result's edges do not form a forest
+     */
+    public static void write(OutputStream stream, List<JSONHandler.ResultPair> results) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        writeVarint(out, results.size());
+        for (JSONHandler.ResultPair pair : results) {
+            writeSigned(out, pair.graphId);
+            writeString(out, pair.graphName);
+            writeVarint(out, pair.vertexCount);
+            writeVarint(out, pair.edgeCount);
+            int present = (pair.primResult != null ? HAS_PRIM : 0)
+                    | (pair.kruskalResult != null ? HAS_KRUSKAL : 0)
+                    | (pair.selectedResult != null ? HAS_SELECTED : 0);
+            out.writeByte(present);
+            writeNames(out, pair);
+            for (MSTResult result : results(pair)) {
+                writeResult(out, result, pair.vertexCount);
+            }
+        }
+        out.flush();
+    }
+
+    public static List<JSONHandler.ResultPair> read(String filePath) throws IOException {
+        try (InputStream in = FileStreams.openInput(filePath)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads results written by write().
+     *
+     * @throws IOException if the stream is not in this format or is truncated
+     */
+    public static List<JSONHandler.ResultPair> read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary MST result file");
+        }
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary result version " + version);
+        }
+
+        int count = readVarint(in);
+        List<JSONHandler.ResultPair> results = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            int graphId = (int) readSigned(in);
+            String graphName = readString(in);
+            int vertexCount = readVarint(in);
+            int edgeCount = readVarint(in);
+            int present = in.readUnsignedByte();
+            String[] names = readNames(in, vertexCount);
+
+            MSTResult prim = (present & HAS_PRIM) != 0
+                    ? readResult(in, version, names, vertexCount, edgeCount) : null;
+            MSTResult kruskal = (present & HAS_KRUSKAL) != 0
+                    ? readResult(in, version, names, vertexCount, edgeCount) : null;
+            JSONHandler.ResultPair pair = new JSONHandler.ResultPair(
+                    graphId, graphName, vertexCount, edgeCount, prim, kruskal);
+            if ((present & HAS_SELECTED) != 0) {
+                pair.selectedResult = readResult(in, version, names, vertexCount, edgeCount);
+            }
+            results.add(pair);
+        }
+        return results;
+    }
+
+    /**
+     * Converts a binary result file to the output.json format.
+     */
+    public static void convertToJson(String binaryPath, String jsonPath) throws IOException {
+        new JSONHandler().writeResults(jsonPath, read(binaryPath));
+    }
+
+    private static List<MSTResult> results(JSONHandler.ResultPair pair) {
+        List<MSTResult> results = new ArrayList<>(3);
+        if (pair.primResult != null) results.add(pair.primResult);
+        if (pair.kruskalResult != null) results.add(pair.kruskalResult);
+        if (pair.selectedResult != null) results.add(pair.selectedResult);
+        return results;
+    }
+
+    private static void writeNames(DataOutputStream out, JSONHandler.ResultPair pair) throws IOException {
+        String[] names = new String[pair.vertexCount];
+        for (MSTResult result : results(pair)) {
+            if (!result.isSuccess()) {
+                continue;
+            }
+            for (Edge edge : result.getMstEdges()) {
+                names[edge.getSource()] = edge.getSourceName();
+                names[edge.getDestination()] = edge.getDestinationName();
+            }
+        }
+        boolean numeric = true;
+        for (int v = 0; v < names.length && numeric; v++) {
+            numeric = names[v] == null || names[v].equals(String.valueOf(v));
+        }
+        if (numeric) {
+            // Vertices never named by an edge are read back as their index; no edge refers to them
+            out.writeByte(NAMES_NUMERIC);
+            return;
+        }
+        out.writeByte(NAMES_TABLE);
+        for (String name : names) {
+            writeString(out, name);
+        }
+    }
+
+    private static String[] readNames(DataInputStream in, int vertexCount) throws IOException {
+        String[] names = new String[vertexCount];
+        int mode = in.readUnsignedByte();
+        if (mode == NAMES_NUMERIC) {
+            for (int v = 0; v < vertexCount; v++) {
+                names[v] = String.valueOf(v);
+            }
+        } else if (mode == NAMES_TABLE) {
+            for (int v = 0; v < vertexCount; v++) {
+                names[v] = readString(in);
+            }
+        } else {
+            throw new IOException("Unknown name table mode " + mode);
+        }
+        return names;
+    }
+
+    private static void writeResult(DataOutputStream out, MSTResult result, int vertexCount) throws IOException {
+        writeString(out, result.getAlgorithmName());
+        out.writeByte((result.isSuccess() ? SUCCESS : 0) | (result.isComplete() ? COMPLETE : 0));
+        writeString(out, result.getMessage());
+        writeString(out, result.getFrontier());
+        writeSigned(out, result.getOperationCount());
+        writeSigned(out, result.getExecutionTimeMs());
+        out.writeDouble(result.getTotalCost());
+        writeSigned(out, result.getAllocatedBytes());
+        writeSigned(out, result.getGraphRetainedBytes());
+        if (!result.isSuccess()) {
+            return;
+        }
+
+        List<Edge> edges = result.getMstEdges();
+        int m = edges.size();
+        int[] parent = new int[vertexCount];
+        int[] parentEdge = new int[vertexCount];
+        int[] childOf = new int[m];
+        buildForest(edges, vertexCount, parent, parentEdge, childOf);
+
+        writeVarint(out, m);
+        for (int v = 0; v < vertexCount; v++) {
+            // A parent is never the vertex itself, so a delta of 0 is free to mark roots
+            writeSigned(out, parent[v] < 0 ? 0 : (long) parent[v] - v);
+        }
+
+        double[] weights = new double[m];
+        int w = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (parent[v] >= 0) {
+                weights[w++] = edges.get(parentEdge[v]).getWeight();
+            }
+        }
+        writeWeights(out, weights);
+
+        int previous = 0;
+        for (int i = 0; i < m; i++) {
+            int child = childOf[i];
+            long entry = zigzag((long) child - previous) << 1;
+            if (edges.get(i).getSource() != child) {
+                entry |= 1;
+            }
+            writeVarLong(out, entry);
+            previous = child;
+        }
+    }
+
+    private static MSTResult readResult(DataInputStream in, int version, String[] names,
+                                        int vertexCount, int edgeCount) throws IOException {
+        MSTResult.Builder builder = new MSTResult.Builder()
+                .algorithmName(readString(in))
+                .vertexCount(vertexCount)
+                .edgeCount(edgeCount);
+        int flags = in.readUnsignedByte();
+        builder.success((flags & SUCCESS) != 0)
+                .complete((flags & COMPLETE) != 0)
+                .message(readString(in))
+                .frontier(readString(in))
+                .operationCount(readSigned(in))
+                .executionTimeMs(readSigned(in))
+                .totalCost(in.readDouble());
+        if (version >= MEMORY_FIELDS_VERSION) {
+            builder.allocatedBytes(readSigned(in))
+                    .graphRetainedBytes(readSigned(in));
+        }
+        if ((flags & SUCCESS) == 0) {
+            return builder.build();
+        }
+
+        int m = readVarint(in);
+        int[] parent = new int[vertexCount];
+        int roots = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            long delta = readSigned(in);
+            parent[v] = delta == 0 ? -1 : (int) (v + delta);
+            if (parent[v] < 0) {
+                roots++;
+            } else if (parent[v] >= vertexCount) {
+                throw new IOException("Corrupt parent array");
+            }
+        }
+        if (vertexCount - roots != m) {
+            throw new IOException("Parent array does not match the edge count");
+        }
+
+        double[] packed = readWeights(in, m);
+        double[] weight = new double[vertexCount];
+        int w = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (parent[v] >= 0) {
+                weight[v] = packed[w++];
+            }
+        }
+
+        List<Edge> edges = new ArrayList<>(m);
+        int previous = 0;
+        for (int i = 0; i < m; i++) {
+            long entry = readVarLong(in);
+            int child = (int) (previous + unzigzag(entry >>> 1));
+            if (child < 0 || child >= vertexCount || parent[child] < 0) {
+                throw new IOException("Corrupt edge order");
+            }
+            int up = parent[child];
+            edges.add((entry & 1) == 0
+                    ? new Edge(child, up, weight[child], names[child], names[up])
+                    : new Edge(up, child, weight[child], names[up], names[child]));
+            previous = child;
+        }
+        return builder.mstEdges(edges).build();
+    }
+
+    /**
+     * Roots each tree of the forest at its lowest vertex by BFS, recording every
+     * vertex's parent and parent edge, and the child endpoint of every edge.
+     */
+    private static void buildForest(List<Edge> edges, int vertexCount,
+                                    int[] parent, int[] parentEdge, int[] childOf) {
+        int m = edges.size();
+        int[] head = new int[vertexCount];
+        int[] next = new int[2 * m];
+        Arrays.fill(head, -1);
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            next[2 * i] = head[edge.getSource()];
+            head[edge.getSource()] = 2 * i;
+            next[2 * i + 1] = head[edge.getDestination()];
+            head[edge.getDestination()] = 2 * i + 1;
+        }
+
+        Arrays.fill(parent, -1);
+        boolean[] visited = new boolean[vertexCount];
+        int[] queue = new int[vertexCount];
+        int assigned = 0;
+        for (int root = 0; root < vertexCount; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            int queueHead = 0;
+            int queueTail = 0;
+            queue[queueTail++] = root;
+            while (queueHead < queueTail) {
+                int v = queue[queueHead++];
+                for (int slot = head[v]; slot >= 0; slot = next[slot]) {
+                    int e = slot >>> 1;
+                    if (e == parentEdge[v] && parent[v] >= 0) {
+                        continue;
+                    }
+                    Edge edge = edges.get(e);
+                    int u = (slot & 1) == 0 ? edge.getDestination() : edge.getSource();
+                    if (visited[u]) {
+                        throw new IllegalArgumentException("MST edges contain a cycle");
+                    }
+                    visited[u] = true;
+                    parent[u] = v;
+                    parentEdge[u] = e;
+                    childOf[e] = u;
+                    assigned++;
+                    queue[queueTail++] = u;
+                }
+            }
+        }
+        if (assigned != m) {
+            throw new IllegalArgumentException("MST edges do not form a forest");
+        }
+    }
+
+    private static void writeWeights(DataOutputStream out, double[] weights) throws IOException {
+        boolean integers = true;
+        boolean floats = true;
+        for (double w : weights) {
+            integers &= Math.abs(w) < 0x1p53 && sameBits((double) (long) w, w);
+            floats &= sameBits((float) w, w);
+        }
+        if (integers) {
+            out.writeByte(WEIGHTS_INTEGER);
+            for (double w : weights) {
+                writeSigned(out, (long) w);
+            }
+        } else if (floats) {
+            out.writeByte(WEIGHTS_FLOAT);
+            for (double w : weights) {
+                out.writeFloat((float) w);
+            }
+        } else {
+            out.writeByte(WEIGHTS_DOUBLE);
+            for (double w : weights) {
+                out.writeDouble(w);
+            }
+        }
+    }
+
+    private static double[] readWeights(DataInputStream in, int count) throws IOException {
+        double[] weights = new double[count];
+        int mode = in.readUnsignedByte();
+        for (int i = 0; i < count; i++) {
+            switch (mode) {
+                case WEIGHTS_INTEGER -> weights[i] = readSigned(in);
+                case WEIGHTS_FLOAT -> weights[i] = in.readFloat();
+                case WEIGHTS_DOUBLE -> weights[i] = in.readDouble();
+                default -> throw new IOException("Unknown weight mode " + mode);
+            }
+        }
+        return weights;
+    }
+
+    private static boolean sameBits(double a, double b) {
+        return Double.doubleToRawLongBits(a) == Double.doubleToRawLongBits(b);
+    }
+
+    /**
+     * Writes a nullable string as varint (UTF-8 length + 1), with 0 for null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeSigned(DataOutputStream out, long value) throws IOException {
+        writeVarLong(out, zigzag(value));
+    }
+
+    private static long readSigned(DataInputStream in) throws IOException {
+        return unzigzag(readVarLong(in));
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Count out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,86 @@
+package mst.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens input and output files through buffered file channels, with transparent gzip.
+ *
+ * Inputs are recognised as gzip by their header, whatever their name, and are
+ * inflated on a read-ahead thread so decompression overlaps with parsing. Outputs
+ * are compressed when the path ends in .gz.
+ */
+public final class FileStreams {
+
+    public static final String GZIP_EXTENSION = ".gz";
+
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final int READ_AHEAD_CHUNK = 1 << 18;
+    private static final int READ_AHEAD_DEPTH = 4;
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private FileStreams() {
+    }
+
+    public static InputStream openInput(String filePath) throws IOException {
+        InputStream in = new BufferedInputStream(
+                Channels.newInputStream(FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)),
+                BUFFER_SIZE);
+        try {
+            if (!isGzip(in)) {
+                return in;
+            }
+            return new ReadAheadInputStream(new GZIPInputStream(in, BUFFER_SIZE),
+                    READ_AHEAD_CHUNK, READ_AHEAD_DEPTH, "gzip-read-ahead " + filePath);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public static OutputStream openOutput(String filePath) throws IOException {
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(Paths.get(filePath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)),
+                BUFFER_SIZE);
+        if (!isCompressedPath(filePath)) {
+            return out;
+        }
+        try {
+            // Deflate into the buffered channel; the gzip buffer batches small writes from the generators
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    public static boolean isCompressedPath(String filePath) {
+        return filePath.endsWith(GZIP_EXTENSION);
+    }
+
+    /**
+     * Returns the path without a trailing .gz, e.g. to look at the real extension.
+     */
+    public static String stripCompression(String filePath) {
+        return isCompressedPath(filePath)
+                ? filePath.substring(0, filePath.length() - GZIP_EXTENSION.length())
+                : filePath;
+    }
+
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first >= 0 && second >= 0 && (first | (second << 8)) == GZIP_MAGIC;
+    }
+}
@@ -1,21 +1,41 @@
 package mst.io;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import mst.geometry.EuclideanGraphBuilder;
+import mst.jfr.GraphLoadEvent;
+import mst.jfr.MSTEvents;
+import mst.metrics.LatencyHistogram;
+import mst.metrics.MetricsRegistry;
+import mst.model.AdjacencyMatrix;
 import mst.model.Edge;
 import mst.model.Graph;
 import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
+import mst.model.WeightFormat;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 
 public class JSONHandler {
+    private static final LongAdder GRAPHS_LOADED = MetricsRegistry.getDefault().counter("graphs_loaded_total");
+    private static final LongAdder EDGES_LOADED = MetricsRegistry.getDefault().counter("edges_loaded_total");
+    private static final LongAdder RESULTS_WRITTEN = MetricsRegistry.getDefault().counter("results_written_total");
+    private static final LatencyHistogram GRAPH_LOAD = MetricsRegistry.getDefault().histogram("graph_load");
+
     private final ObjectMapper mapper;
 
     public JSONHandler() {
@@ -23,14 +43,205 @@ public class JSONHandler {
         this.mapper.enable(SerializationFeature.INDENT_OUTPUT);
     }
 
+    /**
+     * Reads graphs from a file; gzip-compressed files are inflated on the fly.
+     */
     public List<Graph> readGraphs(String filePath) throws IOException {
-        List<Graph> graphs = new ArrayList<>();
-        JsonNode root = mapper.readTree(new File(filePath));
+        try (InputStream in = FileStreams.openInput(filePath)) {
+            return readGraphs(in, filePath);
+        }
+    }
+
+    /**
+     * Reads graphs in the input.json schema from a stream, e.g. an HTTP request body.
+     *
+     * @param sourceName label recorded in load events in place of a file path
+     */
+    public List<Graph> readGraphs(InputStream in, String sourceName) throws IOException {
+        JsonNode root = mapper.readTree(in);
+        if (root == null) {
+            throw new IOException("Empty input from " + sourceName);
+        }
+        return parseGraphs(root, sourceName);
+    }
+
+    /**
+     * Reads graphs from a file straight into native memory for the off-heap engines;
+     * gzip-compressed files are inflated on the fly. Edge lists are streamed, so neither
+     * a Graph nor a JSON tree of the edges is built: a first pass over the file only
+     * counts each graph's edges, so every builder is sized exactly, and a second pass
+     * fills them. Within a graph "nodes" must come before "edges". Matrix and Euclidean
+     * graphs have no edge list and are parsed on the heap, then copied. Parallel edges
+     * are kept, since compacting them needs the edges on the heap. A fixed-point format
+     * must hold every weight exactly; FLOAT rounds them, so its totals are approximate.
+     *
+     * @throws IOException if the file cannot be read or does not fit this layout
+     * @throws IllegalArgumentException if a weight is not a whole number of fixed-point units
+     */
+    public List<OffHeapGraph> readOffHeapGraphs(String filePath, WeightFormat weightFormat) throws IOException {
+        List<Long> edgeCounts = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(FileStreams.openInput(filePath))) {
+            if (enterGraphsArray(parser)) {
+                while (nextGraph(parser)) {
+                    long edges = 0;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        if (parser.nextToken() == JsonToken.START_ARRAY && field.equals("edges")) {
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                parser.skipChildren();
+                                edges++;
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    edgeCounts.add(edges);
+                }
+            }
+        }
+
+        List<OffHeapGraph> graphs = new ArrayList<>(edgeCounts.size());
+        try (JsonParser parser = mapper.getFactory().createParser(FileStreams.openInput(filePath))) {
+            if (enterGraphsArray(parser)) {
+                while (nextGraph(parser)) {
+                    GraphLoadEvent loadEvent = new GraphLoadEvent();
+                    loadEvent.begin();
+                    long startNanos = System.nanoTime();
+                    OffHeapGraph graph = parseOffHeapGraph(parser, edgeCounts.get(graphs.size()), weightFormat);
+                    graphs.add(graph);
+                    GRAPH_LOAD.record(System.nanoTime() - startNanos);
+                    GRAPHS_LOADED.increment();
+                    EDGES_LOADED.add(graph.getEdgeCount());
+                    MSTEvents.commitGraphLoad(loadEvent, filePath, graph);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            graphs.forEach(OffHeapGraph::close);
+            throw e;
+        }
+        return graphs;
+    }
+
+    /**
+     * Moves the parser into the root's "graphs" array; returns false if there is none.
+     */
+    private static boolean enterGraphsArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object with a \"graphs\" array");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && field.equals("graphs")) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Advances to the next graph object of the "graphs" array; returns false at its end.
+     */
+    private static boolean nextGraph(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a graph object, found " + token);
+        }
+        return true;
+    }
+
+    /**
+     * Reads one graph object, streaming its edge list into native memory. All other
+     * fields are kept as a small tree for the id, the name and the node names.
+     */
+    private OffHeapGraph parseOffHeapGraph(JsonParser parser, long edgeCapacity, WeightFormat weightFormat)
+            throws IOException {
+        ObjectNode fields = mapper.createObjectNode();
+        OffHeapGraph.Builder builder = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY || !field.equals("edges")) {
+                fields.set(field, mapper.readTree(parser));
+                continue;
+            }
+            if (!fields.has("nodes")) {
+                throw new IOException("Graph " + fields.path("id").asInt() + ": \"nodes\" must come before \"edges\"");
+            }
+            List<String> nodeNames = new ArrayList<>();
+            for (JsonNode nodeNode : fields.get("nodes")) {
+                nodeNames.add(nodeNode.isObject() ? nodeNode.path("name").asText() : nodeNode.asText());
+            }
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < nodeNames.size(); i++) {
+                index.put(nodeNames.get(i), i);
+            }
+            builder = new OffHeapGraph.Builder(nodeNames.size(), edgeCapacity, weightFormat).nodeNames(nodeNames);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String from = null;
+                String to = null;
+                double weight = 0.0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.getCurrentName();
+                    parser.nextToken();
+                    if (key.equals("from")) {
+                        from = parser.getValueAsString();
+                    } else if (key.equals("to")) {
+                        to = parser.getValueAsString();
+                    } else if (key.equals("weight")) {
+                        weight = parser.getValueAsDouble();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                Integer source = index.get(from);
+                Integer destination = index.get(to);
+                if (source == null || destination == null) {
+                    throw new IllegalArgumentException("Invalid node name: " + from + " or " + to);
+                }
+                builder.addEdge(source, destination, checkWeight(weight, weightFormat));
+            }
+        }
+
+        int id = fields.has("id") ? fields.get("id").asInt() : 0;
+        String name = fields.has("name") ? fields.get("name").asText() : "Graph " + id;
+        if (builder == null) {
+            // No edge list: matrix or Euclidean input, whose size depends on the vertex count only
+            Graph graph = parseGraph(fields);
+            for (int i = 0; i < graph.getEdgeCount(); i++) {
+                checkWeight(graph.getEdge(i).getWeight(), weightFormat);
+            }
+            return OffHeapGraph.copyOf(graph, weightFormat);
+        }
+        return builder.name(name).graphId(id).build();
+    }
+
+    /**
+     * Returns the weight, refusing ones a fixed-point format would round.
+     */
+    private static double checkWeight(double weight, WeightFormat weightFormat) {
+        if (weightFormat.getKind() == WeightFormat.Kind.FIXED_POINT && !weightFormat.isExact(weight)) {
+            throw new IllegalArgumentException("Weight " + weight + " is not a whole number of 1/"
+                    + weightFormat.getScale() + " units within the int range; use a larger scale or double weights");
+        }
+        return weight;
+    }
 
+    private List<Graph> parseGraphs(JsonNode root, String source) {
+        List<Graph> graphs = new ArrayList<>();
         JsonNode graphsNode = root.get("graphs");
         if (graphsNode != null && graphsNode.isArray()) {
             for (JsonNode graphNode : graphsNode) {
+                GraphLoadEvent loadEvent = new GraphLoadEvent();
+                loadEvent.begin();
+                long startNanos = System.nanoTime();
                 Graph graph = parseGraph(graphNode);
+                GRAPH_LOAD.record(System.nanoTime() - startNanos);
+                GRAPHS_LOADED.increment();
+                EDGES_LOADED.add(graph.getInputEdgeCount());
+                MSTEvents.commitGraphLoad(loadEvent, source, graph);
                 graphs.add(graph);
             }
         }
@@ -41,16 +252,51 @@ public class JSONHandler {
     private Graph parseGraph(JsonNode graphNode) {
         int id = graphNode.has("id") ? graphNode.get("id").asInt() : 0;
 
-        // Read node names
+        // Read node names; nodes may also be objects carrying x/y coordinates
         List<String> nodeNames = new ArrayList<>();
         JsonNode nodesNode = graphNode.get("nodes");
+        boolean coordinates = nodesNode != null && nodesNode.isArray() && nodesNode.size() > 0;
         if (nodesNode != null && nodesNode.isArray()) {
-            for (JsonNode nodeNode : nodesNode) {
-                nodeNames.add(nodeNode.asText());
+            for (int i = 0; i < nodesNode.size(); i++) {
+                JsonNode nodeNode = nodesNode.get(i);
+                if (nodeNode.isObject()) {
+                    if (!nodeNode.hasNonNull("name")) {
+                        throw new IllegalArgumentException("Node " + i + " has no \"name\" field");
+                    }
+                    nodeNames.add(nodeNode.get("name").asText());
+                    coordinates &= nodeNode.has("x") && nodeNode.has("y");
+                } else {
+                    nodeNames.add(nodeNode.asText());
+                    coordinates = false;
+                }
             }
         }
 
-        Graph graph = new Graph(nodeNames);
+        JsonNode edgesNode = graphNode.get("edges");
+        boolean hasEdges = edgesNode != null && edgesNode.isArray();
+        JsonNode matrixNode = graphNode.get("matrix");
+
+        Graph graph;
+        if (!hasEdges && matrixNode != null && matrixNode.isArray()) {
+            // Dense form: one row of weights per node, null where there is no road
+            graph = parseMatrix(nodeNames, matrixNode);
+        } else if (coordinates) {
+            double[] x = new double[nodeNames.size()];
+            double[] y = new double[nodeNames.size()];
+            for (int i = 0; i < nodeNames.size(); i++) {
+                x[i] = nodesNode.get(i).get("x").asDouble();
+                y[i] = nodesNode.get(i).get("y").asDouble();
+            }
+            if (hasEdges) {
+                graph = new Graph(nodeNames);
+                graph.setCoordinates(x, y);
+            } else {
+                // Euclidean mode: connect every pair of sites implicitly via a sparse candidate set
+                graph = EuclideanGraphBuilder.build(nodeNames, x, y);
+            }
+        } else {
+            graph = new Graph(nodeNames);
+        }
         graph.setGraphId(id);
 
         // Set name if provided, otherwise use default
@@ -58,23 +304,53 @@ public class JSONHandler {
         graph.setName(name);
 
         // Read edges
-        JsonNode edgesNode = graphNode.get("edges");
-        if (edgesNode != null && edgesNode.isArray()) {
+        if (hasEdges) {
             for (JsonNode edgeNode : edgesNode) {
                 String from = edgeNode.get("from").asText();
                 String to = edgeNode.get("to").asText();
                 double weight = edgeNode.get("weight").asDouble();
                 graph.addEdge(from, to, weight);
             }
+            // Keep only the lightest road between each pair of districts before any solve
+            graph = graph.compacted();
         }
 
         return graph;
     }
 
+    private static Graph parseMatrix(List<String> nodeNames, JsonNode matrixNode) {
+        double[][] rows = new double[matrixNode.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            JsonNode rowNode = matrixNode.get(i);
+            rows[i] = new double[rowNode.size()];
+            for (int j = 0; j < rows[i].length; j++) {
+                JsonNode cell = rowNode.get(j);
+                rows[i][j] = cell.isNull() ? AdjacencyMatrix.NO_EDGE : cell.asDouble();
+            }
+        }
+        return Graph.fromAdjacencyMatrix(nodeNames, rows);
+    }
+
     /**
-     * Writes MST results to a JSON file matching the output format.
+     * Writes MST results to a JSON file matching the output format, gzip-compressed
+     * if the path ends in .gz.
      */
     public void writeResults(String filePath, List<ResultPair> results) throws IOException {
+        try (OutputStream out = FileStreams.openOutput(filePath)) {
+            writeResults(out, results);
+        }
+    }
+
+    /**
+     * Writes results in the output.json format to a stream, leaving it open.
+     */
+    public void writeResults(OutputStream out, List<ResultPair> results) throws IOException {
+        mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(out, toJson(results));
+        RESULTS_WRITTEN.add(results.size());
+    }
+
+    private ObjectNode toJson(List<ResultPair> results) {
         ObjectNode root = mapper.createObjectNode();
         ArrayNode resultsArray = mapper.createArrayNode();
 
@@ -89,18 +365,29 @@ public class JSONHandler {
             resultNode.set("input_stats", statsNode);
 
             // Prim's results
-            ObjectNode primNode = createAlgorithmResultNode(pair.primResult);
-            resultNode.set("prim", primNode);
+            if (pair.primResult != null) {
+                ObjectNode primNode = createAlgorithmResultNode(pair.primResult);
+                resultNode.set("prim", primNode);
+            }
 
             // Kruskal's results
-            ObjectNode kruskalNode = createAlgorithmResultNode(pair.kruskalResult);
-            resultNode.set("kruskal", kruskalNode);
+            if (pair.kruskalResult != null) {
+                ObjectNode kruskalNode = createAlgorithmResultNode(pair.kruskalResult);
+                resultNode.set("kruskal", kruskalNode);
+            }
+
+            // Single engine picked by the selector
+            if (pair.selectedResult != null) {
+                ObjectNode selectedNode = createAlgorithmResultNode(pair.selectedResult);
+                selectedNode.put("algorithm", pair.selectedResult.getAlgorithmName());
+                resultNode.set("selected", selectedNode);
+            }
 
             resultsArray.add(resultNode);
         }
 
         root.set("results", resultsArray);
-        mapper.writeValue(new File(filePath), root);
+        return root;
     }
 
     private ObjectNode createAlgorithmResultNode(MSTResult result) {
@@ -126,12 +413,26 @@ public class JSONHandler {
         node.put("total_cost", Math.round(result.getTotalCost()));
         node.put("operations_count", result.getOperationCount());
         node.put("execution_time_ms", result.getExecutionTimeMs());
+        if (!result.isComplete()) {
+            node.put("complete", false);
+            node.put("message", result.getMessage());
+        }
+        if (result.getFrontier() != null) {
+            node.put("frontier", result.getFrontier());
+        }
+        if (result.getAllocatedBytes() >= 0) {
+            node.put("allocated_bytes", result.getAllocatedBytes());
+        }
+        if (result.getGraphRetainedBytes() >= 0) {
+            node.put("graph_retained_bytes", result.getGraphRetainedBytes());
+        }
 
         return node;
     }
 
     /**
      * Helper class to pair Prim and Kruskal results for the same graph.
+     * In auto mode only selectedResult is set.
      */
     public static class ResultPair {
         public int graphId;
@@ -140,6 +441,7 @@ public class JSONHandler {
         public int edgeCount;
         public MSTResult primResult;
         public MSTResult kruskalResult;
+        public MSTResult selectedResult;
 
         public ResultPair(int graphId, String graphName, int vertexCount, int edgeCount,
                           MSTResult primResult, MSTResult kruskalResult) {
@@ -150,5 +452,11 @@ public class JSONHandler {
             this.primResult = primResult;
             this.kruskalResult = kruskalResult;
         }
+
+        public ResultPair(int graphId, String graphName, int vertexCount, int edgeCount,
+                          MSTResult selectedResult) {
+            this(graphId, graphName, vertexCount, edgeCount, null, null);
+            this.selectedResult = selectedResult;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package mst.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a source stream on a background thread into a small queue of chunks, so
+ * that producing the bytes (disk reads, inflating gzip) overlaps with whatever the
+ * caller does with them (parsing). A failure of the source is rethrown from the
+ * read that reaches it.
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> chunks;
+    private final Thread producer;
+    private volatile IOException failure;
+    private byte[] current = new byte[0];
+    private int position;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * @param chunkSize bytes handed over per queue entry
+     * @param depth     chunks the producer may run ahead of the reader
+     */
+    ReadAheadInputStream(InputStream source, int chunkSize, int depth, String threadName) {
+        this.chunks = new ArrayBlockingQueue<>(depth);
+        this.producer = new Thread(() -> produce(source, chunkSize), threadName);
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    private void produce(InputStream source, int chunkSize) {
+        try (source) {
+            while (true) {
+                byte[] chunk = new byte[chunkSize];
+                int length = source.readNBytes(chunk, 0, chunkSize);
+                if (length > 0) {
+                    chunks.put(length == chunkSize ? chunk : Arrays.copyOf(chunk, length));
+                }
+                if (length < chunkSize) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            // Reader closed the stream; nobody is waiting for the end marker
+            return;
+        }
+        try {
+            chunks.put(END);
+        } catch (InterruptedException e) {
+            // Closed while handing over the end marker
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    /**
+     * Makes sure the current chunk has unread bytes; returns false at end of stream.
+     */
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (position == current.length) {
+            if (finished) {
+                return false;
+            }
+            try {
+                current = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for input");
+            }
+            position = 0;
+            if (current == END) {
+                finished = true;
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+        chunks.clear();
+    }
+}
@@ -0,0 +1,29 @@
+package mst.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the connectivity check an algorithm runs before solving.
+ */
+@Name("mst.ConnectivityCheck")
+@Label("MST Connectivity Check")
+@Category({"MST", "Solve"})
+@Description("Breadth-first connectivity check performed before an MST solve")
+public class ConnectivityCheckEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithmName;
+
+    @Label("Vertex Count")
+    public int vertexCount;
+
+    @Label("Edge Count")
+    public int edgeCount;
+
+    @Label("Connected")
+    public boolean connected;
+}
@@ -0,0 +1,32 @@
+package mst.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted by JSONHandler for every graph parsed from an input file.
+ */
+@Name("mst.GraphLoad")
+@Label("MST Graph Load")
+@Category({"MST", "I/O"})
+@Description("Parsing of a single graph from a JSON input file")
+public class GraphLoadEvent extends Event {
+
+    @Label("Source File")
+    public String sourceFile;
+
+    @Label("Graph ID")
+    public int graphId;
+
+    @Label("Graph Name")
+    public String graphName;
+
+    @Label("Vertex Count")
+    public int vertexCount;
+
+    @Label("Edge Count")
+    public int edgeCount;
+}
@@ -0,0 +1,130 @@
+package mst.jfr;
+
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
+
+/**
+ * Helpers for filling and committing MST events.
+ * Fields are only populated after shouldCommit(), so a disabled event costs
+ * little more than the begin/end timestamps (which the JIT removes entirely
+ * when the event type is not enabled).
+ */
+public final class MSTEvents {
+
+    private MSTEvents() {
+    }
+
+    /**
+     * Runs graph.isConnected() inside a ConnectivityCheckEvent.
+     */
+    public static boolean checkConnected(String algorithmName, Graph graph) {
+        return checkConnected(algorithmName, graph, new boolean[graph.getVertices()], new int[graph.getVertices()]);
+    }
+
+    /**
+     * Runs graph.isConnected(visited, queue) inside a ConnectivityCheckEvent.
+     */
+    public static boolean checkConnected(String algorithmName, Graph graph, boolean[] visited, int[] queue) {
+        ConnectivityCheckEvent event = new ConnectivityCheckEvent();
+        event.begin();
+        boolean connected = graph.isConnected(visited, queue);
+        commitConnectivity(event, algorithmName, graph.getVertices(), graph.getEdgeCount(), connected);
+        return connected;
+    }
+
+    /**
+     * Runs graph.isConnected() on an off-heap graph inside a ConnectivityCheckEvent.
+     */
+    public static boolean checkConnected(String algorithmName, OffHeapGraph graph) {
+        ConnectivityCheckEvent event = new ConnectivityCheckEvent();
+        event.begin();
+        boolean connected = graph.isConnected();
+        commitConnectivity(event, algorithmName, graph.getVertices(), graph.getEdgeCount(), connected);
+        return connected;
+    }
+
+    private static void commitConnectivity(ConnectivityCheckEvent event, String algorithmName,
+                                           int vertices, long edges, boolean connected) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithmName = algorithmName;
+            event.vertexCount = vertices;
+            event.edgeCount = clampEdges(edges);
+            event.connected = connected;
+            event.commit();
+        }
+    }
+
+    public static void commitPhase(SolvePhaseEvent event, String algorithmName, String phase,
+                                   Graph graph, long operationCount) {
+        commitPhase(event, algorithmName, phase, graph.getVertices(), graph.getEdgeCount(), operationCount);
+    }
+
+    public static void commitPhase(SolvePhaseEvent event, String algorithmName, String phase,
+                                   OffHeapGraph graph, long operationCount) {
+        commitPhase(event, algorithmName, phase, graph.getVertices(), graph.getEdgeCount(), operationCount);
+    }
+
+    private static void commitPhase(SolvePhaseEvent event, String algorithmName, String phase,
+                                    int vertices, long edges, long operationCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithmName = algorithmName;
+            event.phase = phase;
+            event.vertexCount = vertices;
+            event.edgeCount = clampEdges(edges);
+            event.operationCount = operationCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Ends and commits the solve event, returning the result so callers can
+     * wrap their return statement.
+     */
+    public static MSTResult commitSolve(SolveEvent event, MSTResult result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithmName = result.getAlgorithmName();
+            event.vertexCount = result.getVertexCount();
+            event.edgeCount = result.getEdgeCount();
+            event.mstEdgeCount = result.getMstEdges() != null ? result.getMstEdges().size() : 0;
+            event.totalCost = result.getTotalCost();
+            event.operationCount = result.getOperationCount();
+            event.success = result.isSuccess();
+            event.commit();
+        }
+        return result;
+    }
+
+    public static void commitGraphLoad(GraphLoadEvent event, String sourceFile, Graph graph) {
+        commitGraphLoad(event, sourceFile, graph.getGraphId(), graph.getName(), graph.getVertices(),
+                graph.getEdgeCount());
+    }
+
+    public static void commitGraphLoad(GraphLoadEvent event, String sourceFile, OffHeapGraph graph) {
+        commitGraphLoad(event, sourceFile, graph.getGraphId(), graph.getName(), graph.getVertices(),
+                graph.getEdgeCount());
+    }
+
+    private static void commitGraphLoad(GraphLoadEvent event, String sourceFile, int graphId, String graphName,
+                                        int vertices, long edges) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sourceFile = sourceFile;
+            event.graphId = graphId;
+            event.graphName = graphName;
+            event.vertexCount = vertices;
+            event.edgeCount = clampEdges(edges);
+            event.commit();
+        }
+    }
+
+    /**
+     * Event fields are ints; off-heap graphs may hold more edges than that.
+     */
+    private static int clampEdges(long edges) {
+        return (int) Math.min(edges, Integer.MAX_VALUE);
+    }
+}
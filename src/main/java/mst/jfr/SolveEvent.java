@@ -0,0 +1,38 @@
+package mst.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a complete findMST call, committed when the result is built.
+ */
+@Name("mst.Solve")
+@Label("MST Solve")
+@Category({"MST", "Solve"})
+@Description("A complete MST solve from connectivity check to result")
+public class SolveEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithmName;
+
+    @Label("Vertex Count")
+    public int vertexCount;
+
+    @Label("Edge Count")
+    public int edgeCount;
+
+    @Label("MST Edge Count")
+    public int mstEdgeCount;
+
+    @Label("Total Cost")
+    public double totalCost;
+
+    @Label("Operation Count")
+    public long operationCount;
+
+    @Label("Success")
+    public boolean success;
+}
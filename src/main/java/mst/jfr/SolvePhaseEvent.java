@@ -0,0 +1,36 @@
+package mst.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the dominant phase of a solve: the edge sort in Kruskal
+ * or the priority-queue loop in Prim.
+ */
+@Name("mst.SolvePhase")
+@Label("MST Solve Phase")
+@Category({"MST", "Solve"})
+@Description("Sort or heap phase inside an MST algorithm")
+public class SolvePhaseEvent extends Event {
+
+    public static final String PHASE_SORT = "sort";
+    public static final String PHASE_HEAP = "heap";
+
+    @Label("Algorithm")
+    public String algorithmName;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Vertex Count")
+    public int vertexCount;
+
+    @Label("Edge Count")
+    public int edgeCount;
+
+    @Label("Operation Count")
+    public long operationCount;
+}
@@ -0,0 +1,417 @@
+package mst.kernel;
+
+import mst.model.Edge;
+import mst.model.EdgePairIndex;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.unionfind.DisjointSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shrinks a connected graph to a kernel whose MST, together with a set of forced
+ * edges, is an MST of the original graph.
+ *
+ * Reductions, in order:
+ * <ul>
+ *   <li>self-loops are dropped and only the lightest of parallel edges is kept;</li>
+ *   <li>bridges (found with one iterative DFS) lie on every spanning tree, so they
+ *       are forced and their endpoints contracted;</li>
+ *   <li>a degree-1 vertex forces its only edge;</li>
+ *   <li>a degree-2 vertex forces the lighter of its two edges, since that edge is
+ *       the lightest crossing the cut around the vertex. The heavier edge is then
+ *       an edge between the two neighbours and may merge with an existing one.</li>
+ * </ul>
+ * The last two rules repeat until every remaining vertex has degree three or more,
+ * which collapses spurs and chains. expand() maps a result on the kernel back to
+ * the original Edge objects.
+ */
+public final class GraphKernel {
+
+    private final Graph original;
+    private final Graph reduced;
+    private final int[] forcedEdges;
+    private final EdgePairIndex reducedToOriginal;
+    private final long operationCount;
+    private final long reductionTimeMs;
+
+    private GraphKernel(Graph original, Graph reduced, int[] forcedEdges,
+                        EdgePairIndex reducedToOriginal, long operationCount, long reductionTimeMs) {
+        this.original = original;
+        this.reduced = reduced;
+        this.forcedEdges = forcedEdges;
+        this.reducedToOriginal = reducedToOriginal;
+        this.operationCount = operationCount;
+        this.reductionTimeMs = reductionTimeMs;
+    }
+
+    /**
+     * Reduces a connected graph. Disconnected graphs are not supported because the
+     * forced-edge rules assume every vertex must be spanned.
+     */
+    public static GraphKernel reduce(Graph graph) {
+        long startTime = System.currentTimeMillis();
+        return new Reducer(graph).run(startTime);
+    }
+
+    public Graph getOriginalGraph() {
+        return original;
+    }
+
+    /**
+     * Returns the kernel to hand to an engine; its edges are new Edge objects.
+     */
+    public Graph getReducedGraph() {
+        return reduced;
+    }
+
+    /**
+     * Returns how many original edges the reductions put into the tree directly.
+     */
+    public int getForcedEdgeCount() {
+        return forcedEdges.length;
+    }
+
+    /**
+     * Returns the work spent on the reductions, in the same units as the engines' operation counts.
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Turns a result computed on the reduced graph into one over the original graph:
+     * forced edges plus the original edge behind each kernel edge, in input order.
+     * Operation counts and times include the reduction.
+     */
+    public MSTResult expand(MSTResult kernelResult) {
+        MSTResult.Builder builder = new MSTResult.Builder()
+                .algorithmName(kernelResult.getAlgorithmName())
+                .vertexCount(original.getVertices())
+                .edgeCount(original.getEdgeCount())
+                .operationCount(operationCount + kernelResult.getOperationCount())
+                .executionTimeMs(reductionTimeMs + kernelResult.getExecutionTimeMs())
+                .frontier(kernelResult.getFrontier())
+                .success(kernelResult.isSuccess())
+                .complete(kernelResult.isComplete())
+                .message(kernelResult.getMessage());
+        if (!kernelResult.isSuccess()) {
+            return builder.build();
+        }
+
+        List<Edge> kernelEdges = kernelResult.getMstEdges();
+        int[] chosen = Arrays.copyOf(forcedEdges, forcedEdges.length + kernelEdges.size());
+        int count = forcedEdges.length;
+        for (Edge edge : kernelEdges) {
+            chosen[count++] = reducedToOriginal.get(EdgePairIndex.key(edge.getSource(), edge.getDestination()));
+        }
+        Arrays.sort(chosen, 0, count);
+
+        List<Edge> mstEdges = new ArrayList<>(count);
+        double totalCost = 0.0;
+        for (int i = 0; i < count; i++) {
+            Edge edge = original.getEdge(chosen[i]);
+            mstEdges.add(edge);
+            totalCost += edge.getWeight();
+        }
+        return builder.mstEdges(mstEdges).totalCost(totalCost).build();
+    }
+
+    /**
+     * Working state for one reduction. Edges live in parallel arrays indexed by a
+     * working id; vertices keep their original index until the kernel is emitted.
+     */
+    private static final class Reducer {
+
+        private final Graph graph;
+        private final int vertices;
+
+        private final int[] edgeU;
+        private final int[] edgeV;
+        private final double[] edgeWeight;
+        private final int[] edgeOrigin;
+        private final boolean[] alive;
+        private int edgeCount;
+
+        private final int[] forced;
+        private int forcedCount;
+        private long operations;
+
+        Reducer(Graph graph) {
+            this.graph = graph;
+            this.vertices = graph.getVertices();
+            // Each eliminated degree-2 vertex adds at most one edge
+            int capacity = graph.getEdgeCount() + vertices;
+            edgeU = new int[capacity];
+            edgeV = new int[capacity];
+            edgeWeight = new double[capacity];
+            edgeOrigin = new int[capacity];
+            alive = new boolean[capacity];
+            forced = new int[Math.max(vertices - 1, 0)];
+        }
+
+        GraphKernel run(long startTime) {
+            loadSimpleEdges();
+            int[] representative = contractBridges();
+            boolean[] removed = eliminateLowDegree(representative);
+            return emit(removed, startTime);
+        }
+
+        /**
+         * Copies the graph's edges, dropping self-loops and all but the lightest parallel edge.
+         */
+        private void loadSimpleEdges() {
+            int m = graph.getEdgeCount();
+            EdgePairIndex pairs = new EdgePairIndex(m);
+            for (int i = 0; i < m; i++) {
+                operations++;
+                Edge edge = graph.getEdge(i);
+                int u = edge.getSource();
+                int v = edge.getDestination();
+                if (u == v) continue;
+                int existing = pairs.putIfAbsent(EdgePairIndex.key(u, v), edgeCount);
+                if (existing < 0) {
+                    addEdge(u, v, edge.getWeight(), i);
+                } else if (edge.getWeight() < edgeWeight[existing]) {
+                    edgeWeight[existing] = edge.getWeight();
+                    edgeOrigin[existing] = i;
+                }
+            }
+        }
+
+        private int addEdge(int u, int v, double weight, int origin) {
+            int id = edgeCount++;
+            edgeU[id] = u;
+            edgeV[id] = v;
+            edgeWeight[id] = weight;
+            edgeOrigin[id] = origin;
+            alive[id] = true;
+            return id;
+        }
+
+        private void force(int id) {
+            forced[forcedCount++] = edgeOrigin[id];
+            alive[id] = false;
+        }
+
+        /**
+         * Finds bridges with an iterative low-link DFS, forces them and returns the
+         * contracted representative of every vertex.
+         */
+        private int[] contractBridges() {
+            int[] offsets = new int[vertices + 1];
+            for (int id = 0; id < edgeCount; id++) {
+                offsets[edgeU[id] + 1]++;
+                offsets[edgeV[id] + 1]++;
+            }
+            for (int v = 0; v < vertices; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] incident = new int[2 * edgeCount];
+            int[] fill = Arrays.copyOf(offsets, vertices);
+            for (int id = 0; id < edgeCount; id++) {
+                incident[fill[edgeU[id]]++] = id;
+                incident[fill[edgeV[id]]++] = id;
+            }
+
+            int[] discovery = new int[vertices];
+            int[] low = new int[vertices];
+            int[] parentEdge = new int[vertices];
+            int[] cursor = new int[vertices];
+            int[] stack = new int[vertices];
+            Arrays.fill(discovery, -1);
+            DisjointSet contracted = new DisjointSet(vertices);
+            int time = 0;
+
+            for (int root = 0; root < vertices; root++) {
+                if (discovery[root] >= 0) continue;
+                int top = 0;
+                stack[top++] = root;
+                discovery[root] = low[root] = time++;
+                parentEdge[root] = -1;
+                cursor[root] = offsets[root];
+
+                while (top > 0) {
+                    int v = stack[top - 1];
+                    if (cursor[v] < offsets[v + 1]) {
+                        int id = incident[cursor[v]++];
+                        operations++;
+                        if (id == parentEdge[v]) continue;
+                        int w = edgeU[id] == v ? edgeV[id] : edgeU[id];
+                        if (discovery[w] < 0) {
+                            discovery[w] = low[w] = time++;
+                            parentEdge[w] = id;
+                            cursor[w] = offsets[w];
+                            stack[top++] = w;
+                        } else {
+                            low[v] = Math.min(low[v], discovery[w]);
+                        }
+                    } else {
+                        top--;
+                        int id = parentEdge[v];
+                        if (id >= 0) {
+                            int parent = stack[top - 1];
+                            low[parent] = Math.min(low[parent], low[v]);
+                            if (low[v] > discovery[parent]) {
+                                force(id);
+                                contracted.union(parent, v);
+                            }
+                        }
+                    }
+                }
+            }
+
+            int[] representative = new int[vertices];
+            for (int v = 0; v < vertices; v++) {
+                representative[v] = contracted.find(v);
+            }
+            // Contracting bridges cannot create loops or parallel edges: either would
+            // close a cycle through a bridge
+            for (int id = 0; id < edgeCount; id++) {
+                if (!alive[id]) continue;
+                edgeU[id] = representative[edgeU[id]];
+                edgeV[id] = representative[edgeV[id]];
+            }
+            return representative;
+        }
+
+        /**
+         * Repeatedly removes vertices of degree one or two until none are left or a
+         * single vertex remains. Returns the removed flags.
+         */
+        private boolean[] eliminateLowDegree(int[] representative) {
+            int[] degree = new int[vertices];
+            int[][] incident = new int[vertices][];
+            int[] incidentSize = new int[vertices];
+            for (int id = 0; id < edgeCount; id++) {
+                if (!alive[id]) continue;
+                degree[edgeU[id]]++;
+                degree[edgeV[id]]++;
+            }
+            EdgePairIndex pairs = new EdgePairIndex(edgeCount);
+            for (int v = 0; v < vertices; v++) {
+                incident[v] = new int[Math.max(degree[v], 2)];
+            }
+            for (int id = 0; id < edgeCount; id++) {
+                if (!alive[id]) continue;
+                appendIncident(incident, incidentSize, edgeU[id], id);
+                appendIncident(incident, incidentSize, edgeV[id], id);
+                pairs.put(EdgePairIndex.key(edgeU[id], edgeV[id]), id);
+            }
+
+            boolean[] removed = new boolean[vertices];
+            int active = 0;
+            // Every elimination lowers at most two degrees, so each vertex is queued at most three times
+            int[] queue = new int[3 * vertices + 1];
+            int head = 0;
+            int tail = 0;
+            for (int v = 0; v < vertices; v++) {
+                if (representative[v] != v) {
+                    removed[v] = true;
+                    continue;
+                }
+                active++;
+                if (degree[v] <= 2) {
+                    queue[tail++] = v;
+                }
+            }
+
+            int[] pair = new int[2];
+            while (head < tail && active > 1) {
+                int v = queue[head++];
+                if (removed[v] || degree[v] > 2 || degree[v] == 0) continue;
+
+                int found = 0;
+                for (int i = 0; i < incidentSize[v] && found < degree[v]; i++) {
+                    operations++;
+                    int id = incident[v][i];
+                    if (alive[id]) {
+                        pair[found++] = id;
+                    }
+                }
+
+                removed[v] = true;
+                active--;
+                if (degree[v] == 1) {
+                    int other = opposite(pair[0], v);
+                    force(pair[0]);
+                    if (--degree[other] <= 2) {
+                        queue[tail++] = other;
+                    }
+                    continue;
+                }
+
+                int light = edgeWeight[pair[1]] < edgeWeight[pair[0]] ? pair[1] : pair[0];
+                int heavy = light == pair[0] ? pair[1] : pair[0];
+                int a = opposite(light, v);
+                int b = opposite(heavy, v);
+                force(light);
+                alive[heavy] = false;
+
+                // Contract the light edge: the heavy one now joins a and b directly
+                long key = EdgePairIndex.key(a, b);
+                int existing = pairs.get(key);
+                if (existing >= 0 && alive[existing]) {
+                    if (edgeWeight[heavy] < edgeWeight[existing]) {
+                        edgeWeight[existing] = edgeWeight[heavy];
+                        edgeOrigin[existing] = edgeOrigin[heavy];
+                    }
+                    if (--degree[a] <= 2) {
+                        queue[tail++] = a;
+                    }
+                    if (--degree[b] <= 2) {
+                        queue[tail++] = b;
+                    }
+                } else {
+                    int id = addEdge(a, b, edgeWeight[heavy], edgeOrigin[heavy]);
+                    appendIncident(incident, incidentSize, a, id);
+                    appendIncident(incident, incidentSize, b, id);
+                    pairs.put(key, id);
+                }
+            }
+            return removed;
+        }
+
+        private int opposite(int id, int v) {
+            return edgeU[id] == v ? edgeV[id] : edgeU[id];
+        }
+
+        private static void appendIncident(int[][] incident, int[] incidentSize, int v, int id) {
+            if (incidentSize[v] == incident[v].length) {
+                incident[v] = Arrays.copyOf(incident[v], incident[v].length * 2);
+            }
+            incident[v][incidentSize[v]++] = id;
+        }
+
+        /**
+         * Builds the kernel over the surviving vertices, keeping their original names.
+         */
+        private GraphKernel emit(boolean[] removed, long startTime) {
+            int[] kernelIndex = new int[vertices];
+            List<String> names = new ArrayList<>();
+            int kernelVertices = 0;
+            for (int v = 0; v < vertices; v++) {
+                if (removed[v]) continue;
+                kernelIndex[v] = kernelVertices++;
+                names.add(graph.getNodeName(v));
+            }
+
+            Graph kernel = graph.getNodeNames().isEmpty() ? new Graph(kernelVertices) : new Graph(names);
+            kernel.setName(graph.getName());
+            kernel.setGraphId(graph.getGraphId());
+            EdgePairIndex origins = new EdgePairIndex(edgeCount);
+            for (int id = 0; id < edgeCount; id++) {
+                if (!alive[id]) continue;
+                int u = kernelIndex[edgeU[id]];
+                int v = kernelIndex[edgeV[id]];
+                kernel.addEdge(u, v, edgeWeight[id]);
+                origins.put(EdgePairIndex.key(u, v), edgeOrigin[id]);
+            }
+
+            return new GraphKernel(graph, kernel, Arrays.copyOf(forced, forcedCount), origins,
+                    operations, System.currentTimeMillis() - startTime);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package mst.kernel;
+
+import mst.algorithm.MSTAlgorithm;
+import mst.algorithm.SolveControl;
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+/**
+ * Runs another engine on the GraphKernel of each input and expands its result
+ * back to the original edges. Disconnected graphs go to the engine unchanged so
+ * it reports them the usual way.
+ */
+public class KernelizedAlgorithm implements MSTAlgorithm {
+
+    private final MSTAlgorithm delegate;
+
+    public KernelizedAlgorithm(MSTAlgorithm delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph, SolveControl.NONE);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph, SolveControl control) {
+        if (!graph.isConnected()) {
+            return delegate.findMST(graph, control);
+        }
+        GraphKernel kernel = GraphKernel.reduce(graph);
+        return kernel.expand(delegate.findMST(kernel.getReducedGraph(), control));
+    }
+
+    /**
+     * Reports the wrapped engine's name so results stay comparable with unreduced runs.
+     */
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    public MSTAlgorithm getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,101 @@
+package mst.metrics;
+
+import mst.model.MSTResult;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Solve counters and latency histogram of one engine. Recording only touches
+ * LongAdders and a striped histogram, so solvers on many threads do not contend.
+ */
+public final class EngineMetrics implements EngineMetricsMXBean {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final String engine;
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder edges = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    EngineMetrics(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Records a finished solve over a graph with the given number of input edges.
+     * Unsuccessful results (disconnected input) count as failures.
+     */
+    public void recordSolve(MSTResult result, long edgeCount, long elapsedNanos) {
+        solves.increment();
+        if (!result.isSuccess()) {
+            failures.increment();
+        }
+        edges.add(edgeCount);
+        nanos.add(elapsedNanos);
+        latency.record(elapsedNanos);
+    }
+
+    @Override
+    public String getEngine() {
+        return engine;
+    }
+
+    @Override
+    public long getSolveCount() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getEdgeCount() {
+        return edges.sum();
+    }
+
+    public long getTotalNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * Input edges processed per second of solve time, 0 before the first solve.
+     */
+    @Override
+    public double getEdgesPerSecond() {
+        long total = nanos.sum();
+        return total == 0 ? 0.0 : edges.sum() * 1e9 / total;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public double getMeanLatencyMs() {
+        return latency.snapshot().getMean() / NANOS_PER_MS;
+    }
+
+    @Override
+    public double getP50LatencyMs() {
+        return latency.snapshot().getValueAtPercentile(50) / NANOS_PER_MS;
+    }
+
+    @Override
+    public double getP99LatencyMs() {
+        return latency.snapshot().getValueAtPercentile(99) / NANOS_PER_MS;
+    }
+
+    @Override
+    public double getP999LatencyMs() {
+        return latency.snapshot().getValueAtPercentile(99.9) / NANOS_PER_MS;
+    }
+
+    @Override
+    public double getMaxLatencyMs() {
+        return latency.snapshot().getMax() / NANOS_PER_MS;
+    }
+}
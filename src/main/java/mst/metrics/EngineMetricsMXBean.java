@@ -0,0 +1,27 @@
+package mst.metrics;
+
+/**
+ * JMX view of one engine's solve metrics. Latencies are in milliseconds.
+ */
+public interface EngineMetricsMXBean {
+
+    String getEngine();
+
+    long getSolveCount();
+
+    long getFailureCount();
+
+    long getEdgeCount();
+
+    double getEdgesPerSecond();
+
+    double getMeanLatencyMs();
+
+    double getP50LatencyMs();
+
+    double getP99LatencyMs();
+
+    double getP999LatencyMs();
+
+    double getMaxLatencyMs();
+}
@@ -0,0 +1,157 @@
+package mst.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram, without the dependency.
+ *
+ * Values below 32 get a bucket each; above that every power of two is split into
+ * 16 linear sub-buckets, so a reported value is within 1/16 (6.25%) of what was
+ * recorded across the whole long range in 960 buckets. Counts are striped over
+ * several arrays picked by thread id so concurrent solvers rarely touch the same
+ * cache line; readers sum the stripes.
+ */
+public final class LatencyHistogram {
+
+    private static final int EXACT_LIMIT = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LOWEST_EXPONENT = 5;
+    static final int BUCKET_COUNT = EXACT_LIMIT + (63 - LOWEST_EXPONENT) * SUB_BUCKETS;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1));
+        stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records one value, typically a duration in nanoseconds. Negative values count as 0.
+     */
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        long id = Thread.currentThread().getId();
+        int stripe = (int) (id ^ (id >>> 7)) & stripeMask;
+        stripes[stripe].getAndIncrement(bucketOf(clamped));
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    static int bucketOf(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return EXACT_LIMIT + (exponent - LOWEST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int offset = bucket - EXACT_LIMIT;
+        int exponent = LOWEST_EXPONENT + offset / SUB_BUCKETS;
+        long top = SUB_BUCKETS + offset % SUB_BUCKETS;
+        return top << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int exponent = LOWEST_EXPONENT + (bucket - EXACT_LIMIT) / SUB_BUCKETS;
+        return lowestValueOf(bucket) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Returns a consistent copy of the bucket counts for percentile queries.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKET_COUNT; b++) {
+                long count = stripe.get(b);
+                counts[b] += count;
+                total += count;
+            }
+        }
+        return new Snapshot(counts, total, sum.sum(), max.get());
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKET_COUNT; b++) {
+                total += stripe.get(b);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Bucket counts frozen at one point in time. Sum and max are read separately
+     * from the buckets, so under concurrent recording they may be a few values ahead.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the highest value equivalent to the one at the given percentile
+         * (0-100], capped at the recorded maximum; 0 when nothing was recorded.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+            long seen = 0;
+            for (int b = 0; b < counts.length; b++) {
+                seen += counts[b];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(b), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package mst.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process metrics: per-engine solve metrics, named counters, latency histograms
+ * and gauges. The default registry is published on the platform MBean server
+ * under the "mst.metrics" domain; toPrometheus() renders everything in the
+ * Prometheus text exposition format.
+ *
+ * Counter names should end in "_total"; histograms are reported in seconds.
+ */
+public final class MetricsRegistry implements MetricsRegistryMXBean {
+
+    public static final String JMX_DOMAIN = "mst.metrics";
+    private static final String PREFIX = "mst_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+
+    private final MBeanServer mbeanServer;
+    private final Map<String, EngineMetrics> engines = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a private registry that is not published over JMX.
+     */
+    public MetricsRegistry() {
+        this(null);
+    }
+
+    private MetricsRegistry(MBeanServer mbeanServer) {
+        this.mbeanServer = mbeanServer;
+        register("type=Registry", this);
+    }
+
+    /**
+     * Returns the process-wide registry the engines and JSONHandler record into.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the metrics of the named engine, creating and publishing them on first use.
+     */
+    public EngineMetrics engine(String name) {
+        return engines.computeIfAbsent(name, key -> {
+            EngineMetrics metrics = new EngineMetrics(key);
+            register("type=Engine,name=" + ObjectName.quote(key), metrics);
+            return metrics;
+        });
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a gauge sampled whenever metrics are read, replacing any gauge of the same name.
+     */
+    public void registerGauge(String name, LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Removes the gauge only if it is still the given one, so a newer owner of the name keeps it.
+     */
+    public void removeGauge(String name, LongSupplier gauge) {
+        gauges.remove(name, gauge);
+    }
+
+    private void register(String properties, Object mbean) {
+        if (mbeanServer == null) {
+            return;
+        }
+        try {
+            mbeanServer.registerMBean(mbean, new ObjectName(JMX_DOMAIN + ":" + properties));
+        } catch (JMException e) {
+            // Metrics stay readable in-process; only the JMX view is missing
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public String getPrometheusText() {
+        return toPrometheus();
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        Map<String, EngineMetrics> sortedEngines = new TreeMap<>(engines);
+        if (!sortedEngines.isEmpty()) {
+            header(out, "solves_total", "counter", "Completed MST solves per engine.");
+            sortedEngines.forEach((name, m) -> sample(out, "solves_total", engineLabel(name), m.getSolveCount()));
+            header(out, "solve_failures_total", "counter", "Solves that found no spanning tree.");
+            sortedEngines.forEach((name, m) -> sample(out, "solve_failures_total", engineLabel(name), m.getFailureCount()));
+            header(out, "solve_edges_total", "counter", "Input edges processed by solves.");
+            sortedEngines.forEach((name, m) -> sample(out, "solve_edges_total", engineLabel(name), m.getEdgeCount()));
+            header(out, "solve_edges_per_second", "gauge", "Input edges per second of solve time.");
+            sortedEngines.forEach((name, m) -> sample(out, "solve_edges_per_second", engineLabel(name), m.getEdgesPerSecond()));
+            header(out, "solve_duration_seconds", "summary", "Solve latency.");
+            sortedEngines.forEach((name, m) -> summary(out, "solve_duration_seconds", engineLabel(name),
+                    m.getLatency().snapshot()));
+        }
+        new TreeMap<>(counters).forEach((name, counter) -> {
+            header(out, name, "counter", null);
+            sample(out, name, "", counter.sum());
+        });
+        new TreeMap<>(histograms).forEach((name, histogram) -> {
+            String metric = name + "_seconds";
+            header(out, metric, "summary", null);
+            summary(out, metric, "", histogram.snapshot());
+        });
+        new TreeMap<>(gauges).forEach((name, gauge) -> {
+            header(out, name, "gauge", null);
+            sample(out, name, "", gauge.getAsLong());
+        });
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        if (help != null) {
+            out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        }
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram.Snapshot snapshot) {
+        for (double quantile : QUANTILES) {
+            String quantileLabel = "quantile=\"" + quantile + "\"";
+            sample(out, name, labels.isEmpty() ? quantileLabel : labels + "," + quantileLabel,
+                    snapshot.getValueAtPercentile(quantile * 100) / 1e9);
+        }
+        sample(out, name + "_sum", labels, snapshot.getSum() / 1e9);
+        sample(out, name + "_count", labels, snapshot.getCount());
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        sample(out, name, labels, Long.toString(value));
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        sample(out, name, labels, Double.toString(value));
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, String value) {
+        out.append(PREFIX).append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String engineLabel(String engine) {
+        return "engine=\"" + engine.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
@@ -0,0 +1,15 @@
+package mst.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the registry's named counters and gauges, plus the Prometheus dump.
+ */
+public interface MetricsRegistryMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    String getPrometheusText();
+}
@@ -0,0 +1,190 @@
+package mst.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dense weighted adjacency matrix for near-complete graphs, stored as one
+ * double[] or float[] row per vertex. A missing edge is NO_EDGE (positive
+ * infinity); the diagonal is ignored. The matrix must be symmetric.
+ *
+ * Rows are held as given, not copied, so callers must not modify them afterwards.
+ */
+public final class AdjacencyMatrix {
+
+    public static final double NO_EDGE = Double.POSITIVE_INFINITY;
+
+    private final List<String> nodeNames;
+    private final double[][] doubleRows;
+    private final float[][] floatRows;
+    private final long edgeCount;
+
+    private AdjacencyMatrix(List<String> nodeNames, double[][] doubleRows, float[][] floatRows, long edgeCount) {
+        this.nodeNames = nodeNames;
+        this.doubleRows = doubleRows;
+        this.floatRows = floatRows;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Wraps double-precision rows.
+     *
+     * @throws IllegalArgumentException if the matrix is not square and symmetric, holds NaN,
+     *                                  or the names do not match the row count
+     */
+    public static AdjacencyMatrix of(List<String> nodeNames, double[][] rows) {
+        validateShape(nodeNames, rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            checkRowLength(rows[i].length, rows.length, i);
+        }
+        long edgeCount = 0;
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < i; j++) {
+                checkEntry(rows[i][j], rows[j][i], i, j);
+                if (rows[i][j] != NO_EDGE) {
+                    edgeCount++;
+                }
+            }
+        }
+        return new AdjacencyMatrix(new ArrayList<>(nodeNames), rows, null, edgeCount);
+    }
+
+    /**
+     * Wraps single-precision rows, halving memory for the largest matrices.
+     *
+     * @throws IllegalArgumentException under the same conditions as the double form
+     */
+    public static AdjacencyMatrix of(List<String> nodeNames, float[][] rows) {
+        validateShape(nodeNames, rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            checkRowLength(rows[i].length, rows.length, i);
+        }
+        long edgeCount = 0;
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < i; j++) {
+                checkEntry(rows[i][j], rows[j][i], i, j);
+                if (rows[i][j] != NO_EDGE) {
+                    edgeCount++;
+                }
+            }
+        }
+        return new AdjacencyMatrix(new ArrayList<>(nodeNames), null, rows, edgeCount);
+    }
+
+    /**
+     * Builds the matrix of a graph, keeping the lightest of parallel edges and
+     * dropping self-loops. Memory grows with the square of the vertex count.
+     */
+    public static AdjacencyMatrix fromGraph(Graph graph) {
+        int vertices = graph.getVertices();
+        double[][] rows = new double[vertices][vertices];
+        for (double[] row : rows) {
+            Arrays.fill(row, NO_EDGE);
+        }
+        long edgeCount = 0;
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            Edge edge = graph.getEdge(i);
+            int u = edge.getSource();
+            int v = edge.getDestination();
+            if (u != v && rows[u][v] == NO_EDGE && edge.getWeight() != NO_EDGE) {
+                edgeCount++;
+            }
+            if (u != v && edge.getWeight() < rows[u][v]) {
+                rows[u][v] = edge.getWeight();
+                rows[v][u] = edge.getWeight();
+            }
+        }
+        List<String> names = new ArrayList<>(vertices);
+        for (int v = 0; v < vertices; v++) {
+            names.add(graph.getNodeName(v));
+        }
+        return new AdjacencyMatrix(names, rows, null, edgeCount);
+    }
+
+    private static void validateShape(List<String> nodeNames, int rowCount) {
+        if (nodeNames.size() != rowCount) {
+            throw new IllegalArgumentException("Expected " + rowCount + " node names, got " + nodeNames.size());
+        }
+    }
+
+    private static void checkRowLength(int length, int vertices, int row) {
+        if (length != vertices) {
+            throw new IllegalArgumentException("Row " + row + " has " + length + " entries, expected " + vertices);
+        }
+    }
+
+    private static void checkEntry(double upper, double lower, int i, int j) {
+        if (Double.isNaN(upper) || Double.isNaN(lower)) {
+            throw new IllegalArgumentException("NaN weight at (" + i + ", " + j + ")");
+        }
+        if (upper != lower) {
+            throw new IllegalArgumentException("Matrix is not symmetric at (" + i + ", " + j + ")");
+        }
+    }
+
+    public int getVertices() {
+        return nodeNames.size();
+    }
+
+    public String getNodeName(int index) {
+        return nodeNames.get(index);
+    }
+
+    public List<String> getNodeNames() {
+        return Collections.unmodifiableList(nodeNames);
+    }
+
+    public boolean isSinglePrecision() {
+        return floatRows != null;
+    }
+
+    /**
+     * Returns row i of a double-precision matrix; null for the float form.
+     */
+    public double[] getDoubleRow(int i) {
+        return doubleRows != null ? doubleRows[i] : null;
+    }
+
+    /**
+     * Returns row i of a single-precision matrix; null for the double form.
+     */
+    public float[] getFloatRow(int i) {
+        return floatRows != null ? floatRows[i] : null;
+    }
+
+    /**
+     * Returns the weight between two vertices, or NO_EDGE.
+     */
+    public double getWeight(int i, int j) {
+        if (i == j) {
+            return NO_EDGE;
+        }
+        return floatRows != null ? floatRows[i][j] : doubleRows[i][j];
+    }
+
+    /**
+     * Returns the number of vertex pairs joined by an edge.
+     */
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Converts to an edge-list Graph with one edge per present pair, in row-major order.
+     */
+    public Graph toGraph() {
+        Graph graph = new Graph(nodeNames);
+        int vertices = getVertices();
+        for (int i = 0; i < vertices; i++) {
+            for (int j = i + 1; j < vertices; j++) {
+                double weight = getWeight(i, j);
+                if (weight != NO_EDGE) {
+                    graph.addEdge(i, j, weight);
+                }
+            }
+        }
+        return graph;
+    }
+}
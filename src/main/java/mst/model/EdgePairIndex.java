@@ -0,0 +1,112 @@
+package mst.model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from an unordered vertex pair to an int, used to
+ * recognise parallel edges without building String keys. Both endpoints are
+ * packed into one long, so lookups neither box nor allocate.
+ */
+public final class EdgePairIndex {
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public EdgePairIndex(int expectedPairs) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedPairs * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Packs an unordered pair into a key; (u, v) and (v, u) map to the same value.
+     */
+    public static long key(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    /**
+     * Returns the value stored for the key, or -1 if it is absent.
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the value for the key, replacing any previous value.
+     */
+    public void put(long key, int value) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, value);
+    }
+
+    /**
+     * Stores the value if the key is absent.
+     *
+     * @return the value already stored for the key, or -1 if the value was inserted
+     */
+    public int putIfAbsent(long key, int value) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, value);
+        return -1;
+    }
+
+    private void insert(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads the packed endpoints across the table
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -1,25 +1,36 @@
 package mst.model;
 
+import mst.unionfind.DisjointSet;
+
 import java.util.*;
 
 public class Graph {
     private final int vertices;
     private final List<Edge> edges;
     private final Map<Integer, List<Edge>> adjacencyList;
+    private final List<List<Edge>> adjacencyByVertex;
     private String name;
     private int graphId;
     private final List<String> nodeNames;
     private final Map<String, Integer> nodeNameToIndex;
+    private double[] xCoordinates;
+    private double[] yCoordinates;
+    private boolean integerWeights = true;
+    private double maxWeight = 0.0;
+    private int inputEdgeCount = -1;
 
     public Graph(int vertices) {
         this.vertices = vertices;
         this.edges = new ArrayList<>();
         this.adjacencyList = new HashMap<>();
+        this.adjacencyByVertex = new ArrayList<>(vertices);
         this.nodeNames = new ArrayList<>();
         this.nodeNameToIndex = new HashMap<>();
 
         for (int i = 0; i < vertices; i++) {
-            adjacencyList.put(i, new ArrayList<>());
+            List<Edge> adjacent = new ArrayList<>();
+            adjacencyList.put(i, adjacent);
+            adjacencyByVertex.add(adjacent);
         }
     }
 
@@ -27,15 +38,25 @@ public class Graph {
         this.vertices = nodeNames.size();
         this.edges = new ArrayList<>();
         this.adjacencyList = new HashMap<>();
+        this.adjacencyByVertex = new ArrayList<>(vertices);
         this.nodeNames = new ArrayList<>(nodeNames);
         this.nodeNameToIndex = new HashMap<>();
 
         for (int i = 0; i < vertices; i++) {
-            adjacencyList.put(i, new ArrayList<>());
+            List<Edge> adjacent = new ArrayList<>();
+            adjacencyList.put(i, adjacent);
+            adjacencyByVertex.add(adjacent);
             nodeNameToIndex.put(nodeNames.get(i), i);
         }
     }
 
+    /**
+     * Builds a graph from dense weight rows; see AdjacencyMatrix for the conventions.
+     */
+    public static Graph fromAdjacencyMatrix(List<String> nodeNames, double[][] rows) {
+        return AdjacencyMatrix.of(nodeNames, rows).toGraph();
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -67,6 +88,29 @@ public class Graph {
         return nodeNameToIndex.get(name);
     }
 
+    /**
+     * Attaches planar coordinates to the vertices, indexed like the node names.
+     */
+    public void setCoordinates(double[] x, double[] y) {
+        if (x.length != vertices || y.length != vertices) {
+            throw new IllegalArgumentException("Expected " + vertices + " coordinates");
+        }
+        this.xCoordinates = x.clone();
+        this.yCoordinates = y.clone();
+    }
+
+    public boolean hasCoordinates() {
+        return xCoordinates != null;
+    }
+
+    public double getX(int index) {
+        return xCoordinates[index];
+    }
+
+    public double getY(int index) {
+        return yCoordinates[index];
+    }
+
     public int getVertices() {
         return vertices;
     }
@@ -75,10 +119,54 @@ public class Graph {
         return new ArrayList<>(edges);
     }
 
+    /**
+     * Returns the number of undirected edges without copying the edge list.
+     */
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    /**
+     * Returns the number of edges the graph was read with, before compacted() dropped
+     * parallel edges; equals getEdgeCount() for a graph that was never compacted.
+     */
+    public int getInputEdgeCount() {
+        return inputEdgeCount >= 0 ? inputEdgeCount : edges.size();
+    }
+
+    /**
+     * Returns the edge at the given position in insertion order, without copying the edge list.
+     */
+    public Edge getEdge(int index) {
+        return edges.get(index);
+    }
+
+    /**
+     * Returns true if every edge weight is a non-negative whole number, which lets
+     * Prim use a bucket queue keyed directly by weight.
+     */
+    public boolean isIntegerWeighted() {
+        return integerWeights;
+    }
+
+    /**
+     * Returns the largest edge weight, or 0 for a graph without edges.
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
     public Map<Integer, List<Edge>> getAdjacencyList() {
         return adjacencyList;
     }
 
+    /**
+     * Returns the outgoing edges of a vertex; same lists as getAdjacencyList() but without boxing the key.
+     */
+    public List<Edge> getAdjacentEdges(int vertex) {
+        return adjacencyByVertex.get(vertex);
+    }
+
     /**
      * Adds an undirected edge to the graph using numeric indices.
      */
@@ -91,9 +179,10 @@ public class Graph {
         String dstName = getNodeName(destination);
         Edge edge = new Edge(source, destination, weight, srcName, dstName);
         edges.add(edge);
+        trackWeight(weight);
 
-        adjacencyList.get(source).add(edge);
-        adjacencyList.get(destination).add(new Edge(destination, source, weight, dstName, srcName));
+        adjacencyByVertex.get(source).add(edge);
+        adjacencyByVertex.get(destination).add(new Edge(destination, source, weight, dstName, srcName));
     }
 
     /**
@@ -109,32 +198,52 @@ public class Graph {
 
         Edge edge = new Edge(sourceIdx, destIdx, weight, sourceName, destName);
         edges.add(edge);
+        trackWeight(weight);
+
+        adjacencyByVertex.get(sourceIdx).add(edge);
+        adjacencyByVertex.get(destIdx).add(new Edge(destIdx, sourceIdx, weight, destName, sourceName));
+    }
 
-        adjacencyList.get(sourceIdx).add(edge);
-        adjacencyList.get(destIdx).add(new Edge(destIdx, sourceIdx, weight, destName, sourceName));
+    private void trackWeight(double weight) {
+        if (weight < 0 || weight != Math.rint(weight)) {
+            integerWeights = false;
+        }
+        if (edges.size() == 1 || weight > maxWeight) {
+            maxWeight = weight;
+        }
     }
 
     /**
      * Checks if the graph is connected using BFS.
      */
     public boolean isConnected() {
+        return isConnected(new boolean[vertices], new int[vertices]);
+    }
+
+    /**
+     * Checks connectivity using caller-provided scratch arrays, each at least getVertices() long.
+     * The arrays may hold stale data; only the first getVertices() entries are touched.
+     */
+    public boolean isConnected(boolean[] visited, int[] queue) {
         if (vertices == 0) return true;
 
-        boolean[] visited = new boolean[vertices];
-        Queue<Integer> queue = new LinkedList<>();
+        Arrays.fill(visited, 0, vertices, false);
+        int head = 0;
+        int tail = 0;
 
-        queue.offer(0);
+        queue[tail++] = 0;
         visited[0] = true;
         int visitedCount = 1;
 
-        while (!queue.isEmpty()) {
-            int current = queue.poll();
+        while (head < tail) {
+            int current = queue[head++];
 
-            for (Edge edge : adjacencyList.get(current)) {
-                int neighbor = edge.getDestination();
+            List<Edge> adjacent = adjacencyByVertex.get(current);
+            for (int i = 0; i < adjacent.size(); i++) {
+                int neighbor = adjacent.get(i).getDestination();
                 if (!visited[neighbor]) {
                     visited[neighbor] = true;
-                    queue.offer(neighbor);
+                    queue[tail++] = neighbor;
                     visitedCount++;
                 }
             }
@@ -144,18 +253,81 @@ public class Graph {
     }
 
     /**
-     * Checks if the graph contains cycles using Union-Find.
+     * Estimates the heap this graph retains: edge objects, the adjacency lists and
+     * map, node names and their index, and coordinates. Edge name strings are taken
+     * to be shared with the node names. Layout assumptions are in HeapSizes.
+     */
+    public long estimateRetainedBytes() {
+        long bytes = HeapSizes.align(12 + 8 * HeapSizes.REFERENCE + 4 * 3 + 1 + 8);
+        // Every edge has its own object plus the reversed copy in the destination's list
+        bytes += HeapSizes.arrayList(edges.size()) + 2L * edges.size() * HeapSizes.EDGE;
+        bytes += HeapSizes.presizedArrayList(vertices) + HeapSizes.hashMap(vertices);
+        for (int v = 0; v < vertices; v++) {
+            bytes += HeapSizes.arrayList(adjacencyByVertex.get(v).size()) + HeapSizes.boxedInteger(v);
+        }
+        bytes += nodeNames.isEmpty() ? HeapSizes.arrayList(0) : HeapSizes.presizedArrayList(nodeNames.size());
+        bytes += HeapSizes.hashMap(nodeNameToIndex.size());
+        for (int i = 0; i < nodeNames.size(); i++) {
+            // The name map boxes each index again
+            bytes += HeapSizes.string(nodeNames.get(i)) + HeapSizes.boxedInteger(i);
+        }
+        if (xCoordinates != null) {
+            bytes += 2 * HeapSizes.array(vertices, 8);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns a graph with the same vertices, names and coordinates that keeps only
+     * the lightest edge between each pair of vertices; on equal weights the earlier
+     * edge wins. Surviving edges keep the position of the pair's first occurrence.
+     * The MST is unchanged, but the engines sort and heap fewer edges; getInputEdgeCount()
+     * still reports the original edge count. Returns this graph if it has no parallel edges.
+     */
+    public Graph compacted() {
+        int edgeCount = edges.size();
+        EdgePairIndex pairs = new EdgePairIndex(edgeCount);
+        int[] kept = new int[edgeCount];
+        int keptCount = 0;
+
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            int slot = pairs.putIfAbsent(EdgePairIndex.key(edge.getSource(), edge.getDestination()), keptCount);
+            if (slot < 0) {
+                kept[keptCount++] = i;
+            } else if (edge.getWeight() < edges.get(kept[slot]).getWeight()) {
+                kept[slot] = i;
+            }
+        }
+
+        if (keptCount == edgeCount) {
+            return this;
+        }
+
+        Graph compact = nodeNames.isEmpty() ? new Graph(vertices) : new Graph(nodeNames);
+        compact.setName(name);
+        compact.setGraphId(graphId);
+        compact.inputEdgeCount = getInputEdgeCount();
+        if (xCoordinates != null) {
+            compact.setCoordinates(xCoordinates, yCoordinates);
+        }
+        for (int i = 0; i < keptCount; i++) {
+            Edge edge = edges.get(kept[i]);
+            compact.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        return compact;
+    }
+
+    /**
+     * Checks if the graph contains cycles using Union-Find. Parallel edges count once.
      */
     public boolean hasCycle() {
-        UnionFind uf = new UnionFind(vertices);
-        Set<String> processedEdges = new HashSet<>();
+        DisjointSet uf = new DisjointSet(vertices);
+        EdgePairIndex processedEdges = new EdgePairIndex(edges.size());
 
         for (Edge edge : edges) {
-            String edgeKey = Math.min(edge.getSource(), edge.getDestination()) + "-" +
-                    Math.max(edge.getSource(), edge.getDestination());
-
-            if (processedEdges.contains(edgeKey)) continue;
-            processedEdges.add(edgeKey);
+            long edgeKey = EdgePairIndex.key(edge.getSource(), edge.getDestination());
+            if (processedEdges.putIfAbsent(edgeKey, 0) >= 0) continue;
 
             int parent1 = uf.find(edge.getSource());
             int parent2 = uf.find(edge.getDestination());
@@ -164,7 +336,7 @@ public class Graph {
                 return true;
             }
 
-            uf.union(edge.getSource(), edge.getDestination());
+            uf.link(parent1, parent2);
         }
 
         return false;
@@ -177,57 +349,14 @@ public class Graph {
         sb.append("Vertices: ").append(vertices).append(", Edges: ").append(edges.size()).append("\n");
         sb.append("Edges:\n");
 
-        Set<String> printed = new HashSet<>();
+        EdgePairIndex printed = new EdgePairIndex(edges.size());
         for (Edge edge : edges) {
-            String key = Math.min(edge.getSource(), edge.getDestination()) + "-" +
-                    Math.max(edge.getSource(), edge.getDestination());
-            if (!printed.contains(key)) {
+            long key = EdgePairIndex.key(edge.getSource(), edge.getDestination());
+            if (printed.putIfAbsent(key, 0) < 0) {
                 sb.append("  ").append(edge).append("\n");
-                printed.add(key);
             }
         }
 
         return sb.toString();
     }
-
-    /**
-     * Helper class for Union-Find (Disjoint Set) operations.
-     */
-    public static class UnionFind {
-        private final int[] parent;
-        private final int[] rank;
-
-        public UnionFind(int size) {
-            parent = new int[size];
-            rank = new int[size];
-            for (int i = 0; i < size; i++) {
-                parent[i] = i;
-                rank[i] = 0;
-            }
-        }
-
-        public int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
-            }
-            return parent[x];
-        }
-
-        public void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
-
-            if (rootX != rootY) {
-                // Union by rank
-                if (rank[rootX] < rank[rootY]) {
-                    parent[rootX] = rootY;
-                } else if (rank[rootX] > rank[rootY]) {
-                    parent[rootY] = rootX;
-                } else {
-                    parent[rootY] = rootX;
-                    rank[rootX]++;
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+}
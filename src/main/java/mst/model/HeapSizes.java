@@ -0,0 +1,86 @@
+package mst.model;
+
+/**
+ * Shallow sizes of the JDK objects a Graph is built from, for a 64-bit HotSpot
+ * JVM with compressed oops and class pointers (the default below 32 GB of heap):
+ * 12-byte object headers, 16-byte array headers, 4-byte references and 8-byte
+ * alignment. Other layouts differ by a constant factor, which is good enough for
+ * sizing a heap or spotting growth.
+ */
+final class HeapSizes {
+
+    static final int REFERENCE = 4;
+    static final long EDGE = align(12 + 4 + 4 + 8 + 2 * REFERENCE);
+    static final long BOXED_INTEGER = align(12 + 4);
+
+    private static final long ARRAY_LIST = align(12 + 4 + 4 + REFERENCE);
+    private static final long HASH_MAP = align(12 + 6 * REFERENCE + 4 * 4);
+    private static final long HASH_MAP_NODE = align(12 + 4 + 3 * REFERENCE);
+    private static final long STRING = align(12 + REFERENCE + 4 + 1 + 1);
+    private static final int DEFAULT_LIST_CAPACITY = 10;
+
+    private HeapSizes() {
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long array(long length, int elementBytes) {
+        return align(16 + length * elementBytes);
+    }
+
+    /**
+     * Size of an ArrayList grown element by element to the given size, excluding its elements.
+     */
+    static long arrayList(int size) {
+        if (size == 0) {
+            // new ArrayList<>() shares one empty array until the first add
+            return ARRAY_LIST;
+        }
+        long capacity = DEFAULT_LIST_CAPACITY;
+        while (capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return ARRAY_LIST + array(capacity, REFERENCE);
+    }
+
+    /**
+     * Size of a presized ArrayList, excluding its elements.
+     */
+    static long presizedArrayList(int capacity) {
+        return ARRAY_LIST + array(capacity, REFERENCE);
+    }
+
+    /**
+     * Size of a default HashMap holding the given number of entries, excluding keys and values.
+     */
+    static long hashMap(int size) {
+        if (size == 0) {
+            return HASH_MAP;
+        }
+        long table = 16;
+        while (size > table * 3 / 4) {
+            table <<= 1;
+        }
+        return HASH_MAP + array(table, REFERENCE) + size * HASH_MAP_NODE;
+    }
+
+    /**
+     * Size of an Integer from valueOf(), 0 if it comes from the shared cache.
+     */
+    static long boxedInteger(int value) {
+        return value >= -128 && value <= 127 ? 0 : BOXED_INTEGER;
+    }
+
+    /**
+     * Size of a string with its byte array, assuming compact Latin-1 storage when possible.
+     */
+    static long string(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        return STRING + array(value.length(), latin1 ? 1 : 2);
+    }
+}
@@ -12,6 +12,10 @@ public class MSTResult {
     private final long executionTimeMs;
     private final boolean success;
     private final String message;
+    private final String frontier;
+    private final boolean complete;
+    private final long allocatedBytes;
+    private final long graphRetainedBytes;
 
     private MSTResult(Builder builder) {
         this.algorithmName = builder.algorithmName;
@@ -23,6 +27,10 @@ public class MSTResult {
         this.executionTimeMs = builder.executionTimeMs;
         this.success = builder.success;
         this.message = builder.message;
+        this.frontier = builder.frontier;
+        this.complete = builder.complete;
+        this.allocatedBytes = builder.allocatedBytes;
+        this.graphRetainedBytes = builder.graphRetainedBytes;
     }
 
     public String getAlgorithmName() {
@@ -61,6 +69,35 @@ public class MSTResult {
         return message;
     }
 
+    /**
+     * Returns the priority-queue structure Prim used, or null for algorithms without a frontier.
+     */
+    public String getFrontier() {
+        return frontier;
+    }
+
+    /**
+     * Returns false if the solve was stopped by a deadline or cancellation; the
+     * edges then form a partial minimum spanning forest.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the bytes the solving thread allocated during the solve, or -1 if not measured.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the estimated heap size of the solved Graph, or -1 if not measured.
+     */
+    public long getGraphRetainedBytes() {
+        return graphRetainedBytes;
+    }
+
     @Override
     public String toString() {
         if (!success) {
@@ -69,10 +106,19 @@ public class MSTResult {
 
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("=== %s Results ===\n", algorithmName));
+        if (!complete) {
+            sb.append(String.format("INCOMPLETE: %s\n", message));
+        }
         sb.append(String.format("Total Cost: %.2f\n", totalCost));
         sb.append(String.format("Vertices: %d, MST Edges: %d\n", vertexCount, mstEdges.size()));
         sb.append(String.format("Operations: %d\n", operationCount));
         sb.append(String.format("Execution Time: %d ms\n", executionTimeMs));
+        if (frontier != null) {
+            sb.append(String.format("Frontier: %s\n", frontier));
+        }
+        if (allocatedBytes >= 0) {
+            sb.append(String.format("Allocated: %d bytes\n", allocatedBytes));
+        }
         sb.append("MST Edges:\n");
         for (Edge edge : mstEdges) {
             sb.append(String.format("  %s\n", edge));
@@ -90,6 +136,32 @@ public class MSTResult {
         private long executionTimeMs;
         private boolean success = true;
         private String message = "";
+        private String frontier;
+        private boolean complete = true;
+        private long allocatedBytes = -1;
+        private long graphRetainedBytes = -1;
+
+        public Builder() {
+        }
+
+        /**
+         * Starts from a copy of an existing result, e.g. to attach measurements.
+         */
+        public Builder(MSTResult result) {
+            this.algorithmName = result.algorithmName;
+            this.mstEdges = result.mstEdges;
+            this.totalCost = result.totalCost;
+            this.vertexCount = result.vertexCount;
+            this.edgeCount = result.edgeCount;
+            this.operationCount = result.operationCount;
+            this.executionTimeMs = result.executionTimeMs;
+            this.success = result.success;
+            this.message = result.message;
+            this.frontier = result.frontier;
+            this.complete = result.complete;
+            this.allocatedBytes = result.allocatedBytes;
+            this.graphRetainedBytes = result.graphRetainedBytes;
+        }
 
         public Builder algorithmName(String algorithmName) {
             this.algorithmName = algorithmName;
@@ -136,6 +208,26 @@ public class MSTResult {
             return this;
         }
 
+        public Builder frontier(String frontier) {
+            this.frontier = frontier;
+            return this;
+        }
+
+        public Builder complete(boolean complete) {
+            this.complete = complete;
+            return this;
+        }
+
+        public Builder allocatedBytes(long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+            return this;
+        }
+
+        public Builder graphRetainedBytes(long graphRetainedBytes) {
+            this.graphRetainedBytes = graphRetainedBytes;
+            return this;
+        }
+
         public MSTResult build() {
             return new MSTResult(this);
         }
@@ -0,0 +1,103 @@
+package mst.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Long-addressed native memory made of direct ByteBuffer chunks, so a single
+ * buffer can exceed the 2 GiB limit of one ByteBuffer or Java array. Chunk sizes
+ * are multiples of 8 bytes and values are aligned to their size, so no value
+ * straddles two chunks.
+ *
+ * JDK 17 has no stable way to free a direct buffer on demand; close() drops the
+ * chunks so the memory is returned once they are collected, and any later access
+ * fails fast instead of touching freed memory.
+ */
+final class OffHeapBuffer implements AutoCloseable {
+
+    static final int DEFAULT_CHUNK_SHIFT = 30;
+
+    private final int chunkShift;
+    private final long chunkMask;
+    private final long capacity;
+    private ByteBuffer[] chunks;
+
+    OffHeapBuffer(long bytes) {
+        this(bytes, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * @param chunkShift log2 of the chunk size in bytes; small values let tests cross chunk boundaries cheaply
+     */
+    OffHeapBuffer(long bytes, int chunkShift) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Negative size: " + bytes);
+        }
+        if (chunkShift < 3 || chunkShift > 30) {
+            throw new IllegalArgumentException("Chunk shift must be between 3 and 30");
+        }
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1L << chunkShift) - 1;
+        this.capacity = bytes;
+
+        int chunkCount = (int) ((bytes + chunkMask) >>> chunkShift);
+        chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long size = Math.min(1L << chunkShift, bytes - ((long) i << chunkShift));
+            chunks[i] = ByteBuffer.allocateDirect((int) size).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    int getInt(long offset) {
+        return chunk(offset).getInt((int) (offset & chunkMask));
+    }
+
+    void putInt(long offset, int value) {
+        chunk(offset).putInt((int) (offset & chunkMask), value);
+    }
+
+    float getFloat(long offset) {
+        return chunk(offset).getFloat((int) (offset & chunkMask));
+    }
+
+    void putFloat(long offset, float value) {
+        chunk(offset).putFloat((int) (offset & chunkMask), value);
+    }
+
+    long getLong(long offset) {
+        return chunk(offset).getLong((int) (offset & chunkMask));
+    }
+
+    void putLong(long offset, long value) {
+        chunk(offset).putLong((int) (offset & chunkMask), value);
+    }
+
+    double getDouble(long offset) {
+        return chunk(offset).getDouble((int) (offset & chunkMask));
+    }
+
+    void putDouble(long offset, double value) {
+        chunk(offset).putDouble((int) (offset & chunkMask), value);
+    }
+
+    private ByteBuffer chunk(long offset) {
+        ByteBuffer[] current = chunks;
+        if (current == null) {
+            throw new IllegalStateException("Off-heap buffer is closed");
+        }
+        return current[(int) (offset >>> chunkShift)];
+    }
+
+    boolean isClosed() {
+        return chunks == null;
+    }
+
+    @Override
+    public void close() {
+        chunks = null;
+    }
+}
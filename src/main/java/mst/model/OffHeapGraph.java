@@ -0,0 +1,427 @@
+package mst.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only graph whose edges and adjacency live in native memory, for inputs
+ * too large to keep on the heap as Edge objects. Edge and adjacency positions are
+ * longs, so the edge count is not limited by Java array sizes; vertices are still
+ * ints because the solvers keep per-vertex state in arrays.
+ *
+ * Edges are stored as (source int, destination int, weight) records, the weight
+ * taking 8 or 4 bytes depending on the WeightFormat, and the adjacency as CSR: per-vertex offsets into an array of edge ids, with each
+ * undirected edge listed under both endpoints. The graph must be closed when no
+ * longer needed; accessors fail with IllegalStateException afterwards.
+ */
+public final class OffHeapGraph implements AutoCloseable {
+
+    private final int vertices;
+    private final WeightFormat weightFormat;
+    private final int edgeBytes;
+    private final long edgeCount;
+    private final OffHeapBuffer edges;
+    private final OffHeapBuffer offsets;
+    private final OffHeapBuffer adjacency;
+    private final List<String> nodeNames;
+    private final String name;
+    private final int graphId;
+    private final boolean integerWeights;
+    private final double maxWeight;
+
+    private OffHeapGraph(Builder builder, OffHeapBuffer offsets, OffHeapBuffer adjacency) {
+        this.vertices = builder.vertices;
+        this.weightFormat = builder.weightFormat;
+        this.edgeBytes = builder.edgeBytes;
+        this.edgeCount = builder.edgeCount;
+        this.edges = builder.edges;
+        this.offsets = offsets;
+        this.adjacency = adjacency;
+        this.nodeNames = builder.nodeNames;
+        this.name = builder.name;
+        this.graphId = builder.graphId;
+        this.integerWeights = builder.integerWeights;
+        this.maxWeight = builder.maxWeight;
+    }
+
+    /**
+     * Copies an on-heap graph, keeping its names, id and edge order.
+     */
+    public static OffHeapGraph copyOf(Graph graph) {
+        return copyOf(graph, WeightFormat.DOUBLE);
+    }
+
+    /**
+     * Copies an on-heap graph, storing its weights in the given format.
+     */
+    public static OffHeapGraph copyOf(Graph graph, WeightFormat weightFormat) {
+        Builder builder = new Builder(graph.getVertices(), graph.getEdgeCount(), weightFormat)
+                .name(graph.getName())
+                .graphId(graph.getGraphId());
+        if (!graph.getNodeNames().isEmpty()) {
+            builder.nodeNames(graph.getNodeNames());
+        }
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            Edge edge = graph.getEdge(i);
+            builder.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        return builder.build();
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public WeightFormat getWeightFormat() {
+        return weightFormat;
+    }
+
+    public int getSource(long edge) {
+        return edges.getInt(edge * edgeBytes);
+    }
+
+    public int getDestination(long edge) {
+        return edges.getInt(edge * edgeBytes + 4);
+    }
+
+    public double getWeight(long edge) {
+        long offset = edge * edgeBytes + 8;
+        switch (weightFormat.getKind()) {
+            case FLOAT:
+                return edges.getFloat(offset);
+            case FIXED_POINT:
+                return edges.getInt(offset) / (double) weightFormat.getScale();
+            default:
+                return edges.getDouble(offset);
+        }
+    }
+
+    /**
+     * Compares two edges' weights on their stored representation, without decoding.
+     */
+    public int compareWeights(long a, long b) {
+        long offsetA = a * edgeBytes + 8;
+        long offsetB = b * edgeBytes + 8;
+        switch (weightFormat.getKind()) {
+            case FLOAT:
+                return Float.compare(edges.getFloat(offsetA), edges.getFloat(offsetB));
+            case FIXED_POINT:
+                return Integer.compare(edges.getInt(offsetA), edges.getInt(offsetB));
+            default:
+                return Double.compare(edges.getDouble(offsetA), edges.getDouble(offsetB));
+        }
+    }
+
+    /**
+     * Returns a 32-bit key that orders like the weight when compared unsigned, for
+     * formats that store weights in 4 bytes.
+     *
+     * @throws IllegalStateException for DOUBLE weights
+     */
+    public int getWeightKey(long edge) {
+        int bits = edges.getInt(edge * edgeBytes + 8);
+        switch (weightFormat.getKind()) {
+            case FLOAT:
+                // Flip all bits of negatives and the sign bit of positives, as for IEEE total order
+                return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+            case FIXED_POINT:
+                return bits ^ Integer.MIN_VALUE;
+            default:
+                throw new IllegalStateException("Double weights have no 32-bit key");
+        }
+    }
+
+    /**
+     * Starts a running total of edge weights for an MST cost.
+     */
+    public WeightTotal newWeightTotal() {
+        return new WeightTotal();
+    }
+
+    /**
+     * Returns the endpoint of the edge that is not the given vertex.
+     */
+    public int getOpposite(long edge, int vertex) {
+        int source = getSource(edge);
+        return source == vertex ? getDestination(edge) : source;
+    }
+
+    /**
+     * Returns the first adjacency position of a vertex; positions run up to getAdjacencyEnd(vertex).
+     */
+    public long getAdjacencyStart(int vertex) {
+        return offsets.getLong((long) vertex * 8);
+    }
+
+    public long getAdjacencyEnd(int vertex) {
+        return offsets.getLong((long) (vertex + 1) * 8);
+    }
+
+    /**
+     * Returns the id of the edge at an adjacency position.
+     */
+    public long getAdjacentEdge(long position) {
+        return adjacency.getLong(position * 8);
+    }
+
+    public boolean isIntegerWeighted() {
+        return integerWeights;
+    }
+
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getGraphId() {
+        return graphId;
+    }
+
+    public String getNodeName(int index) {
+        if (index >= 0 && index < nodeNames.size()) {
+            return nodeNames.get(index);
+        }
+        return String.valueOf(index);
+    }
+
+    /**
+     * Materialises one edge as an on-heap Edge, e.g. for an MST result.
+     */
+    public Edge toEdge(long edge) {
+        int source = getSource(edge);
+        int destination = getDestination(edge);
+        return new Edge(source, destination, getWeight(edge), getNodeName(source), getNodeName(destination));
+    }
+
+    public boolean isConnected() {
+        return isConnected(new boolean[vertices], new int[vertices]);
+    }
+
+    /**
+     * Checks connectivity using caller-provided scratch arrays, each at least getVertices() long.
+     */
+    public boolean isConnected(boolean[] visited, int[] queue) {
+        if (vertices == 0) return true;
+
+        Arrays.fill(visited, 0, vertices, false);
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = 0;
+        visited[0] = true;
+
+        while (head < tail) {
+            int current = queue[head++];
+            long end = getAdjacencyEnd(current);
+            for (long p = getAdjacencyStart(current); p < end; p++) {
+                int neighbor = getOpposite(getAdjacentEdge(p), current);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        return tail == vertices;
+    }
+
+    /**
+     * Returns the native memory held by edge records and adjacency, in bytes.
+     */
+    public long getStorageBytes() {
+        return edges.capacity() + offsets.capacity() + adjacency.capacity();
+    }
+
+    public boolean isClosed() {
+        return edges.isClosed();
+    }
+
+    @Override
+    public void close() {
+        edges.close();
+        offsets.close();
+        adjacency.close();
+    }
+
+    /**
+     * Sum of edge weights without accumulated rounding: fixed-point units are added
+     * exactly in a long and converted once, other formats use Neumaier summation.
+     */
+    public final class WeightTotal {
+        private long units;
+        private double sum;
+        private double compensation;
+
+        private WeightTotal() {
+        }
+
+        public void add(long edge) {
+            if (weightFormat.getKind() == WeightFormat.Kind.FIXED_POINT) {
+                units += edges.getInt(edge * edgeBytes + 8);
+                return;
+            }
+            double weight = getWeight(edge);
+            double next = sum + weight;
+            if (Math.abs(sum) >= Math.abs(weight)) {
+                compensation += (sum - next) + weight;
+            } else {
+                compensation += (weight - next) + sum;
+            }
+            sum = next;
+        }
+
+        public double getValue() {
+            if (weightFormat.getKind() == WeightFormat.Kind.FIXED_POINT) {
+                return units / (double) weightFormat.getScale();
+            }
+            return sum + compensation;
+        }
+    }
+
+    /**
+     * Appends edges into native memory; build() adds the adjacency index. The edge
+     * capacity is fixed up front so no native memory is copied while loading.
+     */
+    public static final class Builder {
+        private final int vertices;
+        private final long edgeCapacity;
+        private final WeightFormat weightFormat;
+        private final int edgeBytes;
+        private final int chunkShift;
+        private final OffHeapBuffer edges;
+        private long edgeCount;
+        private List<String> nodeNames = new ArrayList<>();
+        private String name;
+        private int graphId;
+        private boolean integerWeights = true;
+        private double maxWeight = 0.0;
+        private boolean built;
+
+        public Builder(int vertices, long edgeCapacity) {
+            this(vertices, edgeCapacity, WeightFormat.DOUBLE);
+        }
+
+        public Builder(int vertices, long edgeCapacity, WeightFormat weightFormat) {
+            this(vertices, edgeCapacity, weightFormat, OffHeapBuffer.DEFAULT_CHUNK_SHIFT);
+        }
+
+        Builder(int vertices, long edgeCapacity, int chunkShift) {
+            this(vertices, edgeCapacity, WeightFormat.DOUBLE, chunkShift);
+        }
+
+        Builder(int vertices, long edgeCapacity, WeightFormat weightFormat, int chunkShift) {
+            if (vertices < 0 || edgeCapacity < 0) {
+                throw new IllegalArgumentException("Sizes must be non-negative");
+            }
+            this.vertices = vertices;
+            this.edgeCapacity = edgeCapacity;
+            this.weightFormat = weightFormat;
+            this.edgeBytes = 8 + weightFormat.getBytes();
+            this.chunkShift = chunkShift;
+            this.edges = new OffHeapBuffer(edgeCapacity * edgeBytes, chunkShift);
+        }
+
+        public Builder nodeNames(List<String> nodeNames) {
+            if (nodeNames.size() != vertices) {
+                throw new IllegalArgumentException("Expected " + vertices + " node names");
+            }
+            this.nodeNames = new ArrayList<>(nodeNames);
+            return this;
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder graphId(int graphId) {
+            this.graphId = graphId;
+            return this;
+        }
+
+        /**
+         * Appends an edge; the weight is rounded to the builder's WeightFormat.
+         */
+        public Builder addEdge(int source, int destination, double weight) {
+            if (source < 0 || source >= vertices || destination < 0 || destination >= vertices) {
+                throw new IllegalArgumentException("Invalid vertex index");
+            }
+            if (edgeCount == edgeCapacity) {
+                throw new IllegalStateException("Edge capacity " + edgeCapacity + " exceeded");
+            }
+            long offset = edgeCount * edgeBytes;
+            edges.putInt(offset, source);
+            edges.putInt(offset + 4, destination);
+            switch (weightFormat.getKind()) {
+                case FLOAT:
+                    edges.putFloat(offset + 8, (float) weight);
+                    break;
+                case FIXED_POINT:
+                    edges.putInt(offset + 8, weightFormat.toUnits(weight));
+                    break;
+                default:
+                    edges.putDouble(offset + 8, weight);
+            }
+            weight = weightFormat.quantize(weight);
+            if (weight < 0 || weight != Math.rint(weight)) {
+                integerWeights = false;
+            }
+            if (edgeCount == 0 || weight > maxWeight) {
+                maxWeight = weight;
+            }
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * Builds the CSR adjacency and returns the graph, which takes over the native memory.
+         */
+        public OffHeapGraph build() {
+            if (built) {
+                throw new IllegalStateException("Builder already used");
+            }
+            built = true;
+
+            // offsets[v + 1] counts v's degree, then a prefix sum turns counts into start positions
+            OffHeapBuffer offsets = new OffHeapBuffer((long) (vertices + 1) * 8, chunkShift);
+            for (long e = 0; e < edgeCount; e++) {
+                increment(offsets, edges.getInt(e * edgeBytes) + 1);
+                increment(offsets, edges.getInt(e * edgeBytes + 4) + 1);
+            }
+            for (int v = 0; v < vertices; v++) {
+                offsets.putLong((long) (v + 1) * 8, offsets.getLong((long) (v + 1) * 8) + offsets.getLong((long) v * 8));
+            }
+
+            // Fill using offsets[v] as v's cursor; afterwards offsets[v] holds v's end, so shift back by one
+            OffHeapBuffer adjacency = new OffHeapBuffer(edgeCount * 2 * 8, chunkShift);
+            for (long e = 0; e < edgeCount; e++) {
+                adjacency.putLong(increment(offsets, edges.getInt(e * edgeBytes)) * 8, e);
+                adjacency.putLong(increment(offsets, edges.getInt(e * edgeBytes + 4)) * 8, e);
+            }
+            for (int v = vertices; v > 0; v--) {
+                offsets.putLong((long) v * 8, offsets.getLong((long) (v - 1) * 8));
+            }
+            offsets.putLong(0, 0);
+
+            return new OffHeapGraph(this, offsets, adjacency);
+        }
+
+        /**
+         * Increments the long at a slot and returns its previous value.
+         */
+        private static long increment(OffHeapBuffer buffer, int slot) {
+            long offset = (long) slot * 8;
+            long value = buffer.getLong(offset);
+            buffer.putLong(offset, value + 1);
+            return value;
+        }
+    }
+}
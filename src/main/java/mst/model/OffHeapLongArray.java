@@ -0,0 +1,33 @@
+package mst.model;
+
+/**
+ * Fixed-length array of longs in native memory with long indices, e.g. an edge
+ * order for an OffHeapGraph with more than 2^31 edges.
+ */
+public final class OffHeapLongArray implements AutoCloseable {
+
+    private final long length;
+    private final OffHeapBuffer buffer;
+
+    public OffHeapLongArray(long length) {
+        this.length = length;
+        this.buffer = new OffHeapBuffer(length * 8);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long get(long index) {
+        return buffer.getLong(index * 8);
+    }
+
+    public void set(long index, long value) {
+        buffer.putLong(index * 8, value);
+    }
+
+    @Override
+    public void close() {
+        buffer.close();
+    }
+}
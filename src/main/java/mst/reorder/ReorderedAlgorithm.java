@@ -0,0 +1,48 @@
+package mst.reorder;
+
+import mst.algorithm.MSTAlgorithm;
+import mst.algorithm.SolveControl;
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+/**
+ * Runs another engine on a locality-improving VertexOrdering of each input and
+ * maps its result back to the original vertex ids.
+ */
+public class ReorderedAlgorithm implements MSTAlgorithm {
+
+    private final MSTAlgorithm delegate;
+    private final VertexOrdering.Strategy strategy;
+
+    public ReorderedAlgorithm(MSTAlgorithm delegate, VertexOrdering.Strategy strategy) {
+        this.delegate = delegate;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph, SolveControl.NONE);
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph, SolveControl control) {
+        VertexOrdering ordering = VertexOrdering.compute(graph, strategy);
+        return ordering.restore(delegate.findMST(ordering.getReorderedGraph(), control));
+    }
+
+    /**
+     * Reports the wrapped engine's name so results stay comparable with unordered runs.
+     */
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    public MSTAlgorithm getDelegate() {
+        return delegate;
+    }
+
+    public VertexOrdering.Strategy getStrategy() {
+        return strategy;
+    }
+}
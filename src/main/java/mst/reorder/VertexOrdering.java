@@ -0,0 +1,337 @@
+package mst.reorder;
+
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Relabels the vertices of a graph so that vertices close in the graph get close
+ * ids. Node ids otherwise follow the input order, so adjacency walks and
+ * union-find lookups jump around memory. restore() maps a result on the relabelled
+ * graph back to the original vertex ids and names.
+ *
+ * Edges keep their input order, so engines break weight ties the same way.
+ */
+public final class VertexOrdering {
+
+    /**
+     * How the new order is computed.
+     */
+    public enum Strategy {
+        /** Breadth-first order from the lowest id of each component. */
+        BFS,
+        /** Reverse Cuthill-McKee: BFS from a peripheral vertex, neighbours by degree, reversed. */
+        RCM,
+        /** Position along a Hilbert curve over the coordinates; graphs without coordinates use RCM. */
+        HILBERT;
+
+        public static Strategy parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final int HILBERT_BITS = 16;
+
+    private final Graph original;
+    private final Graph reordered;
+    private final int[] order;
+    private final Strategy strategy;
+    private final long reorderTimeMs;
+
+    private VertexOrdering(Graph original, Graph reordered, int[] order, Strategy strategy, long reorderTimeMs) {
+        this.original = original;
+        this.reordered = reordered;
+        this.order = order;
+        this.strategy = strategy;
+        this.reorderTimeMs = reorderTimeMs;
+    }
+
+    public static VertexOrdering compute(Graph graph, Strategy strategy) {
+        long startTime = System.currentTimeMillis();
+        if (strategy == Strategy.HILBERT && !graph.hasCoordinates()) {
+            strategy = Strategy.RCM;
+        }
+        int[] order;
+        switch (strategy) {
+            case BFS:
+                order = breadthFirstOrder(graph);
+                break;
+            case HILBERT:
+                order = hilbertOrder(graph);
+                break;
+            default:
+                order = reverseCuthillMcKeeOrder(graph);
+        }
+        Graph reordered = relabel(graph, order);
+        return new VertexOrdering(graph, reordered, order, strategy,
+                System.currentTimeMillis() - startTime);
+    }
+
+    public Graph getOriginalGraph() {
+        return original;
+    }
+
+    /**
+     * Returns the graph to hand to an engine; vertex i of it is getOriginalVertex(i).
+     */
+    public Graph getReorderedGraph() {
+        return reordered;
+    }
+
+    /**
+     * Returns the strategy actually used, which is RCM if HILBERT was asked for without coordinates.
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public int getOriginalVertex(int vertex) {
+        return order[vertex];
+    }
+
+    /**
+     * Turns a result on the reordered graph into one over the original vertex ids,
+     * keeping the edge order and direction. Times include the reordering.
+     */
+    public MSTResult restore(MSTResult result) {
+        MSTResult.Builder builder = new MSTResult.Builder()
+                .algorithmName(result.getAlgorithmName())
+                .vertexCount(original.getVertices())
+                .edgeCount(original.getEdgeCount())
+                .operationCount(result.getOperationCount())
+                .executionTimeMs(reorderTimeMs + result.getExecutionTimeMs())
+                .frontier(result.getFrontier())
+                .success(result.isSuccess())
+                .complete(result.isComplete())
+                .message(result.getMessage());
+        if (!result.isSuccess()) {
+            return builder.build();
+        }
+
+        List<Edge> mstEdges = new ArrayList<>(result.getMstEdges().size());
+        for (Edge edge : result.getMstEdges()) {
+            int source = order[edge.getSource()];
+            int destination = order[edge.getDestination()];
+            mstEdges.add(new Edge(source, destination, edge.getWeight(),
+                    original.getNodeName(source), original.getNodeName(destination)));
+        }
+        return builder.mstEdges(mstEdges).totalCost(result.getTotalCost()).build();
+    }
+
+    private static Graph relabel(Graph graph, int[] order) {
+        int vertices = graph.getVertices();
+        int[] rank = new int[vertices];
+        List<String> names = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; i++) {
+            rank[order[i]] = i;
+            names.add(graph.getNodeName(order[i]));
+        }
+        Graph relabelled = new Graph(names);
+        relabelled.setName(graph.getName());
+        relabelled.setGraphId(graph.getGraphId());
+        if (graph.hasCoordinates()) {
+            double[] x = new double[vertices];
+            double[] y = new double[vertices];
+            for (int i = 0; i < vertices; i++) {
+                x[i] = graph.getX(order[i]);
+                y[i] = graph.getY(order[i]);
+            }
+            relabelled.setCoordinates(x, y);
+        }
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            Edge edge = graph.getEdge(i);
+            relabelled.addEdge(rank[edge.getSource()], rank[edge.getDestination()], edge.getWeight());
+        }
+        return relabelled;
+    }
+
+    static int[] breadthFirstOrder(Graph graph) {
+        int vertices = graph.getVertices();
+        int[] order = new int[vertices];
+        boolean[] visited = new boolean[vertices];
+        int tail = 0;
+        for (int root = 0; root < vertices; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            int head = tail;
+            order[tail++] = root;
+            while (head < tail) {
+                List<Edge> adjacent = graph.getAdjacentEdges(order[head++]);
+                for (int i = 0; i < adjacent.size(); i++) {
+                    int neighbor = adjacent.get(i).getDestination();
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        order[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Cuthill-McKee per component, started from a pseudo-peripheral vertex: the
+     * lowest-degree vertex of the last BFS level from the component's lowest-degree
+     * vertex. The concatenated order is reversed, which keeps the same bandwidth
+     * but clusters the fill of each vertex's neighbours.
+     */
+    static int[] reverseCuthillMcKeeOrder(Graph graph) {
+        int vertices = graph.getVertices();
+        int[] degree = new int[vertices];
+        int maxDegree = 0;
+        for (int v = 0; v < vertices; v++) {
+            degree[v] = graph.getAdjacentEdges(v).size();
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+        int[] byDegree = countingSortByDegree(degree, maxDegree);
+
+        int[] order = new int[vertices];
+        int[] mark = new int[vertices];
+        int[] probe = new int[vertices];
+        long[] neighbors = new long[Math.max(maxDegree, 1)];
+        int tail = 0;
+        int component = 0;
+        for (int candidate : byDegree) {
+            if (mark[candidate] != 0) {
+                continue;
+            }
+            // Probe BFS marks the component with -(component + 1); the real pass with component + 1
+            component++;
+            int start = pseudoPeripheral(graph, candidate, degree, mark, probe, -component);
+
+            mark[start] = component;
+            int head = tail;
+            order[tail++] = start;
+            while (head < tail) {
+                int v = order[head++];
+                List<Edge> adjacent = graph.getAdjacentEdges(v);
+                int count = 0;
+                for (int i = 0; i < adjacent.size(); i++) {
+                    int neighbor = adjacent.get(i).getDestination();
+                    if (mark[neighbor] != component) {
+                        mark[neighbor] = component;
+                        neighbors[count++] = ((long) degree[neighbor] << 32) | neighbor;
+                    }
+                }
+                Arrays.sort(neighbors, 0, count);
+                for (int i = 0; i < count; i++) {
+                    order[tail++] = (int) neighbors[i];
+                }
+            }
+        }
+
+        for (int i = 0, j = vertices - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private static int pseudoPeripheral(Graph graph, int root, int[] degree, int[] mark, int[] queue, int stamp) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        mark[root] = stamp;
+        int levelStart = 0;
+        while (head < tail) {
+            int levelEnd = tail;
+            levelStart = head;
+            while (head < levelEnd) {
+                List<Edge> adjacent = graph.getAdjacentEdges(queue[head++]);
+                for (int i = 0; i < adjacent.size(); i++) {
+                    int neighbor = adjacent.get(i).getDestination();
+                    if (mark[neighbor] != stamp) {
+                        mark[neighbor] = stamp;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        int best = queue[levelStart];
+        for (int i = levelStart + 1; i < tail; i++) {
+            if (degree[queue[i]] < degree[best]) {
+                best = queue[i];
+            }
+        }
+        return best;
+    }
+
+    private static int[] countingSortByDegree(int[] degree, int maxDegree) {
+        int[] start = new int[maxDegree + 2];
+        for (int d : degree) {
+            start[d + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] sorted = new int[degree.length];
+        for (int v = 0; v < degree.length; v++) {
+            sorted[start[degree[v]]++] = v;
+        }
+        return sorted;
+    }
+
+    /**
+     * Sorts vertices by their position along a Hilbert curve over a 2^16 x 2^16
+     * grid spanning the bounding box of the coordinates.
+     */
+    static int[] hilbertOrder(Graph graph) {
+        int vertices = graph.getVertices();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < vertices; v++) {
+            minX = Math.min(minX, graph.getX(v));
+            maxX = Math.max(maxX, graph.getX(v));
+            minY = Math.min(minY, graph.getY(v));
+            maxY = Math.max(maxY, graph.getY(v));
+        }
+        int cells = (1 << HILBERT_BITS) - 1;
+        double scaleX = maxX > minX ? cells / (maxX - minX) : 0.0;
+        double scaleY = maxY > minY ? cells / (maxY - minY) : 0.0;
+
+        // Curve index in the high bits, vertex id below, so one primitive sort does it
+        long[] keys = new long[vertices];
+        for (int v = 0; v < vertices; v++) {
+            int x = (int) ((graph.getX(v) - minX) * scaleX);
+            int y = (int) ((graph.getY(v) - minY) * scaleY);
+            keys[v] = (hilbertIndex(x, y) << 31) | v;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+        }
+        return order;
+    }
+
+    static long hilbertIndex(int x, int y) {
+        long index = 0;
+        int mask = (1 << HILBERT_BITS) - 1;
+        for (int s = 1 << (HILBERT_BITS - 1); s > 0; s >>>= 1) {
+            int rx = (x & s) != 0 ? 1 : 0;
+            int ry = (y & s) != 0 ? 1 : 0;
+            index += (long) s * s * ((3 * rx) ^ ry);
+            // Rotate the quadrant so the curve stays continuous at the next level
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = ~x & mask;
+                    y = ~y & mask;
+                }
+                int tmp = x;
+                x = y;
+                y = tmp;
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,283 @@
+package mst.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import mst.algorithm.AlgorithmSelector;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.algorithm.SolverWorkspace;
+import mst.io.JSONHandler;
+import mst.metrics.MetricsRegistry;
+import mst.model.Graph;
+import mst.util.MemoryMeter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Long-running solver on localhost, so repeated solves run in a warm JVM.
+ *
+ * POST /solve accepts a body in the input.json schema and answers in the
+ * output.json format. All graphs of a request are solved as one batch on a
+ * bounded worker pool, each worker reusing its thread's SolverWorkspace.
+ * The query parameter mode=auto runs only the selected engine instead of both
+ * (mode=both, the default); any other mode is refused with 400.
+ * A request takes a concurrency permit before it is handed to an HTTP thread;
+ * requests that find none are answered with 503 from a separate thread, so
+ * they are refused at once instead of queueing. Batches that do not fit into
+ * the worker queue are refused with 503 too. GET /health answers "OK"; GET /metrics
+ * returns the default MetricsRegistry in the Prometheus text format, including
+ * gauges for this server's queue depth, busy workers and requests in flight.
+ */
+public class MSTServer {
+
+    public static final int DEFAULT_PORT = 8765;
+
+    private static final String MODE_AUTO = "auto";
+    private static final String MODE_BOTH = "both";
+
+    // True on an HTTP thread while it runs an exchange that holds a permit
+    private static final ThreadLocal<Boolean> ADMITTED = ThreadLocal.withInitial(() -> false);
+
+    private final HttpServer httpServer;
+    private final ExecutorService requestPool;
+    private final ExecutorService overloadPool;
+    private final ThreadPoolExecutor workerPool;
+    private final Semaphore requestPermits;
+    private final JSONHandler jsonHandler = new JSONHandler();
+    private final PrimAlgorithm primAlgorithm = new PrimAlgorithm(true);
+    private final KruskalAlgorithm kruskalAlgorithm = new KruskalAlgorithm();
+    private final AlgorithmSelector selector = new AlgorithmSelector();
+    private final LongSupplier queueDepth;
+    private final LongSupplier activeSolves;
+    private final LongSupplier requestsInFlight;
+
+    /**
+     * @param port                  port on the loopback interface, 0 for an ephemeral port
+     * @param workers               threads solving graphs
+     * @param queueCapacity         graphs that may wait for a worker before batches are refused
+     * @param maxConcurrentRequests requests handled at once; further solve requests get 503
+     */
+    public MSTServer(int port, int workers, int queueCapacity, int maxConcurrentRequests) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.requestPool = Executors.newFixedThreadPool(maxConcurrentRequests, daemonThreads("mst-http"));
+        this.overloadPool = Executors.newSingleThreadExecutor(daemonThreads("mst-http-overload"));
+        this.workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("mst-solver"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workerPool.prestartAllCoreThreads();
+        this.requestPermits = new Semaphore(maxConcurrentRequests);
+        this.queueDepth = () -> workerPool.getQueue().size();
+        this.activeSolves = workerPool::getActiveCount;
+        this.requestsInFlight = () -> maxConcurrentRequests - requestPermits.availablePermits();
+
+        httpServer.setExecutor(this::dispatch);
+        httpServer.createContext("/solve", this::handleSolve);
+        httpServer.createContext("/health", this::handleHealth);
+        httpServer.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.registerGauge("server_queue_depth", queueDepth);
+        metrics.registerGauge("server_active_solves", activeSolves);
+        metrics.registerGauge("server_requests_in_flight", requestsInFlight);
+        httpServer.start();
+    }
+
+    public void stop() {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.removeGauge("server_queue_depth", queueDepth);
+        metrics.removeGauge("server_active_solves", activeSolves);
+        metrics.removeGauge("server_requests_in_flight", requestsInFlight);
+        httpServer.stop(0);
+        requestPool.shutdownNow();
+        overloadPool.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    int getRequestsInFlight() {
+        return (int) requestsInFlight.getAsLong();
+    }
+
+    /**
+     * Runs an exchange on the request pool if a permit is free. The pool never has more
+     * tasks than threads, so nothing waits behind a slow solve; without a permit the
+     * exchange runs on the overload thread, where /solve answers 503 and the cheap
+     * endpoints still answer normally.
+     */
+    private void dispatch(Runnable exchange) {
+        if (!requestPermits.tryAcquire()) {
+            overloadPool.execute(exchange);
+            return;
+        }
+        try {
+            requestPool.execute(() -> {
+                ADMITTED.set(true);
+                try {
+                    exchange.run();
+                } finally {
+                    ADMITTED.set(false);
+                    requestPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            requestPermits.release();
+            throw e;
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, "text/plain", "OK".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, "text/plain; version=0.0.4",
+                MetricsRegistry.getDefault().toPrometheus().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respondError(exchange, 405, "Use POST with an input.json body");
+            return;
+        }
+        if (!ADMITTED.get()) {
+            respondError(exchange, 503, "Too many concurrent requests");
+            return;
+        }
+        try {
+            String mode = queryParameter(exchange.getRequestURI(), "mode");
+            if (mode != null && !MODE_AUTO.equals(mode) && !MODE_BOTH.equals(mode)) {
+                respondError(exchange, 400, "Unknown mode: " + mode + " (use " + MODE_AUTO + " or " + MODE_BOTH + ")");
+                return;
+            }
+            List<Graph> graphs;
+            try (InputStream body = exchange.getRequestBody()) {
+                graphs = jsonHandler.readGraphs(body, "http:" + exchange.getRemoteAddress());
+            } catch (IOException | RuntimeException e) {
+                respondError(exchange, 400, "Invalid input: " + e.getMessage());
+                return;
+            }
+
+            boolean auto = MODE_AUTO.equals(mode);
+            List<JSONHandler.ResultPair> results;
+            try {
+                results = solveBatch(graphs, auto);
+            } catch (RejectedExecutionException e) {
+                respondError(exchange, 503, "Solver queue is full");
+                return;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            jsonHandler.writeResults(out, results);
+            respond(exchange, 200, "application/json", out.toByteArray());
+        } catch (CompletionException e) {
+            respondError(exchange, 500, "Solve failed: " + e.getCause());
+        }
+    }
+
+    /**
+     * Submits every graph of the request to the worker pool and waits for all of them.
+     * A batch larger than the idle workers plus the free queue slots is refused up front;
+     * if a concurrent batch takes the room first, already submitted solves are cancelled.
+     */
+    private List<JSONHandler.ResultPair> solveBatch(List<Graph> graphs, boolean auto) {
+        int room = workerPool.getQueue().remainingCapacity()
+                + workerPool.getMaximumPoolSize() - workerPool.getActiveCount();
+        if (graphs.size() > room) {
+            throw new RejectedExecutionException(graphs.size() + " graphs exceed " + room + " free solver slots");
+        }
+        List<CompletableFuture<JSONHandler.ResultPair>> futures = new ArrayList<>(graphs.size());
+        try {
+            for (Graph graph : graphs) {
+                futures.add(CompletableFuture.supplyAsync(() -> solve(graph, auto), workerPool));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw e;
+        }
+
+        List<JSONHandler.ResultPair> results = new ArrayList<>(graphs.size());
+        for (CompletableFuture<JSONHandler.ResultPair> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private JSONHandler.ResultPair solve(Graph graph, boolean auto) {
+        if (auto) {
+            return new JSONHandler.ResultPair(graph.getGraphId(), graph.getName(),
+                    graph.getVertices(), graph.getInputEdgeCount(),
+                    MemoryMeter.measure(graph, () -> selector.findMST(graph)));
+        }
+        SolverWorkspace workspace = SolverWorkspace.forCurrentThread();
+        return new JSONHandler.ResultPair(graph.getGraphId(), graph.getName(),
+                graph.getVertices(), graph.getInputEdgeCount(),
+                MemoryMeter.measure(graph, () -> primAlgorithm.findMST(graph, workspace)),
+                MemoryMeter.measure(graph, () -> kruskalAlgorithm.findMST(graph, workspace)));
+    }
+
+    /**
+     * Returns the decoded value of the first query parameter with the given name, or null.
+     */
+    static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void respondError(HttpExchange exchange, int status, String message) throws IOException {
+        respond(exchange, status, "text/plain", message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package mst.unionfind;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free counterpart of DisjointSet for use from several threads. Roots are always linked under the smaller index, which
+ * keeps the parent structure acyclic without locks; finds use CAS path halving.
+ */
+public final class ConcurrentDisjointSet {
+
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                // Path halving; losing the race is harmless
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets of a and b.
+     *
+     * @return true if this call merged two different sets
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            int low = Math.min(rootA, rootB);
+            int high = Math.max(rootA, rootB);
+            if (parent.compareAndSet(high, high, low)) {
+                return true;
+            }
+        }
+    }
+}
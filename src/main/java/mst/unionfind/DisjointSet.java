@@ -0,0 +1,156 @@
+package mst.unionfind;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set forest with iterative find and union by size.
+ *
+ * Everything lives in a single int array: a non-negative entry is the parent
+ * index, a negative entry marks a root and holds minus the size of its set.
+ * Finds never recurse, so long chains cannot overflow the stack, and the array
+ * can be reset in bulk and reused across solves.
+ */
+public class DisjointSet {
+
+    /**
+     * Path-shortening rule applied during find.
+     */
+    public enum FindStrategy {
+        /** Every other node on the path is pointed at its grandparent (one pass). */
+        HALVING,
+        /** Every node on the path is pointed at its grandparent (one pass). */
+        SPLITTING,
+        /** Every node on the path is pointed at the root (two passes). */
+        FULL_COMPRESSION
+    }
+
+    private final FindStrategy strategy;
+    private int[] parent;
+    private int size;
+    private int setCount;
+
+    public DisjointSet(int size) {
+        this(size, FindStrategy.HALVING);
+    }
+
+    public DisjointSet(int size, FindStrategy strategy) {
+        this.strategy = strategy;
+        this.parent = new int[size];
+        reset(size);
+    }
+
+    /**
+     * Makes elements 0..size-1 singletons again, growing the array if needed.
+     */
+    public void reset(int size) {
+        if (parent.length < size) {
+            parent = new int[size];
+        }
+        Arrays.fill(parent, 0, size, -1);
+        this.size = size;
+        this.setCount = size;
+    }
+
+    public int find(int x) {
+        switch (strategy) {
+            case SPLITTING:
+                return findSplitting(x);
+            case FULL_COMPRESSION:
+                return findCompressing(x);
+            default:
+                return findHalving(x);
+        }
+    }
+
+    private int findHalving(int x) {
+        int[] p = parent;
+        while (p[x] >= 0) {
+            int next = p[x];
+            if (p[next] >= 0) {
+                p[x] = p[next];
+            }
+            x = p[x];
+        }
+        return x;
+    }
+
+    private int findSplitting(int x) {
+        int[] p = parent;
+        while (p[x] >= 0) {
+            int next = p[x];
+            if (p[next] >= 0) {
+                p[x] = p[next];
+            }
+            x = next;
+        }
+        return x;
+    }
+
+    private int findCompressing(int x) {
+        int[] p = parent;
+        int root = x;
+        while (p[root] >= 0) {
+            root = p[root];
+        }
+        while (p[x] >= 0) {
+            int next = p[x];
+            p[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets containing x and y.
+     *
+     * @return true if they were in different sets
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) {
+            return false;
+        }
+        link(rootX, rootY);
+        return true;
+    }
+
+    /**
+     * Merges two distinct roots, attaching the smaller set below the larger.
+     * For callers that already hold both roots from find().
+     */
+    public void link(int rootX, int rootY) {
+        int[] p = parent;
+        if (p[rootX] > p[rootY]) {
+            // rootX has the smaller set (sizes are stored negated)
+            int tmp = rootX;
+            rootX = rootY;
+            rootY = tmp;
+        }
+        p[rootX] += p[rootY];
+        p[rootY] = rootX;
+        setCount--;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Returns the number of elements in the set containing x.
+     */
+    public int setSize(int x) {
+        return -parent[find(x)];
+    }
+
+    /**
+     * Returns the number of disjoint sets among the current elements.
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,78 @@
+package mst.util;
+
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Attaches memory measurements to a solve: the bytes the calling thread allocated
+ * while solving, from HotSpot's per-thread allocation counter, and the estimated
+ * retained size of the input Graph.
+ *
+ * Only the calling thread is counted, so work an engine hands to other threads
+ * (ParallelPrimAlgorithm's pool, partition worker processes) is not included.
+ */
+public final class MemoryMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private MemoryMeter() {
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Returns the bytes allocated so far by the calling thread, or -1 if the JVM cannot tell.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Runs a solve on the calling thread and returns its result with allocated bytes
+     * and graph retained size filled in.
+     */
+    public static MSTResult measure(Graph graph, Supplier<MSTResult> solve) {
+        long before = currentThreadAllocatedBytes();
+        MSTResult result = solve.get();
+        long after = currentThreadAllocatedBytes();
+        return new MSTResult.Builder(result)
+                .allocatedBytes(before >= 0 ? after - before : -1)
+                .graphRetainedBytes(graph.estimateRetainedBytes())
+                .build();
+    }
+
+    /**
+     * Runs an off-heap solve on the calling thread and returns its result with allocated
+     * bytes filled in. The graph retained size stays unset: the graph lives in native
+     * memory, reported by OffHeapGraph.getStorageBytes().
+     */
+    public static MSTResult measure(OffHeapGraph graph, Supplier<MSTResult> solve) {
+        long before = currentThreadAllocatedBytes();
+        MSTResult result = solve.get();
+        long after = currentThreadAllocatedBytes();
+        return new MSTResult.Builder(result)
+                .allocatedBytes(before >= 0 ? after - before : -1)
+                .build();
+    }
+}
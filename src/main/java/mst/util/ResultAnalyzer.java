@@ -2,6 +2,8 @@ package mst.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import mst.io.JSONHandler;
+import mst.model.MSTResult;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -15,6 +17,10 @@ import java.util.List;
  */
 public class ResultAnalyzer {
 
+    public static final String CSV_HEADER =
+            "Graph_ID,Graph_Name,Vertices,Edges,Density,Prim_Cost,Prim_Ops,Prim_Time_ms,Kruskal_Cost,Kruskal_Ops,Kruskal_Time_ms,Cost_Match,"
+                    + "Prim_Alloc_Bytes,Kruskal_Alloc_Bytes,Graph_Retained_Bytes";
+
     public static class ResultSummary {
         public int graphId;
         public String graphName;
@@ -28,14 +34,23 @@ public class ResultAnalyzer {
         public int kruskalOperations;
         public long kruskalTime;
         public boolean costMatch;
+        // Memory columns stay empty when the results were not measured
+        public long primAllocatedBytes = -1;
+        public long kruskalAllocatedBytes = -1;
+        public long graphRetainedBytes = -1;
 
         @Override
         public String toString() {
-            return String.format("%d,%s,%d,%d,%.3f,%.1f,%d,%d,%.1f,%d,%d,%s",
+            return String.format("%d,%s,%d,%d,%.3f,%.1f,%d,%d,%.1f,%d,%d,%s,%s,%s,%s",
                     graphId, graphName, vertices, edges, density,
                     primCost, primOperations, primTime,
                     kruskalCost, kruskalOperations, kruskalTime,
-                    costMatch ? "YES" : "NO");
+                    costMatch ? "YES" : "NO",
+                    optional(primAllocatedBytes), optional(kruskalAllocatedBytes), optional(graphRetainedBytes));
+        }
+
+        private static String optional(long bytes) {
+            return bytes >= 0 ? Long.toString(bytes) : "";
         }
     }
 
@@ -57,12 +72,7 @@ public class ResultAnalyzer {
             summary.vertices = inputStats.get("vertices").asInt();
             summary.edges = inputStats.get("edges").asInt();
 
-            // Calculate graph density: 2E / (V * (V-1))
-            if (summary.vertices > 1) {
-                summary.density = (2.0 * summary.edges) / (summary.vertices * (summary.vertices - 1));
-            } else {
-                summary.density = 0.0;
-            }
+            summary.density = density(summary.vertices, summary.edges);
 
             JsonNode prim = result.get("prim");
             summary.primCost = prim.get("total_cost").asDouble();
@@ -73,6 +83,9 @@ public class ResultAnalyzer {
             summary.kruskalCost = kruskal.get("total_cost").asDouble();
             summary.kruskalOperations = kruskal.get("operations_count").asInt();
             summary.kruskalTime = kruskal.get("execution_time_ms").asLong();
+            summary.primAllocatedBytes = prim.path("allocated_bytes").asLong(-1);
+            summary.kruskalAllocatedBytes = kruskal.path("allocated_bytes").asLong(-1);
+            summary.graphRetainedBytes = prim.path("graph_retained_bytes").asLong(-1);
 
             summary.costMatch = Math.abs(summary.primCost - summary.kruskalCost) < 0.001;
 
@@ -81,8 +94,7 @@ public class ResultAnalyzer {
 
         // Write CSV file
         try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile))) {
-            writer.println(
-                    "Graph_ID,Graph_Name,Vertices,Edges,Density,Prim_Cost,Prim_Ops,Prim_Time_ms,Kruskal_Cost,Kruskal_Ops,Kruskal_Time_ms,Cost_Match");
+            writer.println(CSV_HEADER);
             for (ResultSummary summary : summaries) {
                 writer.println(summary);
             }
@@ -91,6 +103,50 @@ public class ResultAnalyzer {
         System.out.println("CSV report generated: " + csvFile);
     }
 
+    /**
+     * Summarises an in-memory result pair the same way as a result read from JSON,
+     * using the graph's own name. A failed or missing solve counts as cost 0.
+     */
+    public static ResultSummary summarize(JSONHandler.ResultPair pair) {
+        ResultSummary summary = new ResultSummary();
+        summary.graphId = pair.graphId;
+        // Names go into an unquoted CSV field
+        summary.graphName = pair.graphName == null ? getGraphName(pair.graphId) : pair.graphName.replace(',', ' ');
+        summary.vertices = pair.vertexCount;
+        summary.edges = pair.edgeCount;
+        summary.density = density(pair.vertexCount, pair.edgeCount);
+
+        MSTResult prim = pair.primResult;
+        if (prim != null && prim.isSuccess()) {
+            summary.primCost = Math.round(prim.getTotalCost());
+            summary.primOperations = (int) Math.min(prim.getOperationCount(), Integer.MAX_VALUE);
+            summary.primTime = prim.getExecutionTimeMs();
+            summary.primAllocatedBytes = prim.getAllocatedBytes();
+            summary.graphRetainedBytes = prim.getGraphRetainedBytes();
+        }
+        MSTResult kruskal = pair.kruskalResult;
+        if (kruskal != null && kruskal.isSuccess()) {
+            summary.kruskalCost = Math.round(kruskal.getTotalCost());
+            summary.kruskalOperations = (int) Math.min(kruskal.getOperationCount(), Integer.MAX_VALUE);
+            summary.kruskalTime = kruskal.getExecutionTimeMs();
+            summary.kruskalAllocatedBytes = kruskal.getAllocatedBytes();
+            if (summary.graphRetainedBytes < 0) {
+                summary.graphRetainedBytes = kruskal.getGraphRetainedBytes();
+            }
+        }
+        summary.costMatch = prim != null && kruskal != null && prim.isSuccess() == kruskal.isSuccess()
+                && Math.abs(summary.primCost - summary.kruskalCost) < 0.001;
+        return summary;
+    }
+
+    // Graph density: 2E / (V * (V-1))
+    private static double density(int vertices, int edges) {
+        if (vertices > 1) {
+            return (2.0 * edges) / ((double) vertices * (vertices - 1));
+        }
+        return 0.0;
+    }
+
     private static String getGraphName(int graphId) {
         switch (graphId) {
             case 1:
@@ -3,6 +3,7 @@ import mst.algorithm.PrimAlgorithm;
 import mst.model.Edge;
 import mst.model.Graph;
 import mst.model.MSTResult;
+import mst.unionfind.DisjointSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -175,7 +176,7 @@ class MSTCorrectnessTest {
 
     // Helper method to check if edges form a cycle
     private boolean hasCycle(List<Edge> edges, int vertices) {
-        Graph.UnionFind uf = new Graph.UnionFind(vertices);
+        DisjointSet uf = new DisjointSet(vertices);
 
         for (Edge edge : edges) {
             int parent1 = uf.find(edge.getSource());
@@ -193,7 +194,7 @@ class MSTCorrectnessTest {
 
     // Helper method to check if edges connect all vertices
     private boolean connectsAllVertices(List<Edge> edges, int vertices) {
-        Graph.UnionFind uf = new Graph.UnionFind(vertices);
+        DisjointSet uf = new DisjointSet(vertices);
 
         for (Edge edge : edges) {
             uf.union(edge.getSource(), edge.getDestination());
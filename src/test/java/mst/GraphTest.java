@@ -1,11 +1,20 @@
 package mst;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mst.algorithm.PrimAlgorithm;
+import mst.io.JSONHandler;
 import mst.model.Graph;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -150,6 +159,79 @@ class GraphTest {
         assertEquals(2, graph.getEdges().size());
     }
 
+    @Test
+    @DisplayName("Test compaction keeps the lightest edge per vertex pair")
+    void testCompactedKeepsLightestEdge() {
+        Graph graph = new Graph(Arrays.asList("A", "B", "C"));
+        graph.setName("Parallel Roads");
+        graph.setGraphId(7);
+        graph.addEdge("A", "B", 5.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("B", "A", 3.0);
+        graph.addEdge("A", "B", 4.0);
+
+        Graph compact = graph.compacted();
+        assertEquals(2, compact.getEdgeCount());
+        assertEquals(3.0, compact.getEdge(0).getWeight());
+        assertEquals("B", compact.getEdge(0).getSourceName());
+        assertEquals(2.0, compact.getEdge(1).getWeight());
+        assertEquals(1, compact.getAdjacentEdges(0).size());
+        assertEquals("Parallel Roads", compact.getName());
+        assertEquals(7, compact.getGraphId());
+        assertFalse(compact.hasCycle());
+        assertEquals(4, compact.getInputEdgeCount());
+        assertEquals(4, graph.getInputEdgeCount());
+    }
+
+    @Test
+    @DisplayName("Test input stats report the edges as read, before compaction")
+    void testInputStatsKeepParallelEdges() throws IOException {
+        String input = "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 5}, {\"from\": \"B\", \"to\": \"A\", \"weight\": 3}, "
+                + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 2}]}]}";
+        JSONHandler handler = new JSONHandler();
+        Graph graph = handler.readGraphs(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), "test")
+                .get(0);
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(3, graph.getInputEdgeCount());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handler.writeResults(out, List.of(new JSONHandler.ResultPair(graph.getGraphId(), graph.getName(),
+                graph.getVertices(), graph.getInputEdgeCount(), new PrimAlgorithm().findMST(graph))));
+        JsonNode stats = new ObjectMapper().readTree(out.toByteArray()).get("results").get(0).get("input_stats");
+        assertEquals(3, stats.get("edges").asInt());
+    }
+
+    @Test
+    @DisplayName("Test compaction returns the same graph without parallel edges")
+    void testCompactedWithoutDuplicates() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        assertSame(graph, graph.compacted());
+    }
+
+    @Test
+    @DisplayName("Test compaction on a large multigraph")
+    void testCompactedLargeMultigraph() {
+        int n = 2000;
+        Graph graph = new Graph(n);
+        for (int copy = 3; copy >= 1; copy--) {
+            for (int i = 0; i + 1 < n; i++) {
+                graph.addEdge(i + 1, i, copy * 10.0 + (i % 7));
+            }
+        }
+
+        Graph compact = graph.compacted();
+        assertEquals(n - 1, compact.getEdgeCount());
+        assertEquals(3 * (n - 1), compact.getInputEdgeCount());
+        for (int i = 0; i < n - 1; i++) {
+            assertEquals(10.0 + (i % 7), compact.getEdge(i).getWeight());
+        }
+        assertTrue(compact.isConnected());
+    }
+
     @Test
     @DisplayName("Test graph ID and name setters")
     void testGraphMetadata() {
@@ -181,4 +263,17 @@ class GraphTest {
         assertTrue(result.contains("Vertices: 3"));
         assertTrue(result.contains("Edges: 1"));
     }
+
+    @Test
+    @DisplayName("Test parallel edges do not count as a cycle")
+    void testParallelEdgesNoCycle() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 2.0);
+        graph.addEdge(1, 2, 1.0);
+        assertFalse(graph.hasCycle());
+
+        graph.addEdge(2, 0, 1.0);
+        assertTrue(graph.hasCycle());
+    }
 }
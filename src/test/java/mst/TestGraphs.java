@@ -0,0 +1,51 @@
+package mst;
+
+import mst.model.Graph;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Random graph fixtures shared by the tests.
+ *
+ * Each graph is a random spanning tree (vertex v attached to a random earlier
+ * vertex) plus extra edges between random endpoints, so it is always connected
+ * and may hold parallel edges and self-loops.
+ */
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /**
+     * Connected graph on n vertices with integer weights in [1, maxWeight].
+     */
+    public static Graph randomConnected(Random random, int n, int extraEdges, int maxWeight) {
+        return randomConnected(random, n, extraEdges, () -> 1 + random.nextInt(maxWeight));
+    }
+
+    /**
+     * Connected graph on n vertices, each weight drawn from the supplier.
+     */
+    public static Graph randomConnected(Random random, int n, int extraEdges, DoubleSupplier weights) {
+        return fill(new Graph(n), random, n, extraEdges, weights);
+    }
+
+    /**
+     * Connected graph over the given node names, each weight drawn from the supplier.
+     */
+    public static Graph randomConnected(Random random, List<String> names, int extraEdges, DoubleSupplier weights) {
+        return fill(new Graph(names), random, names.size(), extraEdges, weights);
+    }
+
+    private static Graph fill(Graph graph, Random random, int n, int extraEdges, DoubleSupplier weights) {
+        for (int v = 1; v < n; v++) {
+            graph.addEdge(random.nextInt(v), v, weights.getAsDouble());
+        }
+        for (int i = 0; i < extraEdges && n > 0; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), weights.getAsDouble());
+        }
+        return graph;
+    }
+}
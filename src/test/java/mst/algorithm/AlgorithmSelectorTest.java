@@ -0,0 +1,151 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlgorithmSelectorTest {
+
+    @Test
+    @DisplayName("Selector runs one engine and returns a correct MST")
+    void testSelectedEngineSolves() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(1, 2, 2.5);
+        graph.addEdge(2, 3, 3.5);
+        graph.addEdge(0, 3, 10);
+
+        AlgorithmSelector selector = new AlgorithmSelector();
+        MSTResult result = selector.findMST(graph);
+
+        assertTrue(result.isSuccess());
+        assertEquals(7.5, result.getTotalCost(), 0.001);
+        assertEquals(selector.select(graph).getName(), result.getAlgorithmName());
+    }
+
+    @Test
+    @DisplayName("Bucket Prim is only considered for small integer weights")
+    void testWeightTypeGatesBucketPrim() {
+        CostModel model = CostModel.defaults();
+        assertTrue(model.isApplicable(CostModel.PRIM_BUCKET, new GraphProfile(10, 20, true, 50)));
+        assertFalse(model.isApplicable(CostModel.PRIM_BUCKET, new GraphProfile(10, 20, false, 50)));
+        assertFalse(model.isApplicable(CostModel.PRIM_BUCKET,
+                new GraphProfile(10, 20, true, PrimAlgorithm.MAX_BUCKET_WEIGHT + 1)));
+    }
+
+    @Test
+    @DisplayName("Default model on one core picks Kruskal on large sparse graphs with wide weights")
+    void testDefaultsPickKruskal() {
+        Graph graph = new Graph(20_000);
+        for (int v = 1; v < 20_000; v++) {
+            graph.addEdge(v - 1, v, 100_000 + v);
+        }
+        assertEquals(CostModel.KRUSKAL, new AlgorithmSelector(CostModel.defaults().withParallelism(1)).selectEngine(graph));
+    }
+
+    @Test
+    @DisplayName("Small graphs never go to Parallel Prim, whatever the core count")
+    void testSmallGraphsStaySequential() {
+        Random random = new Random(3);
+        Graph graph = TestGraphs.randomConnected(random, 50, 51, () -> random.nextDouble() * 100);
+        CostModel model = CostModel.defaults();
+        for (CostModel candidate : List.of(model, model.withParallelism(2), model.withParallelism(8),
+                model.withParallelism(64))) {
+            String engine = new AlgorithmSelector(candidate).selectEngine(graph);
+            assertTrue(engine.equals(CostModel.PRIM) || engine.equals(CostModel.KRUSKAL),
+                    engine + " at parallelism " + candidate.getParallelism());
+        }
+
+        // Dispatch is amortized once the graph is large and there are cores to share the heap work
+        GraphProfile large = new GraphProfile(300_000, 2_400_000, false, 0);
+        CostModel wide = model.withParallelism(8);
+        assertTrue(wide.predict(CostModel.PARALLEL_PRIM, large) < wide.predict(CostModel.KRUSKAL, large));
+    }
+
+    @Test
+    @DisplayName("Default coefficients are the fit of the committed benchmark")
+    void testDefaultsMatchBenchmark() throws IOException {
+        CostModel fitted = CostModel.calibrate("src/main/resources/cost_model_benchmark.csv");
+        CostModel defaults = CostModel.defaults();
+        for (String engine : List.of(CostModel.PRIM, CostModel.PRIM_BUCKET, CostModel.KRUSKAL,
+                CostModel.PARALLEL_PRIM)) {
+            double[] expected = defaults.coefficients(engine);
+            double[] actual = fitted.coefficients(engine);
+            for (int i = 0; i < 2; i++) {
+                assertEquals(expected[i], actual[i], 0.001 * Math.abs(expected[i]), engine + " coefficient " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel Prim timings are fitted at the thread count they ran with")
+    void testCalibrationUsesBenchmarkThreads() throws Exception {
+        CostModel oneThread = calibrateParallel(1).withParallelism(4);
+        CostModel fourThreads = calibrateParallel(4).withParallelism(4);
+
+        // Times taken on one thread are expected to shrink on four; times taken on four are not
+        GraphProfile profile = new GraphProfile(100_000, 400_000, false, 0);
+        assertTrue(oneThread.predict(CostModel.PARALLEL_PRIM, profile)
+                < 0.5 * fourThreads.predict(CostModel.PARALLEL_PRIM, profile));
+    }
+
+    private static CostModel calibrateParallel(int threads) throws IOException {
+        Path csv = Files.createTempFile("bench", ".csv");
+        try (PrintWriter writer = new PrintWriter(csv.toFile())) {
+            writer.println("Vertices,Edges,Prim_Time_ms,Parallel_Prim_Time_ms,Parallel_Prim_Threads");
+            writer.println("1000,2000,0.4,0.6," + threads);
+            writer.println("10000,40000,12,9," + threads);
+            writer.println("100000,500000,180,120," + threads);
+        }
+        try {
+            return CostModel.calibrate(csv.toString());
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    @DisplayName("Calibration follows the measured solve times")
+    void testCalibrationFromCsv() throws Exception {
+        Path csv = Files.createTempFile("bench", ".csv");
+        try (PrintWriter writer = new PrintWriter(csv.toFile())) {
+            // Kruskal measured ten times faster than Prim on every graph; the op counts say the opposite
+            writer.println("Graph_ID,Vertices,Edges,Prim_Ops,Prim_Time_ms,Kruskal_Ops,Kruskal_Time_ms");
+            writer.println("1,1000,2000,10,20,100,2");
+            writer.println("2,10000,40000,100,600,1000,60");
+            writer.println("3,100000,500000,1000,9000,10000,900");
+        }
+
+        CostModel model = CostModel.calibrate(csv.toString()).withParallelism(1);
+        Files.deleteIfExists(csv);
+
+        GraphProfile profile = new GraphProfile(500, 2000, false, 0);
+        assertTrue(model.predict(CostModel.KRUSKAL, profile) < model.predict(CostModel.PRIM, profile));
+
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 0.5);
+        graph.addEdge(1, 2, 0.25);
+        assertEquals(CostModel.KRUSKAL, new AlgorithmSelector(model).selectEngine(graph));
+    }
+
+    @Test
+    @DisplayName("CSVs without measurable times are rejected")
+    void testRejectsZeroTimes() {
+        // Every graph in the shipped results solves in under a millisecond
+        IOException error = assertThrows(IOException.class, () -> CostModel.calibrate("analysis_results.csv"));
+        assertTrue(error.getMessage().startsWith("No usable Time_ms data"));
+
+        assertDoesNotThrow(() -> CostModel.calibrate("analysis_results.csv", CostModel.Metric.OPERATIONS));
+    }
+}
@@ -0,0 +1,98 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncSolveTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Async solve with a generous deadline returns a complete MST")
+    void testAsyncCompletes() throws Exception {
+        Graph graph = randomGraph(200);
+        for (MSTAlgorithm engine : List.of(new PrimAlgorithm(), new KruskalAlgorithm())) {
+            MSTResult result = engine.findMSTAsync(graph, executor, Instant.now().plusSeconds(30))
+                    .get(10, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+            assertTrue(result.isComplete());
+            assertEquals(199, result.getMstEdges().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Expired deadline yields a partial forest flagged as incomplete")
+    void testExpiredDeadline() throws Exception {
+        Graph graph = randomGraph(5000);
+        for (MSTAlgorithm engine : List.of(new PrimAlgorithm(), new KruskalAlgorithm())) {
+            MSTResult result = engine.findMSTAsync(graph, executor, Instant.now().minusSeconds(1))
+                    .get(10, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+            assertFalse(result.isComplete());
+            assertTrue(result.getMstEdges().size() < 4999);
+            assertTrue(result.getMessage().startsWith("Deadline exceeded"));
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelled control stops the main loop")
+    void testCancelledControl() {
+        Graph graph = randomGraph(3000);
+        SolveControl control = SolveControl.cancellable();
+        control.cancel();
+
+        MSTResult prim = new PrimAlgorithm().findMST(graph, control);
+        MSTResult kruskal = new KruskalAlgorithm().findMST(graph, control);
+
+        assertFalse(prim.isComplete());
+        assertFalse(kruskal.isComplete());
+        assertTrue(prim.getMessage().startsWith("Cancelled"));
+        assertFalse(SolveControl.NONE.shouldStop());
+    }
+
+    @Test
+    @DisplayName("Cancelling the future completes it with CancellationException")
+    void testFutureCancellation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            // Occupy the only worker so the solve stays queued
+            single.submit(() -> {
+                release.await();
+                return null;
+            });
+            CompletableFuture<MSTResult> future = new KruskalAlgorithm().findMSTAsync(randomGraph(100), single);
+            assertTrue(future.cancel(true));
+            release.countDown();
+            assertThrows(CancellationException.class, future::join);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    private Graph randomGraph(int vertices) {
+        Random random = new Random(vertices);
+        return TestGraphs.randomConnected(random, vertices, vertices * 3, () -> random.nextDouble() * 100);
+    }
+}
@@ -0,0 +1,99 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Graph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regenerates the timings behind CostModel.defaults(). The CSV is written to
+ * target/cost_model_benchmark.csv; copying it over src/main/resources/cost_model_benchmark.csv
+ * and pasting the printed coefficients into defaults() refits the shipped model.
+ */
+class CostModelBenchmarkTest {
+
+    private static final int[] VERTICES = { 50, 200, 1_000, 5_000, 20_000, 100_000, 300_000 };
+    private static final int[] AVERAGE_DEGREES = { 2, 4, 8, 16, 32 };
+    private static final int[] MAX_WEIGHTS = { 100, 60_000 };
+    private static final long MAX_EDGES = 4_000_000;
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: solve times behind the default cost model")
+    void benchmarkCostModel() throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = Math.max(2, cores);
+        Map<String, MSTAlgorithm> engines = new LinkedHashMap<>();
+        engines.put(CostModel.PRIM, new PrimAlgorithm());
+        engines.put(CostModel.PRIM_BUCKET, new PrimAlgorithm(true));
+        engines.put(CostModel.KRUSKAL, new KruskalAlgorithm());
+        engines.put(CostModel.PARALLEL_PRIM, new ParallelPrimAlgorithm(threads));
+
+        Random random = new Random(1);
+        Graph warmup = TestGraphs.randomConnected(random, 20_000, 60_000, 100);
+        for (MSTAlgorithm engine : engines.values()) {
+            for (int i = 0; i < 30; i++) {
+                assertTrue(engine.findMST(warmup).isSuccess());
+            }
+        }
+
+        Path csv = Paths.get("target", "cost_model_benchmark.csv");
+        Files.createDirectories(csv.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("Vertices,Edges,Max_Weight,Prim_Time_ms,Prim_Bucket_Time_ms,Kruskal_Time_ms,"
+                    + "Parallel_Prim_Time_ms,Parallel_Prim_Threads");
+            for (int v : VERTICES) {
+                for (int degree : AVERAGE_DEGREES) {
+                    long edges = (long) v * degree / 2;
+                    if (edges > MAX_EDGES) continue;
+                    for (int maxWeight : MAX_WEIGHTS) {
+                        Graph graph = TestGraphs.randomConnected(random, v, (int) edges - (v - 1), maxWeight);
+                        StringBuilder row = new StringBuilder();
+                        row.append(v).append(',').append(graph.getEdgeCount()).append(',').append(maxWeight);
+                        for (MSTAlgorithm engine : engines.values()) {
+                            row.append(String.format(Locale.ROOT, ",%.4f", medianMs(engine, graph)));
+                        }
+                        // Threads beyond the core count only time-slice, so record the parallelism actually available
+                        row.append(',').append(Math.min(threads, cores));
+                        writer.println(row);
+                    }
+                }
+            }
+        }
+
+        CostModel model = CostModel.calibrate(csv.toString());
+        for (String engine : engines.keySet()) {
+            double[] c = model.coefficients(engine);
+            System.out.printf(Locale.ROOT, "%s: intercept %.3e ms, slope %.3e ms%n", engine, c[0], c[1]);
+        }
+    }
+
+    /**
+     * Median of enough solves to spend at least ~50 ms per engine and graph.
+     */
+    private static double medianMs(MSTAlgorithm engine, Graph graph) {
+        int runs = (int) Math.max(7, Math.min(201, 2_000_000L / graph.getEdgeCount()));
+        double[] times = new double[runs | 1];
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            assertTrue(engine.findMST(graph).isSuccess());
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+}
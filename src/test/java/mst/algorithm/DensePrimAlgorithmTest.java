@@ -0,0 +1,140 @@
+package mst.algorithm;
+
+import mst.analysis.MSTVerifier;
+import mst.io.JSONHandler;
+import mst.model.AdjacencyMatrix;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DensePrimAlgorithmTest {
+
+    private static List<String> names(int vertices) {
+        List<String> names = new ArrayList<>(vertices);
+        for (int v = 0; v < vertices; v++) {
+            names.add("V" + v);
+        }
+        return names;
+    }
+
+    /**
+     * Complete graph with integer weights, a fraction of the pairs left without an edge.
+     */
+    private static double[][] randomRows(int vertices, double missing, Random random) {
+        double[][] rows = new double[vertices][vertices];
+        for (int i = 0; i < vertices; i++) {
+            rows[i][i] = AdjacencyMatrix.NO_EDGE;
+            for (int j = 0; j < i; j++) {
+                double weight = random.nextDouble() < missing ? AdjacencyMatrix.NO_EDGE : 1 + random.nextInt(10_000);
+                rows[i][j] = weight;
+                rows[j][i] = weight;
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Dense Prim matches Prim on double and float matrices")
+    void testMatchesPrim() {
+        Random random = new Random(49);
+        DensePrimAlgorithm dense = new DensePrimAlgorithm();
+        MSTVerifier verifier = new MSTVerifier();
+        for (int vertices : new int[]{1, 2, 7, 64, 301}) {
+            double[][] rows = randomRows(vertices, 0.3, random);
+            Graph graph = Graph.fromAdjacencyMatrix(names(vertices), rows);
+            if (!graph.isConnected()) {
+                continue;
+            }
+            MSTResult expected = new PrimAlgorithm().findMST(graph);
+
+            MSTResult fromMatrix = dense.findMST(AdjacencyMatrix.of(names(vertices), rows));
+            assertTrue(fromMatrix.isSuccess());
+            assertEquals(expected.getTotalCost(), fromMatrix.getTotalCost());
+            assertEquals(vertices - 1, fromMatrix.getMstEdges().size());
+            assertEquals(graph.getEdgeCount(), fromMatrix.getEdgeCount());
+            assertTrue(verifier.verify(graph, fromMatrix).isValid());
+            assertEquals(DensePrimAlgorithm.FRONTIER_ARRAY_SCAN, fromMatrix.getFrontier());
+
+            float[][] floatRows = new float[vertices][vertices];
+            for (int i = 0; i < vertices; i++) {
+                for (int j = 0; j < vertices; j++) {
+                    floatRows[i][j] = (float) rows[i][j];
+                }
+            }
+            MSTResult single = dense.findMST(AdjacencyMatrix.of(names(vertices), floatRows));
+            assertEquals(expected.getTotalCost(), single.getTotalCost());
+
+            assertEquals(expected.getTotalCost(), dense.findMST(graph).getTotalCost());
+        }
+    }
+
+    @Test
+    @DisplayName("Disconnected and malformed matrices are reported")
+    void testInvalidInput() {
+        double inf = AdjacencyMatrix.NO_EDGE;
+        double[][] split = {{0, 1, inf}, {1, 0, inf}, {inf, inf, 0}};
+        MSTResult result = new DensePrimAlgorithm().findMST(AdjacencyMatrix.of(names(3), split));
+        assertFalse(result.isSuccess());
+        assertEquals("Graph is not connected - MST cannot be formed", result.getMessage());
+
+        double[][] asymmetric = {{0, 1}, {2, 0}};
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyMatrix.of(names(2), asymmetric));
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyMatrix.of(names(2), new double[][]{{0, 1}, {1}}));
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyMatrix.of(names(3), new double[][]{{0}}));
+    }
+
+    @Test
+    @DisplayName("JSON graphs can be given as a weight matrix with null for missing roads")
+    void testJsonMatrix() throws Exception {
+        String json = "{\"graphs\":[{\"id\":5,\"nodes\":[\"A\",\"B\",\"C\"],"
+                + "\"matrix\":[[0,4,1],[4,0,null],[1,null,0]]}]}";
+        List<Graph> graphs = new JSONHandler().readGraphs(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "test");
+
+        Graph graph = graphs.get(0);
+        assertEquals(5, graph.getGraphId());
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(5.0, new DensePrimAlgorithm().findMST(graph).getTotalCost());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: dense Prim vs Prim on complete graphs")
+    void benchmarkAgainstPrim() {
+        int vertices = 2_000;
+        double[][] rows = randomRows(vertices, 0.0, new Random(7));
+        AdjacencyMatrix matrix = AdjacencyMatrix.of(names(vertices), rows);
+        Graph graph = matrix.toGraph();
+        PrimAlgorithm prim = new PrimAlgorithm();
+        DensePrimAlgorithm dense = new DensePrimAlgorithm();
+
+        long primBest = Long.MAX_VALUE;
+        long denseBest = Long.MAX_VALUE;
+        double primCost = 0;
+        double denseCost = 0;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            primCost = prim.findMST(graph).getTotalCost();
+            primBest = Math.min(primBest, System.nanoTime() - start);
+            start = System.nanoTime();
+            denseCost = dense.findMST(matrix).getTotalCost();
+            denseBest = Math.min(denseBest, System.nanoTime() - start);
+        }
+
+        assertEquals(primCost, denseCost);
+        System.out.printf("Complete graph V=%d E=%d: Prim %d ms, dense Prim %d ms (%.1fx)%n",
+                vertices, graph.getEdgeCount(), primBest / 1_000_000, denseBest / 1_000_000,
+                (double) primBest / denseBest);
+    }
+}
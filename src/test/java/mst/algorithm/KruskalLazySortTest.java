@@ -0,0 +1,105 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KruskalLazySortTest {
+
+    private static Graph completeGraph(int vertices, Random random) {
+        Graph graph = new Graph(vertices);
+        for (int i = 0; i < vertices; i++) {
+            for (int j = i + 1; j < vertices; j++) {
+                graph.addEdge(i, j, random.nextDouble());
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Incremental sort yields the same order as the full sort")
+    void testIncrementalOrder() {
+        Random random = new Random(50);
+        for (int n : new int[]{0, 1, 2, 17, 1_000, 50_000}) {
+            for (int pattern = 0; pattern < 4; pattern++) {
+                double[] weights = new double[n];
+                for (int i = 0; i < n; i++) {
+                    weights[i] = pattern == 0 ? random.nextInt(10)      // many ties
+                            : pattern == 1 ? i                           // already sorted
+                            : pattern == 2 ? n - i                       // reversed
+                            : random.nextDouble();
+                }
+                int[] expected = new int[n];
+                int[] lazy = new int[n];
+                for (int i = 0; i < n; i++) {
+                    expected[i] = i;
+                    lazy[i] = i;
+                }
+                EdgeSort.sort(expected, n, weights);
+                EdgeSort.Incremental incremental = new EdgeSort.Incremental(lazy, n, weights);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(expected[i], incremental.poll(), "n=" + n + " pattern=" + pattern + " i=" + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Lazy Kruskal picks exactly the tree of eager Kruskal")
+    void testSameTree() {
+        Random random = new Random(51);
+        KruskalAlgorithm eager = new KruskalAlgorithm();
+        KruskalAlgorithm lazy = new KruskalAlgorithm(true);
+        SolverWorkspace workspace = new SolverWorkspace();
+        for (int round = 0; round < 20; round++) {
+            Graph graph = TestGraphs.randomConnected(random, 500 + random.nextInt(500), random.nextInt(5_000), 20);
+            MSTResult expected = eager.findMST(graph);
+            MSTResult actual = lazy.findMST(graph, workspace);
+            assertTrue(actual.isSuccess());
+            assertEquals(expected.getMstEdges(), actual.getMstEdges());
+            assertEquals(expected.getTotalCost(), actual.getTotalCost());
+        }
+
+        Graph disconnected = new Graph(3);
+        disconnected.addEdge(0, 1, 1);
+        assertFalse(lazy.findMST(disconnected).isSuccess());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: lazy vs full sort on dense and sparse graphs")
+    void benchmarkLazySort() {
+        Random random = new Random(52);
+        Graph dense = completeGraph(1_500, random);
+        Graph sparse = TestGraphs.randomConnected(random, 300_000, 300_000, 1_000_000);
+        KruskalAlgorithm eager = new KruskalAlgorithm();
+        KruskalAlgorithm lazy = new KruskalAlgorithm(true);
+        SolverWorkspace workspace = new SolverWorkspace();
+
+        for (Graph graph : new Graph[]{dense, sparse}) {
+            long eagerBest = Long.MAX_VALUE;
+            long lazyBest = Long.MAX_VALUE;
+            MSTResult eagerResult = null;
+            MSTResult lazyResult = null;
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                eagerResult = eager.findMST(graph, workspace);
+                eagerBest = Math.min(eagerBest, System.nanoTime() - start);
+                start = System.nanoTime();
+                lazyResult = lazy.findMST(graph, workspace);
+                lazyBest = Math.min(lazyBest, System.nanoTime() - start);
+            }
+            assertEquals(eagerResult.getTotalCost(), lazyResult.getTotalCost());
+            System.out.printf("V=%d E=%d: full sort %d ms, lazy %d ms (%.1fx), operations %d vs %d%n",
+                    graph.getVertices(), graph.getEdgeCount(), eagerBest / 1_000_000, lazyBest / 1_000_000,
+                    (double) eagerBest / lazyBest, eagerResult.getOperationCount(), lazyResult.getOperationCount());
+        }
+    }
+}
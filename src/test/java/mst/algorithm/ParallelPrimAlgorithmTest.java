@@ -0,0 +1,67 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.unionfind.DisjointSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelPrimAlgorithmTest {
+
+    private final KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+    @Test
+    @DisplayName("Parallel Prim matches Kruskal for several thread counts")
+    void testMatchesKruskal() {
+        Random random = new Random(17);
+        for (int threads : new int[] { 1, 2, 4, 8 }) {
+            ParallelPrimAlgorithm parallel = new ParallelPrimAlgorithm(threads);
+            for (int round = 0; round < 10; round++) {
+                Graph graph = TestGraphs.randomConnected(random, 50 + random.nextInt(500), 1500, 11);
+                assertSpanningTreeWithCost(graph, parallel.findMST(graph), kruskal.findMST(graph).getTotalCost());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel Prim handles all-equal weights without creating cycles")
+    void testTiedWeights() {
+        Random random = new Random(23);
+        Graph graph = TestGraphs.randomConnected(random, 2000, 6000, 1);
+        MSTResult result = new ParallelPrimAlgorithm(8).findMST(graph);
+        assertSpanningTreeWithCost(graph, result, 1999.0);
+    }
+
+    @Test
+    @DisplayName("Parallel Prim reports disconnected graphs and trivial graphs like Prim")
+    void testEdgeCases() {
+        Graph disconnected = new Graph(Arrays.asList("A", "B", "C", "D"));
+        disconnected.addEdge("A", "B", 1);
+        disconnected.addEdge("C", "D", 2);
+        assertFalse(new ParallelPrimAlgorithm(4).findMST(disconnected).isSuccess());
+
+        Graph single = new Graph(Arrays.asList("A"));
+        MSTResult result = new ParallelPrimAlgorithm(4).findMST(single);
+        assertTrue(result.isSuccess());
+        assertEquals(0, result.getMstEdges().size());
+    }
+
+    private void assertSpanningTreeWithCost(Graph graph, MSTResult result, double expectedCost) {
+        assertTrue(result.isSuccess());
+        assertEquals(graph.getVertices() - 1, result.getMstEdges().size());
+        assertEquals(expectedCost, result.getTotalCost(), 1e-6);
+
+        DisjointSet uf = new DisjointSet(graph.getVertices());
+        for (Edge edge : result.getMstEdges()) {
+            assertNotEquals(uf.find(edge.getSource()), uf.find(edge.getDestination()), "MST contains a cycle");
+            uf.union(edge.getSource(), edge.getDestination());
+        }
+    }
+}
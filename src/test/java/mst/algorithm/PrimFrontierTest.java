@@ -0,0 +1,102 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimFrontierTest {
+
+    @Test
+    @DisplayName("Integer weights use the bucket queue and match the heap cost")
+    void testBucketFrontierMatchesHeap() {
+        Random random = new Random(3);
+        PrimAlgorithm heapPrim = new PrimAlgorithm();
+        PrimAlgorithm bucketPrim = new PrimAlgorithm(true);
+
+        for (int round = 0; round < 20; round++) {
+            Graph graph = TestGraphs.randomConnected(random, 10 + random.nextInt(100), 300, () -> random.nextInt(51));
+
+            MSTResult heapResult = heapPrim.findMST(graph);
+            MSTResult bucketResult = bucketPrim.findMST(graph);
+
+            assertEquals(PrimAlgorithm.FRONTIER_BINARY_HEAP, heapResult.getFrontier());
+            assertEquals(PrimAlgorithm.FRONTIER_BUCKET_QUEUE, bucketResult.getFrontier());
+            assertEquals(heapResult.getTotalCost(), bucketResult.getTotalCost(), 0.001);
+            assertEquals(graph.getVertices() - 1, bucketResult.getMstEdges().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Fractional or very large weights fall back to the binary heap")
+    void testFallbackToHeap() {
+        Graph fractional = new Graph(3);
+        fractional.addEdge(0, 1, 1.5);
+        fractional.addEdge(1, 2, 2);
+        assertFalse(fractional.isIntegerWeighted());
+        assertEquals(PrimAlgorithm.FRONTIER_BINARY_HEAP, new PrimAlgorithm(true).findMST(fractional).getFrontier());
+
+        Graph large = new Graph(3);
+        large.addEdge(0, 1, 1);
+        large.addEdge(1, 2, PrimAlgorithm.MAX_BUCKET_WEIGHT + 1);
+        assertTrue(large.isIntegerWeighted());
+        assertEquals(PrimAlgorithm.FRONTIER_BINARY_HEAP, new PrimAlgorithm(true).findMST(large).getFrontier());
+    }
+
+    @Test
+    @DisplayName("Bucket frontier handles zero weights and reused workspaces")
+    void testZeroWeightsAndReuse() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(2, 3, 0);
+        graph.addEdge(0, 3, 1);
+
+        SolverWorkspace workspace = new SolverWorkspace();
+        PrimAlgorithm prim = new PrimAlgorithm(true);
+        for (int i = 0; i < 3; i++) {
+            MSTResult result = prim.findMST(graph, workspace);
+            assertEquals(1.0, result.getTotalCost(), 0.001);
+            assertEquals(PrimAlgorithm.FRONTIER_BUCKET_QUEUE, result.getFrontier());
+        }
+    }
+
+    @Test
+    @DisplayName("Bucket queue always polls the lightest key, and its work does not grow with the weight range")
+    void testBucketQueueOrder() {
+        Random random = new Random(28);
+        BucketQueue buckets = new BucketQueue();
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        buckets.reset(PrimAlgorithm.MAX_BUCKET_WEIGHT, 20_000);
+        for (int i = 0; i < 20_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int key = random.nextInt(PrimAlgorithm.MAX_BUCKET_WEIGHT + 1);
+                buckets.offer(new Edge(0, 1, key, "A", "B"));
+                expected.add(key);
+            } else {
+                assertEquals(expected.poll().doubleValue(), buckets.poll().getWeight());
+            }
+        }
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll().doubleValue(), buckets.poll().getWeight());
+        }
+        assertTrue(buckets.isEmpty());
+
+        // Weights alternate between the ends of the range, so a cursor would rescan it
+        Graph graph = new Graph(2_000);
+        for (int v = 1; v < 2_000; v++) {
+            graph.addEdge(v - 1, v, v % 2 == 0 ? 0 : PrimAlgorithm.MAX_BUCKET_WEIGHT);
+            graph.addEdge(0, v, PrimAlgorithm.MAX_BUCKET_WEIGHT - 1);
+        }
+        MSTResult result = new PrimAlgorithm(true).findMST(graph);
+        assertEquals(PrimAlgorithm.FRONTIER_BUCKET_QUEUE, result.getFrontier());
+        assertTrue(result.getOperationCount() < 20L * graph.getEdgeCount(), "operations: " + result.getOperationCount());
+    }
+}
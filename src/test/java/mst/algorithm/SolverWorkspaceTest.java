@@ -0,0 +1,75 @@
+package mst.algorithm;
+
+import mst.TestGraphs;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverWorkspaceTest {
+
+    @Test
+    @DisplayName("Reused workspace gives the same MST as a fresh solve")
+    void testReuseMatchesFreshSolve() {
+        SolverWorkspace workspace = new SolverWorkspace();
+        PrimAlgorithm prim = new PrimAlgorithm();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        Random random = new Random(7);
+
+        for (int round = 0; round < 20; round++) {
+            Graph graph = TestGraphs.randomConnected(random, 5 + random.nextInt(60), 100, 20);
+
+            MSTResult primFresh = prim.findMST(graph);
+            MSTResult primReused = prim.findMST(graph, workspace);
+            MSTResult kruskalFresh = kruskal.findMST(graph);
+            MSTResult kruskalReused = kruskal.findMST(graph, workspace);
+
+            assertEquals(primFresh.getMstEdges(), primReused.getMstEdges());
+            assertEquals(kruskalFresh.getMstEdges(), kruskalReused.getMstEdges());
+            assertEquals(primReused.getTotalCost(), kruskalReused.getTotalCost(), 0.001);
+            assertEquals(primFresh.getOperationCount(), primReused.getOperationCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Workspace grows to the largest graph and keeps its capacity")
+    void testCapacityGrowsMonotonically() {
+        SolverWorkspace workspace = new SolverWorkspace();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        Random random = new Random(11);
+
+        kruskal.findMST(TestGraphs.randomConnected(random, 80, 160, 20), workspace);
+        int vertexCapacity = workspace.getVertexCapacity();
+        int edgeCapacity = workspace.getEdgeCapacity();
+        assertTrue(vertexCapacity >= 80);
+
+        kruskal.findMST(TestGraphs.randomConnected(random, 10, 20, 20), workspace);
+        assertEquals(vertexCapacity, workspace.getVertexCapacity());
+        assertEquals(edgeCapacity, workspace.getEdgeCapacity());
+    }
+
+    @Test
+    @DisplayName("Workspace sort keeps tied edges in insertion order")
+    void testSortIsStableOnTies() {
+        Graph graph = new Graph(40);
+        for (int i = 1; i < 40; i++) {
+            graph.addEdge(i - 1, i, i % 3);
+        }
+
+        SolverWorkspace workspace = new SolverWorkspace();
+        int n = workspace.loadSortedEdges(graph);
+
+        List<Edge> expected = new ArrayList<>(graph.getEdges());
+        expected.sort(null);
+        for (int i = 0; i < n; i++) {
+            assertSame(expected.get(i), workspace.edges[workspace.order[i]]);
+        }
+    }
+}
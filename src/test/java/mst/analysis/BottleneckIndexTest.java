@@ -0,0 +1,121 @@
+package mst.analysis;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BottleneckIndexTest {
+
+    @Test
+    @DisplayName("Bottleneck weights match a walk along the tree path")
+    void testMatchesTreeWalk() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 1 + random.nextInt(40);
+            Graph graph = new Graph(n);
+            for (int v = 1; v < n; v++) {
+                graph.addEdge(random.nextInt(v), v, random.nextInt(20) + random.nextDouble());
+            }
+            for (int i = random.nextInt(3 * n); i > 0; i--) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(20) + random.nextDouble());
+            }
+            MSTResult mst = new PrimAlgorithm().findMST(graph);
+            BottleneckIndex index = BottleneckIndex.build(graph, mst);
+
+            for (int u = 0; u < n; u++) {
+                double[] expected = pathMaxima(n, mst.getMstEdges(), u);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[v], index.bottleneck(u, v), 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Named and batch queries")
+    void testNamedAndBatch() {
+        Graph graph = new Graph(Arrays.asList("Harbor", "Station", "Market", "Airport"));
+        graph.addEdge("Harbor", "Station", 3.0);
+        graph.addEdge("Station", "Market", 1.0);
+        graph.addEdge("Market", "Airport", 7.0);
+        graph.addEdge("Harbor", "Airport", 9.0);
+        BottleneckIndex index = BottleneckIndex.build(graph, new KruskalAlgorithm().findMST(graph));
+
+        assertEquals(3.0, index.bottleneck("Harbor", "Market"));
+        assertEquals(7.0, index.bottleneck("Airport", "Harbor"));
+        assertEquals(0.0, index.bottleneck("Market", "Market"));
+        assertArrayEquals(new double[]{1.0, 7.0},
+                index.bottleneck(List.of("Station", "Station"), List.of("Market", "Airport")));
+        assertArrayEquals(new double[]{3.0}, index.bottleneck(new int[]{0}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> index.bottleneck("Harbor", "Nowhere"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: batch query throughput on a large tree")
+    void benchmarkBatch() {
+        int n = 500_000;
+        Random random = new Random(4);
+        Graph graph = new Graph(n);
+        for (int v = 1; v < n; v++) {
+            graph.addEdge(random.nextInt(v), v, random.nextInt(1000));
+        }
+        MSTResult mst = new KruskalAlgorithm().findMST(graph);
+
+        long start = System.nanoTime();
+        BottleneckIndex index = BottleneckIndex.build(graph, mst);
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+
+        int queries = 2_000_000;
+        int[] from = new int[queries];
+        int[] to = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+        long best = Long.MAX_VALUE;
+        double[] answers = null;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            answers = index.bottleneck(from, to);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertEquals(queries, answers.length);
+        System.out.printf("BottleneckIndex: build %d ms, %.1f M queries/s%n", buildMs, queries / (best / 1e9) / 1e6);
+    }
+
+    private static double[] pathMaxima(int n, List<Edge> treeEdges, int source) {
+        Graph tree = new Graph(n);
+        for (Edge edge : treeEdges) {
+            tree.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        double[] best = new double[n];
+        Arrays.fill(best, -1);
+        best[source] = 0;
+        int[] stack = new int[n];
+        int top = 0;
+        stack[top++] = source;
+        while (top > 0) {
+            int v = stack[--top];
+            for (Edge edge : tree.getAdjacentEdges(v)) {
+                int w = edge.getDestination();
+                if (best[w] < 0) {
+                    best[w] = Math.max(best[v], edge.getWeight());
+                    stack[top++] = w;
+                }
+            }
+        }
+        return best;
+    }
+}
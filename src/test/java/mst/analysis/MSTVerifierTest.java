@@ -0,0 +1,96 @@
+package mst.analysis;
+
+import mst.TestGraphs;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTVerifierTest {
+
+    private final MSTVerifier verifier = new MSTVerifier();
+
+    @Test
+    @DisplayName("Engine results verify on random graphs with ties and parallel edges")
+    void testAcceptsEngineResults() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 100; trial++) {
+            Graph graph = TestGraphs.randomConnected(random, 1 + random.nextInt(150), random.nextInt(600), 10);
+            assertTrue(verifier.verify(graph, new PrimAlgorithm().findMST(graph)).isValid());
+            assertTrue(verifier.verify(graph, new KruskalAlgorithm().findMST(graph)).isValid());
+        }
+    }
+
+    @Test
+    @DisplayName("A spanning tree that is not minimum is rejected with the improving edge")
+    void testRejectsNonMinimalTree() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 5.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(0, 3, 2.0);
+
+        // Spanning tree using the weight-5 edge instead of the weight-2 edge
+        List<Edge> tree = List.of(graph.getEdge(0), graph.getEdge(1), graph.getEdge(2));
+        Verification verification = verifier.verify(graph, result(tree));
+        assertFalse(verification.isValid());
+        assertEquals(2.0, verification.getViolatingEdge().getWeight());
+        assertEquals(5.0, verification.getHeavierTreeEdge().getWeight());
+    }
+
+    @Test
+    @DisplayName("Cycles, missing edges, wrong sizes and wrong costs are rejected")
+    void testRejectsMalformedResults() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 0, 1.0);
+        graph.addEdge(2, 3, 1.0);
+
+        List<Edge> cycle = List.of(graph.getEdge(0), graph.getEdge(1), graph.getEdge(2));
+        assertFalse(verifier.verify(graph, result(cycle)).isValid());
+
+        List<Edge> foreign = List.of(graph.getEdge(0), graph.getEdge(1), new Edge(0, 3, 1.0));
+        assertFalse(verifier.verify(graph, result(foreign)).isValid());
+
+        assertFalse(verifier.verify(graph, result(List.of(graph.getEdge(0)))).isValid());
+
+        MSTResult wrongCost = new MSTResult.Builder()
+                .mstEdges(List.of(graph.getEdge(0), graph.getEdge(1), graph.getEdge(3)))
+                .totalCost(10.0)
+                .success(true)
+                .build();
+        assertFalse(verifier.verify(graph, wrongCost).isValid());
+    }
+
+    @Test
+    @DisplayName("Verification work is linear in the edge count")
+    void testLargeGraph() {
+        Graph graph = TestGraphs.randomConnected(new Random(1), 20_000, 40_000, 10);
+        MSTResult result = new KruskalAlgorithm().findMST(graph);
+
+        Verification verification = verifier.verify(graph, result);
+
+        assertTrue(verification.isValid());
+        // One pass to load the edges, two LCA queries per edge, and building the reconstruction tree
+        long edges = graph.getEdgeCount();
+        long vertices = graph.getVertices();
+        assertTrue(verification.getOperationCount() <= 3 * edges + (long) (vertices * Math.log(vertices)),
+                "operations: " + verification.getOperationCount());
+    }
+
+    private static MSTResult result(List<Edge> edges) {
+        double cost = 0;
+        for (Edge edge : edges) cost += edge.getWeight();
+        return new MSTResult.Builder().mstEdges(new ArrayList<>(edges)).totalCost(cost).success(true).build();
+    }
+}
@@ -0,0 +1,151 @@
+package mst.analysis;
+
+import mst.TestGraphs;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensitivityIndexTest {
+
+    @Test
+    @DisplayName("Tolerances and replacement costs match re-solving")
+    void testMatchesResolve() {
+        Random random = new Random(17);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 2 + random.nextInt(25);
+            Graph graph = randomGraph(random, n, random.nextInt(3 * n));
+            MSTResult mst = new PrimAlgorithm().findMST(graph);
+            SensitivityIndex index = SensitivityIndex.build(graph, mst);
+
+            for (int i = 0; i < graph.getEdgeCount(); i++) {
+                Edge edge = graph.getEdge(i);
+                if (index.isTreeEdge(i)) {
+                    // Closing the road: re-solve without it
+                    MSTResult without = new KruskalAlgorithm().findMST(copyWithout(graph, i));
+                    double expected = without.isSuccess() ? without.getTotalCost() : Double.POSITIVE_INFINITY;
+                    assertEquals(expected, index.getCostWithout(i), 1e-9);
+                    Edge replacement = index.getReplacement(i);
+                    if (replacement == null) {
+                        assertEquals(Double.POSITIVE_INFINITY, index.getTolerance(i));
+                    } else {
+                        assertEquals(replacement.getWeight() - edge.getWeight(), index.getTolerance(i), 1e-9);
+                    }
+                } else if (edge.getSource() != edge.getDestination()) {
+                    // Lowering the road just below the tolerance must bring it into the tree
+                    double pathMax = bruteForcePathMax(graph, mst, edge.getSource(), edge.getDestination());
+                    assertEquals(edge.getWeight() - pathMax, index.getTolerance(i), 1e-9);
+                    assertEquals(pathMax, index.getReplacement(i).getWeight(), 1e-9);
+                    assertEquals(mst.getTotalCost(), index.getCostWithout(i), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Named lookups and bridges")
+    void testNamedLookupAndBridge() {
+        Graph graph = new Graph(Arrays.asList("A", "B", "C", "D"));
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("A", "C", 4.0);
+        graph.addEdge("C", "D", 3.0);
+        SensitivityIndex index = SensitivityIndex.build(graph, new KruskalAlgorithm().findMST(graph));
+
+        int bc = index.findEdge("C", "B");
+        assertTrue(index.isTreeEdge(bc));
+        assertEquals(2.0, index.getTolerance(bc), 1e-9);
+        assertEquals("A", index.getReplacement(bc).getSourceName());
+
+        int cd = index.findEdge("C", "D");
+        assertEquals(Double.POSITIVE_INFINITY, index.getTolerance(cd));
+        assertNull(index.getReplacement(cd));
+
+        int ac = index.findEdge("A", "C");
+        assertFalse(index.isTreeEdge(ac));
+        assertEquals(2.0, index.getTolerance(ac), 1e-9);
+        assertEquals(-1, index.findEdge("A", "Z"));
+        assertEquals(3.0, index.pathMaxWeight(0, 3), 1e-9);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: query throughput on a large graph")
+    void benchmarkQueries() {
+        Graph graph = randomGraph(new Random(2), 200_000, 300_000);
+        MSTResult mst = new KruskalAlgorithm().findMST(graph);
+
+        long start = System.nanoTime();
+        SensitivityIndex index = SensitivityIndex.build(graph, mst);
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+
+        int queries = 2_000_000;
+        Random random = new Random(3);
+        int[] edges = new int[queries];
+        for (int i = 0; i < queries; i++) edges[i] = random.nextInt(graph.getEdgeCount());
+        double sink = 0;
+        long queryNs = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                double tolerance = index.getTolerance(edges[i]);
+                if (tolerance != Double.POSITIVE_INFINITY) sink += tolerance;
+            }
+            queryNs = Math.min(queryNs, System.nanoTime() - start);
+        }
+
+        assertTrue(sink >= 0);
+        System.out.printf("SensitivityIndex: build %d ms, %.1f M tolerance queries/s%n",
+                buildMs, queries / (queryNs / 1e9) / 1e6);
+    }
+
+    private static Graph copyWithout(Graph graph, int skip) {
+        Graph copy = new Graph(graph.getVertices());
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            if (i == skip) continue;
+            Edge edge = graph.getEdge(i);
+            copy.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        return copy;
+    }
+
+    private static double bruteForcePathMax(Graph graph, MSTResult mst, int from, int to) {
+        Graph tree = new Graph(graph.getVertices());
+        for (Edge edge : mst.getMstEdges()) {
+            tree.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        double[] best = new double[graph.getVertices()];
+        Arrays.fill(best, -1);
+        best[from] = 0;
+        int[] stack = new int[graph.getVertices()];
+        int top = 0;
+        stack[top++] = from;
+        while (top > 0) {
+            int v = stack[--top];
+            for (Edge edge : tree.getAdjacentEdges(v)) {
+                int w = edge.getDestination();
+                if (best[w] < 0) {
+                    best[w] = Math.max(best[v], edge.getWeight());
+                    stack[top++] = w;
+                }
+            }
+        }
+        return best[to];
+    }
+
+    /**
+     * Fractional weights keep ties rare so tolerances are unambiguous.
+     */
+    private static Graph randomGraph(Random random, int n, int extraEdges) {
+        return TestGraphs.randomConnected(random, n, extraEdges, () -> 1 + random.nextInt(9) + random.nextDouble());
+    }
+}
@@ -0,0 +1,82 @@
+package mst.batch;
+
+import mst.algorithm.CostModel;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.io.FileStreams;
+import mst.util.ResultAnalyzer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    private static final Path SAMPLE = Path.of("src/main/resources/input.json");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("A directory is solved file by file into outputs and one summary CSV")
+    void testDirectoryBatch() throws Exception {
+        Path inputs = Files.createDirectory(tempDir.resolve("incoming"));
+        Files.copy(SAMPLE, inputs.resolve("a.json"));
+        Files.copy(SAMPLE, inputs.resolve("b.json"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(inputs.resolve("c.json.gz")))) {
+            Files.copy(SAMPLE, out);
+        }
+        Files.writeString(inputs.resolve("broken.json"), "{\"graphs\": [");
+        Files.writeString(inputs.resolve("notes.txt"), "not an input");
+
+        List<Path> files = BatchRunner.resolveInputs(inputs.toString());
+        assertEquals(4, files.size());
+
+        Path output = tempDir.resolve("out");
+        BatchRunner.Report report = new BatchRunner(new PrimAlgorithm(true), new KruskalAlgorithm(), 2)
+                .run(files, output);
+
+        assertEquals(3, report.getFilesSolved());
+        assertEquals(30, report.getGraphsSolved());
+        assertEquals(1, report.getFailures().size());
+        assertTrue(report.getFailures().get(0).startsWith("broken.json"));
+        assertTrue(Files.exists(output.resolve("a_output.json")));
+        try (InputStream in = FileStreams.openInput(output.resolve("c_output.json.gz").toString())) {
+            assertEquals('{', in.read());
+        }
+
+        List<String> lines = Files.readAllLines(report.getSummaryFile());
+        assertEquals(31, lines.size());
+        assertEquals(ResultAnalyzer.CSV_HEADER + ",Source_File", lines.get(0));
+        assertTrue(lines.get(1).contains(",YES,"));
+        assertTrue(lines.get(1).endsWith(",a.json"));
+        assertTrue(lines.get(30).endsWith(",c.json.gz"));
+        // The summary is in the format the cost model calibrates from; these graphs are too small
+        // to time, so only the operation counts can be fitted
+        assertNotNull(CostModel.calibrate(report.getSummaryFile().toString(), CostModel.Metric.OPERATIONS));
+    }
+
+    @Test
+    @DisplayName("Globs match file names and outputs keep the input's base name")
+    void testGlobAndOutputNames() throws IOException {
+        Files.copy(SAMPLE, tempDir.resolve("2024-01.json"));
+        Files.copy(SAMPLE, tempDir.resolve("2024-02.json"));
+        Files.copy(SAMPLE, tempDir.resolve("2023-12.json"));
+
+        List<Path> files = BatchRunner.resolveInputs(tempDir.resolve("2024-*.json").toString());
+        assertEquals(List.of(tempDir.resolve("2024-01.json"), tempDir.resolve("2024-02.json")), files);
+        assertEquals(tempDir.resolve("x_output.json.gz"),
+                BatchRunner.outputPathFor(Path.of("in/x.json.gz"), tempDir));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchRunner(new PrimAlgorithm(), new KruskalAlgorithm(), 0));
+    }
+}
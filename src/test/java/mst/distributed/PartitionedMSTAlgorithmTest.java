@@ -0,0 +1,77 @@
+package mst.distributed;
+
+import mst.TestGraphs;
+import mst.algorithm.KruskalAlgorithm;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedMSTAlgorithmTest {
+
+    @Test
+    @DisplayName("In-process workers reproduce Kruskal's tree exactly")
+    void testMatchesKruskal() throws Exception {
+        List<InetSocketAddress> endpoints = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PartitionWorker worker = new PartitionWorker(0);
+            endpoints.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.getPort()));
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.serve();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Random random = new Random(3);
+        try (PartitionedMSTAlgorithm partitioned = new PartitionedMSTAlgorithm(endpoints)) {
+            assertEquals(3, partitioned.getWorkerCount());
+            for (int trial = 0; trial < 30; trial++) {
+                Graph graph = TestGraphs.randomConnected(random, 1 + random.nextInt(300), random.nextInt(1200), 30);
+                MSTResult expected = new KruskalAlgorithm().findMST(graph);
+                MSTResult actual = partitioned.findMST(graph);
+
+                assertTrue(actual.isSuccess());
+                assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1e-9);
+                assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(actual.getMstEdges()));
+            }
+
+            Graph disconnected = new Graph(4);
+            disconnected.addEdge(0, 1, 1.0);
+            disconnected.addEdge(2, 3, 1.0);
+            assertFalse(partitioned.findMST(disconnected).isSuccess());
+        }
+    }
+
+    @Test
+    @DisplayName("Spawned worker processes solve and shut down")
+    void testSpawnedWorkers() throws Exception {
+        Graph graph = TestGraphs.randomConnected(new Random(9), 500, 1000, 30);
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+
+        try (PartitionedMSTAlgorithm partitioned = PartitionedMSTAlgorithm.spawnLocal(2)) {
+            MSTResult actual = partitioned.findMST(graph);
+            assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1e-9);
+            assertEquals(499, actual.getMstEdges().size());
+            for (Edge edge : actual.getMstEdges()) {
+                assertTrue(graph.getEdges().contains(edge));
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package mst.geometry;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.io.JSONHandler;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EuclideanGraphBuilderTest {
+
+    private final KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+    @Test
+    @DisplayName("Candidate graph MST matches the complete-graph MST on random points")
+    void testMatchesCompleteGraph() {
+        Random random = new Random(5);
+        for (int round = 0; round < 10; round++) {
+            int n = 20 + random.nextInt(150);
+            double[] x = new double[n];
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextDouble() * 100;
+                y[i] = random.nextDouble() * 100;
+            }
+            assertCandidateMstMatches(x, y);
+        }
+    }
+
+    @Test
+    @DisplayName("Grid points with many ties and duplicate sites")
+    void testGridAndDuplicates() {
+        int side = 12;
+        double[] x = new double[side * side + 3];
+        double[] y = new double[side * side + 3];
+        for (int i = 0; i < side * side; i++) {
+            x[i] = i % side;
+            y[i] = i / side;
+        }
+        // Duplicate a few sites exactly
+        x[side * side] = 3; y[side * side] = 4;
+        x[side * side + 1] = 3; y[side * side + 1] = 4;
+        x[side * side + 2] = 11; y[side * side + 2] = 0;
+
+        assertCandidateMstMatches(x, y);
+    }
+
+    @Test
+    @DisplayName("Candidate edges stay linear in the number of points")
+    void testCandidateCountIsLinear() {
+        Random random = new Random(9);
+        int n = 2000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+
+        Graph graph = EuclideanGraphBuilder.build(names(n), x, y);
+        assertTrue(graph.getEdgeCount() <= 6 * n);
+        assertTrue(graph.isConnected());
+        assertTrue(graph.hasCoordinates());
+    }
+
+    @Test
+    @DisplayName("JSON nodes with coordinates and no edges are read in Euclidean mode")
+    void testJsonEuclideanMode() throws Exception {
+        List<Graph> graphs = new JSONHandler().readGraphs("src/main/resources/euclidean_input.json");
+        assertEquals(1, graphs.size());
+
+        Graph graph = graphs.get(0);
+        assertEquals(8, graph.getVertices());
+        assertTrue(graph.hasCoordinates());
+        assertEquals("Harbor", graph.getNodeName(0));
+
+        MSTResult result = kruskal.findMST(graph);
+        assertTrue(result.isSuccess());
+        assertEquals(7, result.getMstEdges().size());
+    }
+
+    @Test
+    @DisplayName("A node object without a name is rejected with its index")
+    void testJsonNodeWithoutName() {
+        String json = "{\"graphs\":[{\"id\":1,\"nodes\":[{\"name\":\"A\",\"x\":0,\"y\":0},{\"x\":1,\"y\":1}]}]}";
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new JSONHandler()
+                .readGraphs(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "test"));
+        assertEquals("Node 1 has no \"name\" field", e.getMessage());
+    }
+
+    private void assertCandidateMstMatches(double[] x, double[] y) {
+        int n = x.length;
+        Graph candidates = EuclideanGraphBuilder.build(names(n), x, y);
+
+        Graph complete = new Graph(names(n));
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                complete.addEdge(i, j, Math.sqrt((x[i] - x[j]) * (x[i] - x[j]) + (y[i] - y[j]) * (y[i] - y[j])));
+            }
+        }
+
+        MSTResult expected = kruskal.findMST(complete);
+        MSTResult actual = kruskal.findMST(candidates);
+        assertTrue(actual.isSuccess());
+        assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1e-9);
+    }
+
+    private List<String> names(int n) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            names.add("P" + i);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,98 @@
+package mst.io;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryResultFormatTest {
+
+    @Test
+    @DisplayName("Converting the binary format reproduces the JSON output exactly")
+    void testRoundTripMatchesJson() throws IOException {
+        List<JSONHandler.ResultPair> results = new ArrayList<>();
+        for (Graph graph : new JSONHandler().readGraphs("src/main/resources/input.json")) {
+            results.add(new JSONHandler.ResultPair(graph.getGraphId(), graph.getName(), graph.getVertices(),
+                    graph.getEdgeCount(), new PrimAlgorithm().findMST(graph), new KruskalAlgorithm().findMST(graph)));
+        }
+
+        Graph disconnected = new Graph(Arrays.asList("A", "B", "C"));
+        disconnected.addEdge("A", "B", 1.0);
+        results.add(new JSONHandler.ResultPair(99, "Islands", 3, 1, new KruskalAlgorithm().findMST(disconnected)));
+
+        Graph fractional = new Graph(4);
+        fractional.addEdge(0, 1, 0.1);
+        fractional.addEdge(1, 2, 2.5);
+        fractional.addEdge(2, 3, -1.0 / 3);
+        fractional.addEdge(0, 3, 7.0);
+        results.add(new JSONHandler.ResultPair(100, null, 4, 4, new PrimAlgorithm().findMST(fractional)));
+
+        List<JSONHandler.ResultPair> decoded = BinaryResultFormat.read(
+                new ByteArrayInputStream(encode(results)));
+
+        assertEquals(toJson(results), toJson(decoded));
+        JSONHandler.ResultPair islands = decoded.get(decoded.size() - 2);
+        assertEquals("Islands", islands.graphName);
+        assertFalse(islands.selectedResult.isSuccess());
+        MSTResult exact = decoded.get(decoded.size() - 1).selectedResult;
+        assertEquals(results.get(results.size() - 1).selectedResult.getTotalCost(), exact.getTotalCost());
+        assertEquals(-1.0 / 3, exact.getMstEdges().get(2).getWeight());
+    }
+
+    @Test
+    @DisplayName("Rejects input that is not in the binary format")
+    void testRejectsForeignInput() {
+        byte[] json = "{\"results\": []}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> BinaryResultFormat.read(new ByteArrayInputStream(json)));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: binary vs JSON size for a large named tree")
+    void benchmarkSize() throws IOException {
+        int n = 100_000;
+        Random random = new Random(8);
+        List<String> names = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            names.add("District-" + i);
+        }
+        Graph graph = new Graph(names);
+        for (int v = 1; v < n; v++) {
+            graph.addEdge(Math.max(0, v - 1 - random.nextInt(8)), v, 1 + random.nextInt(500));
+        }
+        List<JSONHandler.ResultPair> results = List.of(new JSONHandler.ResultPair(1, "Large", n,
+                graph.getEdgeCount(), new PrimAlgorithm().findMST(graph)));
+
+        byte[] binary = encode(results);
+        int json = toJson(results).length();
+        assertTrue(binary.length * 4 < json);
+        System.out.printf("BinaryResultFormat: %d bytes vs %d bytes of JSON (%.1fx smaller)%n",
+                binary.length, json, (double) json / binary.length);
+    }
+
+    private static byte[] encode(List<JSONHandler.ResultPair> results) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryResultFormat.write(out, results);
+        return out.toByteArray();
+    }
+
+    private static String toJson(List<JSONHandler.ResultPair> results) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JSONHandler().writeResults(out, results);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package mst.io;
+
+import mst.model.Graph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStreamsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Gzip inputs are read transparently, whatever their name")
+    void testReadsGzipInput() throws IOException {
+        byte[] plain = Files.readAllBytes(Path.of("src/main/resources/input.json"));
+        Path compressed = tempDir.resolve("input.json.gz");
+        Files.write(compressed, gzip(plain));
+        Path misnamed = tempDir.resolve("archived.json");
+        Files.write(misnamed, gzip(plain));
+
+        JSONHandler handler = new JSONHandler();
+        List<Graph> expected = handler.readGraphs("src/main/resources/input.json");
+        for (Path path : List.of(compressed, misnamed)) {
+            List<Graph> graphs = handler.readGraphs(path.toString());
+            assertEquals(expected.size(), graphs.size());
+            for (int i = 0; i < graphs.size(); i++) {
+                assertEquals(expected.get(i).toString(), graphs.get(i).toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Outputs ending in .gz are compressed")
+    void testWritesGzipOutput() throws IOException {
+        Path plain = tempDir.resolve("output.json");
+        Path compressed = tempDir.resolve("output.json.gz");
+        JSONHandler handler = new JSONHandler();
+        List<JSONHandler.ResultPair> results = List.of(new JSONHandler.ResultPair(1, "G", 2, 0, null, null));
+        handler.writeResults(plain.toString(), results);
+        handler.writeResults(compressed.toString(), results);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+            assertArrayEquals(Files.readAllBytes(plain), in.readAllBytes());
+        }
+        try (InputStream in = FileStreams.openInput(compressed.toString())) {
+            assertArrayEquals(Files.readAllBytes(plain), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Read-ahead delivers every byte in order and rethrows source failures")
+    void testReadAhead() throws IOException {
+        byte[] data = new byte[100_003];
+        new Random(5).nextBytes(data);
+        try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), 4096, 2, "test")) {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            copy.write(in.read());
+            byte[] buffer = new byte[1000];
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) >= 0) {
+                copy.write(buffer, 0, n);
+            }
+            assertArrayEquals(data, copy.toByteArray());
+            assertEquals(-1, in.read());
+        }
+
+        byte[] truncated = new byte[1000];
+        System.arraycopy(gzip(data), 0, truncated, 0, truncated.length);
+        Path broken = tempDir.resolve("broken.gz");
+        Files.write(broken, truncated);
+        try (InputStream in = FileStreams.openInput(broken.toString())) {
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: parsing a large gzip input")
+    void benchmarkGzipParse() throws IOException {
+        StringBuilder json = new StringBuilder("{\"graphs\":[{\"id\":1,\"nodes\":[");
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            json.append(i == 0 ? "" : ",").append("\"N").append(i).append('"');
+        }
+        json.append("],\"edges\":[");
+        Random random = new Random(3);
+        for (int i = 1; i < n; i++) {
+            json.append(i == 1 ? "" : ",").append("{\"from\":\"N").append(random.nextInt(i))
+                    .append("\",\"to\":\"N").append(i).append("\",\"weight\":").append(random.nextInt(100)).append('}');
+        }
+        json.append("]}]}");
+        byte[] plain = json.toString().getBytes(StandardCharsets.UTF_8);
+        Path compressed = tempDir.resolve("large.json.gz");
+        Files.write(compressed, gzip(plain));
+
+        JSONHandler handler = new JSONHandler();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            assertEquals(n, handler.readGraphs(compressed.toString()).get(0).getVertices());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("FileStreams: parsed %d KB gzip (%d KB inflated) in %d ms%n",
+                Files.size(compressed) / 1024, plain.length / 1024, best / 1_000_000);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+}
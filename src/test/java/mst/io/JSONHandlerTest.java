@@ -0,0 +1,94 @@
+package mst.io;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import mst.model.OffHeapGraph;
+import mst.model.WeightFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Off-heap reading matches the on-heap graphs of the sample inputs")
+    void testOffHeapMatchesOnHeap() throws IOException {
+        JSONHandler handler = new JSONHandler();
+        for (String file : List.of("src/main/resources/input.json", "src/main/resources/euclidean_input.json")) {
+            List<Graph> expected = handler.readGraphs(file);
+            List<OffHeapGraph> graphs = handler.readOffHeapGraphs(file, WeightFormat.DOUBLE);
+            try {
+                assertEquals(expected.size(), graphs.size());
+                for (int i = 0; i < graphs.size(); i++) {
+                    Graph graph = expected.get(i);
+                    OffHeapGraph offHeap = graphs.get(i);
+                    assertEquals(graph.getGraphId(), offHeap.getGraphId());
+                    assertEquals(graph.getName(), offHeap.getName());
+                    assertEquals(graph.getVertices(), offHeap.getVertices());
+                    assertEquals(graph.getInputEdgeCount(), offHeap.getEdgeCount());
+
+                    MSTResult onHeapResult = new KruskalAlgorithm().findMST(graph);
+                    MSTResult offHeapResult = new KruskalAlgorithm().findMST(offHeap);
+                    assertEquals(onHeapResult.isSuccess(), offHeapResult.isSuccess(), graph.getName());
+                    assertEquals(onHeapResult.getTotalCost(), offHeapResult.getTotalCost(), 1e-9, graph.getName());
+                }
+            } finally {
+                graphs.forEach(OffHeapGraph::close);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Off-heap reading needs the nodes before the edges and known node names")
+    void testOffHeapLayoutErrors() throws IOException {
+        JSONHandler handler = new JSONHandler();
+        Path edgesFirst = tempDir.resolve("edges_first.json");
+        Files.writeString(edgesFirst, "{\"graphs\": [{\"id\": 3, \"edges\": [{\"from\": \"A\", \"to\": \"B\", "
+                + "\"weight\": 1}], \"nodes\": [\"A\", \"B\"]}]}");
+        IOException error = assertThrows(IOException.class,
+                () -> handler.readOffHeapGraphs(edgesFirst.toString(), WeightFormat.DOUBLE));
+        assertEquals("Graph 3: \"nodes\" must come before \"edges\"", error.getMessage());
+
+        Path unknownNode = tempDir.resolve("unknown_node.json");
+        Files.writeString(unknownNode, "{\"graphs\": [{\"nodes\": [\"A\", \"B\"], \"edges\": [{\"from\": \"A\", "
+                + "\"to\": \"B\", \"weight\": 1}]}, {\"nodes\": [\"A\"], \"edges\": [{\"from\": \"A\", \"to\": \"Z\", "
+                + "\"weight\": 1}]}]}");
+        assertThrows(IllegalArgumentException.class,
+                () -> handler.readOffHeapGraphs(unknownNode.toString(), WeightFormat.DOUBLE));
+    }
+
+    @Test
+    @DisplayName("Fixed-point reading refuses weights the scale would round; float reading rounds them")
+    void testOffHeapWeightFormats() throws IOException {
+        JSONHandler handler = new JSONHandler();
+        Path input = tempDir.resolve("prices.json");
+        Files.writeString(input, "{\"graphs\": [{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 19.99}, "
+                + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 0.125}]}]}");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> handler.readOffHeapGraphs(input.toString(), WeightFormat.fixedPoint(100)));
+        assertTrue(error.getMessage().startsWith("Weight 0.125 is not a whole number of 1/100 units"));
+
+        List<OffHeapGraph> thousandths = handler.readOffHeapGraphs(input.toString(), WeightFormat.fixedPoint(1000));
+        List<OffHeapGraph> floats = handler.readOffHeapGraphs(input.toString(), WeightFormat.FLOAT);
+        try {
+            assertEquals(20.115, new KruskalAlgorithm().findMST(thousandths.get(0)).getTotalCost());
+            assertEquals(20.115, new KruskalAlgorithm().findMST(floats.get(0)).getTotalCost(), 1e-5);
+        } finally {
+            thousandths.forEach(OffHeapGraph::close);
+            floats.forEach(OffHeapGraph::close);
+        }
+    }
+}
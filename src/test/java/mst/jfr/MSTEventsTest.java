@@ -0,0 +1,95 @@
+package mst.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Graph;
+import mst.model.OffHeapGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTEventsTest {
+
+    @Test
+    @DisplayName("Solve, phase and connectivity events are recorded for both algorithms")
+    void testEventsRecorded() throws Exception {
+        Graph graph = new Graph(Arrays.asList("A", "B", "C"));
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "C", 3);
+
+        Path file = Files.createTempFile("mst-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("mst.Solve").withoutThreshold();
+            recording.enable("mst.SolvePhase").withoutThreshold();
+            recording.enable("mst.ConnectivityCheck").withoutThreshold();
+            recording.start();
+
+            new PrimAlgorithm().findMST(graph);
+            new KruskalAlgorithm().findMST(graph);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        long solves = events.stream().filter(e -> e.getEventType().getName().equals("mst.Solve")).count();
+        long checks = events.stream().filter(e -> e.getEventType().getName().equals("mst.ConnectivityCheck")).count();
+        assertEquals(2, solves);
+        assertEquals(2, checks);
+
+        RecordedEvent sort = events.stream()
+                .filter(e -> e.getEventType().getName().equals("mst.SolvePhase"))
+                .filter(e -> SolvePhaseEvent.PHASE_SORT.equals(e.getString("phase")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Kruskal's Algorithm", sort.getString("algorithmName"));
+        assertEquals(3, sort.getInt("edgeCount"));
+    }
+
+    @Test
+    @DisplayName("Off-heap solves record connectivity and phase events like the on-heap ones")
+    void testOffHeapEventsRecorded() throws Exception {
+        Graph graph = new Graph(Arrays.asList("A", "B", "C"));
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "C", 3);
+
+        Path file = Files.createTempFile("mst-events", ".jfr");
+        try (OffHeapGraph offHeap = OffHeapGraph.copyOf(graph); Recording recording = new Recording()) {
+            recording.enable("mst.SolvePhase").withoutThreshold();
+            recording.enable("mst.ConnectivityCheck").withoutThreshold();
+            recording.start();
+
+            new PrimAlgorithm().findMST(offHeap);
+            new KruskalAlgorithm().findMST(offHeap);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        assertEquals(2, events.stream().filter(e -> e.getEventType().getName().equals("mst.ConnectivityCheck")).count());
+        List<String> phases = events.stream()
+                .filter(e -> e.getEventType().getName().equals("mst.SolvePhase"))
+                .map(e -> e.getString("algorithmName") + "/" + e.getString("phase"))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of("Kruskal's Algorithm/" + SolvePhaseEvent.PHASE_SORT,
+                "Prim's Algorithm/" + SolvePhaseEvent.PHASE_HEAP), phases);
+    }
+}
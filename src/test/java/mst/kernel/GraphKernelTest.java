@@ -0,0 +1,114 @@
+package mst.kernel;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphKernelTest {
+
+    @Test
+    @DisplayName("A tree reduces to a single vertex with every edge forced")
+    void testTreeFullyForced() {
+        Graph graph = new Graph(6);
+        graph.addEdge(0, 1, 4.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(1, 3, 2.0);
+        graph.addEdge(3, 4, 7.0);
+        graph.addEdge(3, 5, 3.0);
+
+        GraphKernel kernel = GraphKernel.reduce(graph);
+        assertEquals(1, kernel.getReducedGraph().getVertices());
+        assertEquals(5, kernel.getForcedEdgeCount());
+
+        MSTResult result = new KernelizedAlgorithm(new KruskalAlgorithm()).findMST(graph);
+        assertTrue(result.isSuccess());
+        assertEquals(17.0, result.getTotalCost(), 1e-9);
+        assertEquals(5, result.getMstEdges().size());
+    }
+
+    @Test
+    @DisplayName("Degree-2 chains collapse, self-loops and parallel edges are dropped")
+    void testChainsCollapse() {
+        // Two triangles joined through a long chain: A-B-C triangle, chain C..G, G-H-I triangle
+        Graph graph = new Graph(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H", "I"));
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("C", "A", 3.0);
+        graph.addEdge("C", "D", 5.0);
+        graph.addEdge("D", "E", 1.0);
+        graph.addEdge("E", "F", 2.0);
+        graph.addEdge("F", "G", 4.0);
+        graph.addEdge("G", "H", 1.0);
+        graph.addEdge("H", "I", 6.0);
+        graph.addEdge("I", "G", 2.0);
+        graph.addEdge("E", "E", 0.5);
+        graph.addEdge("B", "A", 9.0);
+
+        GraphKernel kernel = GraphKernel.reduce(graph);
+        assertEquals(1, kernel.getReducedGraph().getVertices());
+
+        MSTResult result = new KernelizedAlgorithm(new PrimAlgorithm()).findMST(graph);
+        assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), result.getTotalCost(), 1e-9);
+        assertEquals(8, result.getMstEdges().size());
+        assertEquals("Prim's Algorithm", result.getAlgorithmName());
+    }
+
+    @Test
+    @DisplayName("Kernelized results match plain solves on random road-like graphs")
+    void testMatchesPlainSolve() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 2 + random.nextInt(60);
+            Graph graph = new Graph(n);
+            // Random spanning tree, then a few extra edges, chords and parallels
+            for (int v = 1; v < n; v++) {
+                graph.addEdge(random.nextInt(v), v, 1 + random.nextInt(20));
+            }
+            int extra = random.nextInt(n);
+            for (int i = 0; i < extra; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(20));
+            }
+
+            MSTResult expected = new KruskalAlgorithm().findMST(graph);
+            MSTResult actual = new KernelizedAlgorithm(new KruskalAlgorithm()).findMST(graph);
+            assertTrue(actual.isSuccess());
+            assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1e-9, "trial " + trial);
+            assertEquals(n - 1, actual.getMstEdges().size());
+            assertSpanningTree(graph, actual);
+            assertTrue(GraphKernel.reduce(graph).getReducedGraph().getVertices() <= n);
+        }
+    }
+
+    @Test
+    @DisplayName("Disconnected graphs are reported by the wrapped engine")
+    void testDisconnected() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(2, 3, 1.0);
+
+        MSTResult result = new KernelizedAlgorithm(new KruskalAlgorithm()).findMST(graph);
+        assertFalse(result.isSuccess());
+    }
+
+    private static void assertSpanningTree(Graph graph, MSTResult result) {
+        Set<Edge> original = new HashSet<>(graph.getEdges());
+        Graph tree = new Graph(graph.getVertices());
+        for (Edge edge : result.getMstEdges()) {
+            assertTrue(original.contains(edge), "expanded edge must be an original Edge");
+            tree.addEdge(edge.getSource(), edge.getDestination(), edge.getWeight());
+        }
+        assertTrue(tree.isConnected());
+        assertFalse(tree.hasCycle());
+    }
+}
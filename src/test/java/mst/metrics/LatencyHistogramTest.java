@@ -0,0 +1,75 @@
+package mst.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Buckets tile the value range without gaps")
+    void testBucketLayout() {
+        for (int b = 0; b < LatencyHistogram.BUCKET_COUNT - 1; b++) {
+            assertEquals(LatencyHistogram.highestValueOf(b) + 1, LatencyHistogram.lowestValueOf(b + 1), "bucket " + b);
+            assertEquals(b, LatencyHistogram.bucketOf(LatencyHistogram.lowestValueOf(b)));
+            assertEquals(b, LatencyHistogram.bucketOf(LatencyHistogram.highestValueOf(b)));
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    @DisplayName("Percentiles are within 1/16 of the exact values")
+    void testPercentileAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(48);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-uniform between 1 us and 10 s, like solve times across graph sizes
+            values[i] = (long) Math.pow(10, 3 + random.nextDouble() * 7);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = snapshot.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact + exact / 16,
+                    "p" + percentile + ": " + reported + " vs " + exact);
+        }
+        assertEquals(0, new LatencyHistogram().snapshot().getValueAtPercentile(99));
+    }
+
+    @Test
+    @DisplayName("Concurrent recording loses no counts")
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 200_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(1_000 + (i & 1023));
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * perThread, histogram.getCount());
+        assertEquals((long) threads * perThread, histogram.snapshot().getCount());
+    }
+}
@@ -0,0 +1,118 @@
+package mst.metrics;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.io.JSONHandler;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    private static Graph square() {
+        Graph graph = new Graph(Arrays.asList("A", "B", "C", "D"));
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 3);
+        graph.addEdge("D", "A", 4);
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Prim and Kruskal solves are counted per engine")
+    void testEngineCounters() {
+        EngineMetrics prim = MetricsRegistry.getDefault().engine(new PrimAlgorithm().getName());
+        EngineMetrics kruskal = MetricsRegistry.getDefault().engine(new KruskalAlgorithm().getName());
+        long primSolves = prim.getSolveCount();
+        long kruskalSolves = kruskal.getSolveCount();
+        long kruskalEdges = kruskal.getEdgeCount();
+        long kruskalFailures = kruskal.getFailureCount();
+
+        new PrimAlgorithm().findMST(square());
+        new KruskalAlgorithm().findMST(square());
+        Graph disconnected = new Graph(Arrays.asList("A", "B"));
+        MSTResult failed = new KruskalAlgorithm().findMST(disconnected);
+
+        assertFalse(failed.isSuccess());
+        assertTrue(prim.getSolveCount() >= primSolves + 1);
+        assertTrue(kruskal.getSolveCount() >= kruskalSolves + 2);
+        assertTrue(kruskal.getEdgeCount() >= kruskalEdges + 4);
+        assertTrue(kruskal.getFailureCount() >= kruskalFailures + 1);
+        assertTrue(kruskal.getEdgesPerSecond() > 0);
+        assertTrue(kruskal.getMaxLatencyMs() > 0);
+    }
+
+    @Test
+    @DisplayName("JSONHandler counts loaded graphs and edges")
+    void testLoadCounters() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        long graphs = registry.counter("graphs_loaded_total").sum();
+        long edges = registry.counter("edges_loaded_total").sum();
+        String json = "{\"graphs\":[{\"id\":1,\"nodes\":[\"A\",\"B\",\"C\"],\"edges\":["
+                + "{\"from\":\"A\",\"to\":\"B\",\"weight\":1},{\"from\":\"B\",\"to\":\"C\",\"weight\":2}]}]}";
+
+        new JSONHandler().readGraphs(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "test");
+
+        assertTrue(registry.counter("graphs_loaded_total").sum() >= graphs + 1);
+        assertTrue(registry.counter("edges_loaded_total").sum() >= edges + 2);
+        assertTrue(registry.histogram("graph_load").getCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("Engine metrics are readable over JMX")
+    void testJmx() throws Exception {
+        new PrimAlgorithm().findMST(square());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Engine,name="
+                + ObjectName.quote(new PrimAlgorithm().getName()));
+
+        assertTrue(server.isRegistered(name));
+        assertTrue((Long) server.getAttribute(name, "SolveCount") >= 1);
+        assertTrue((Double) server.getAttribute(name, "P99LatencyMs") > 0);
+        String text = (String) server.getAttribute(
+                new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Registry"), "PrometheusText");
+        assertTrue(text.contains("mst_solves_total{engine=\"Prim's Algorithm\"}"));
+    }
+
+    @Test
+    @DisplayName("Prometheus dump renders counters, summaries and gauges")
+    void testPrometheusText() {
+        MetricsRegistry registry = new MetricsRegistry();
+        EngineMetrics engine = registry.engine("Test \"quoted\"");
+        engine.recordSolve(new MSTResult.Builder().success(true).build(), 2_000, 1_000_000);
+        engine.recordSolve(new MSTResult.Builder().success(false).build(), 2_000, 3_000_000);
+        registry.counter("graphs_loaded_total").add(3);
+        LongSupplier depth = () -> 7;
+        registry.registerGauge("server_queue_depth", depth);
+
+        List<String> lines = Arrays.asList(registry.toPrometheus().split("\n"));
+        String label = "{engine=\"Test \\\"quoted\\\"\"}";
+        assertTrue(lines.contains("# TYPE mst_solves_total counter"));
+        assertTrue(lines.contains("mst_solves_total" + label + " 2"));
+        assertTrue(lines.contains("mst_solve_failures_total" + label + " 1"));
+        assertTrue(lines.contains("mst_solve_edges_total" + label + " 4000"));
+        assertTrue(lines.contains("mst_solve_edges_per_second" + label + " 1000000.0"));
+        assertTrue(lines.contains("mst_solve_duration_seconds_count" + label + " 2"));
+        assertTrue(lines.contains(
+                "mst_solve_duration_seconds{engine=\"Test \\\"quoted\\\"\",quantile=\"0.99\"} 0.003"));
+        assertTrue(lines.contains("mst_graphs_loaded_total 3"));
+        assertTrue(lines.contains("mst_server_queue_depth 7"));
+
+        registry.removeGauge("server_queue_depth", () -> 7);
+        assertTrue(registry.getGauges().containsKey("server_queue_depth"));
+        registry.removeGauge("server_queue_depth", depth);
+        assertFalse(registry.getGauges().containsKey("server_queue_depth"));
+    }
+}
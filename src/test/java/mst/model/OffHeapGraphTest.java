@@ -0,0 +1,207 @@
+package mst.model;
+
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapGraphTest {
+
+    @Test
+    @DisplayName("Copied graphs solve to the same cost as the on-heap graph")
+    void testMatchesOnHeapSolve() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(200);
+            Graph graph = new Graph(n);
+            for (int v = 1; v < n; v++) {
+                graph.addEdge(random.nextInt(v), v, random.nextInt(50) + random.nextDouble());
+            }
+            for (int i = random.nextInt(3 * n); i > 0; i--) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(50) + random.nextDouble());
+            }
+
+            double expected = new KruskalAlgorithm().findMST(graph).getTotalCost();
+            try (OffHeapGraph offHeap = OffHeapGraph.copyOf(graph)) {
+                assertEquals(graph.getEdgeCount(), offHeap.getEdgeCount());
+                assertTrue(offHeap.isConnected());
+
+                MSTResult prim = new PrimAlgorithm().findMST(offHeap);
+                MSTResult kruskal = new KruskalAlgorithm().findMST(offHeap);
+                assertEquals(expected, prim.getTotalCost(), 1e-9);
+                assertEquals(expected, kruskal.getTotalCost(), 1e-9);
+                assertEquals(n - 1, prim.getMstEdges().size());
+                assertEquals(n - 1, kruskal.getMstEdges().size());
+                assertEquals(PrimAlgorithm.FRONTIER_INDEXED_HEAP, prim.getFrontier());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Storage spanning many small chunks keeps edges and adjacency intact")
+    void testChunkBoundaries() {
+        int n = 100;
+        // 64-byte chunks: four edge records or eight adjacency slots per chunk
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(n, n, 6);
+        for (int v = 0; v < n; v++) {
+            builder.addEdge(v, (v + 1) % n, v + 0.5);
+        }
+        try (OffHeapGraph graph = builder.build()) {
+            for (int v = 0; v < n; v++) {
+                assertEquals(v, graph.getSource(v));
+                assertEquals((v + 1) % n, graph.getDestination(v));
+                assertEquals(v + 0.5, graph.getWeight(v));
+                assertEquals(2, graph.getAdjacencyEnd(v) - graph.getAdjacencyStart(v));
+            }
+            assertTrue(graph.isConnected());
+            assertFalse(graph.isIntegerWeighted());
+            assertEquals(n - 0.5, graph.getMaxWeight());
+
+            MSTResult result = new PrimAlgorithm().findMST(graph);
+            // The heaviest edge of the cycle is left out
+            double cycle = 0;
+            for (int v = 0; v < n; v++) cycle += v + 0.5;
+            assertEquals(cycle - (n - 0.5), result.getTotalCost(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Names, disconnection and closing behave like the on-heap graph")
+    void testNamesDisconnectedAndClose() {
+        OffHeapGraph graph = new OffHeapGraph.Builder(4, 2)
+                .nodeNames(Arrays.asList("A", "B", "C", "D"))
+                .name("Islands")
+                .addEdge(0, 1, 1.0)
+                .addEdge(2, 3, 2.0)
+                .build();
+
+        assertEquals("Islands", graph.getName());
+        assertEquals("C", graph.toEdge(1).getSourceName());
+        assertFalse(graph.isConnected());
+        assertFalse(new KruskalAlgorithm().findMST(graph).isSuccess());
+        assertFalse(new PrimAlgorithm().findMST(graph).isSuccess());
+
+        graph.close();
+        assertTrue(graph.isClosed());
+        assertThrows(IllegalStateException.class, () -> graph.getWeight(0));
+    }
+
+    @Test
+    @DisplayName("Adding beyond the declared edge capacity fails")
+    void testCapacityExceeded() {
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(2, 1).addEdge(0, 1, 1.0);
+        assertThrows(IllegalStateException.class, () -> builder.addEdge(1, 0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapGraph.Builder(2, 1).addEdge(0, 2, 1.0));
+    }
+
+    @Test
+    @DisplayName("Reduced-precision formats solve to the exactly rounded costs")
+    void testReducedPrecisionWeights() {
+        Random random = new Random(17);
+        int n = 300;
+        Graph graph = new Graph(n);
+        for (int v = 1; v < n; v++) {
+            graph.addEdge(random.nextInt(v), v, random.nextInt(10_000) / 100.0);
+        }
+        for (int i = 0; i < 3 * n; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10_000) / 100.0);
+        }
+        MSTResult reference = new KruskalAlgorithm().findMST(graph);
+        long cents = 0;
+        for (Edge edge : reference.getMstEdges()) {
+            cents += Math.round(edge.getWeight() * 100);
+        }
+
+        try (OffHeapGraph fixed = OffHeapGraph.copyOf(graph, WeightFormat.fixedPoint(100));
+             OffHeapGraph single = OffHeapGraph.copyOf(graph, WeightFormat.FLOAT);
+             OffHeapGraph full = OffHeapGraph.copyOf(graph)) {
+            assertEquals(12 * graph.getEdgeCount(), fixed.getStorageBytes() - 8L * (n + 1) - 16L * graph.getEdgeCount());
+            assertEquals(fixed.getStorageBytes(), single.getStorageBytes());
+            assertTrue(full.getStorageBytes() > single.getStorageBytes());
+
+            // Cents round to the nearest unit, so the fixed-point total is exact
+            assertEquals(cents / 100.0, new KruskalAlgorithm().findMST(fixed).getTotalCost());
+            assertEquals(cents / 100.0, new PrimAlgorithm().findMST(fixed).getTotalCost());
+            assertEquals(reference.getTotalCost(), new KruskalAlgorithm().findMST(single).getTotalCost(), 1e-3);
+            assertEquals(reference.getTotalCost(), new PrimAlgorithm().findMST(full).getTotalCost(), 1e-9);
+            assertEquals((float) graph.getEdge(0).getWeight(), single.getWeight(0));
+            for (int i = 1; i < graph.getEdgeCount(); i++) {
+                assertEquals(Integer.signum(single.compareWeights(i - 1, i)),
+                        Integer.signum(Integer.compareUnsigned(single.getWeightKey(i - 1), single.getWeightKey(i))));
+                assertEquals(Integer.signum(fixed.compareWeights(i - 1, i)),
+                        Integer.signum(Integer.compareUnsigned(fixed.getWeightKey(i - 1), fixed.getWeightKey(i))));
+            }
+            assertEquals(WeightFormat.FLOAT, single.getWeightFormat());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapGraph.Builder(2, 1, WeightFormat.fixedPoint(1000)).addEdge(0, 1, 3e6));
+    }
+
+    @Test
+    @DisplayName("Weight formats parse from command-line names and report which weights they hold exactly")
+    void testWeightFormatParseAndExactness() {
+        assertSame(WeightFormat.DOUBLE, WeightFormat.parse("double"));
+        assertSame(WeightFormat.FLOAT, WeightFormat.parse(" Float "));
+        WeightFormat cents = WeightFormat.parse("fixed:100");
+        assertEquals(WeightFormat.Kind.FIXED_POINT, cents.getKind());
+        assertEquals(100, cents.getScale());
+        assertThrows(IllegalArgumentException.class, () -> WeightFormat.parse("fixed:0"));
+        assertThrows(IllegalArgumentException.class, () -> WeightFormat.parse("fixed:cents"));
+        assertThrows(IllegalArgumentException.class, () -> WeightFormat.parse("half"));
+
+        assertTrue(cents.isExact(19.99));
+        assertTrue(cents.isExact(0.1));
+        assertTrue(cents.isExact(-3));
+        assertFalse(cents.isExact(0.125));
+        assertFalse(cents.isExact(3e7));
+        assertTrue(WeightFormat.FLOAT.isExact(0.5));
+        assertFalse(WeightFormat.FLOAT.isExact(0.1));
+        assertTrue(WeightFormat.DOUBLE.isExact(0.1));
+    }
+
+    @Test
+    @DisplayName("Fixed-point totals do not drift over many fractional weights")
+    void testFixedPointTotalIsExact() {
+        int n = 100_001;
+        OffHeapGraph.Builder builder = new OffHeapGraph.Builder(n, n - 1, WeightFormat.fixedPoint(10));
+        for (int v = 1; v < n; v++) {
+            builder.addEdge(v - 1, v, 0.1);
+        }
+        try (OffHeapGraph graph = builder.build()) {
+            assertEquals(10_000.0, new KruskalAlgorithm().findMST(graph).getTotalCost());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: off-heap Kruskal with 16- vs 12-byte edge records")
+    void benchmarkWeightFormats() {
+        int n = 100_000;
+        Random random = new Random(21);
+        Graph graph = new Graph(n);
+        for (int v = 1; v < n; v++) {
+            graph.addEdge(random.nextInt(v), v, random.nextInt(1_000_000) / 100.0);
+        }
+        for (int i = 0; i < 4 * n; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(1_000_000) / 100.0);
+        }
+        for (WeightFormat format : new WeightFormat[]{WeightFormat.DOUBLE, WeightFormat.FLOAT, WeightFormat.fixedPoint(100)}) {
+            try (OffHeapGraph offHeap = OffHeapGraph.copyOf(graph, format)) {
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < 3; round++) {
+                    long start = System.nanoTime();
+                    assertTrue(new KruskalAlgorithm().findMST(offHeap).isSuccess());
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                System.out.printf("OffHeapGraph %s: %d MB native, Kruskal %d ms%n",
+                        format, offHeap.getStorageBytes() >> 20, best / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package mst.reorder;
+
+import mst.TestGraphs;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.MSTAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.model.Edge;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VertexOrderingTest {
+
+    @Test
+    @DisplayName("Every strategy yields a permutation and results map back to original edges")
+    void testRestoresOriginalEdges() {
+        Random random = new Random(31);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 1 + random.nextInt(60);
+            Graph graph = randomGraph(n, random);
+            double expected = new KruskalAlgorithm().findMST(graph).getTotalCost();
+            Set<String> originalEdges = new HashSet<>();
+            for (Edge edge : graph.getEdges()) {
+                originalEdges.add(edge.getSourceName() + "|" + edge.getDestinationName() + "|" + edge.getWeight());
+                originalEdges.add(edge.getDestinationName() + "|" + edge.getSourceName() + "|" + edge.getWeight());
+            }
+
+            for (VertexOrdering.Strategy strategy : VertexOrdering.Strategy.values()) {
+                VertexOrdering ordering = VertexOrdering.compute(graph, strategy);
+                boolean[] seen = new boolean[n];
+                for (int v = 0; v < n; v++) {
+                    int original = ordering.getOriginalVertex(v);
+                    assertFalse(seen[original]);
+                    seen[original] = true;
+                    assertEquals(graph.getNodeName(original), ordering.getReorderedGraph().getNodeName(v));
+                }
+
+                for (MSTAlgorithm engine : List.of(new PrimAlgorithm(), new KruskalAlgorithm())) {
+                    MSTResult result = new ReorderedAlgorithm(engine, strategy).findMST(graph);
+                    assertTrue(result.isSuccess());
+                    assertEquals(expected, result.getTotalCost(), 1e-9);
+                    for (Edge edge : result.getMstEdges()) {
+                        assertEquals(graph.getNodeName(edge.getSource()), edge.getSourceName());
+                        assertTrue(originalEdges.contains(
+                                edge.getSourceName() + "|" + edge.getDestinationName() + "|" + edge.getWeight()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Hilbert order follows coordinates and falls back to RCM without them")
+    void testHilbertOrder() {
+        int side = 16;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) {
+            names.add("S" + i);
+        }
+        Collections.shuffle(names, new Random(2));
+        Graph graph = new Graph(names);
+        double[] x = new double[side * side];
+        double[] y = new double[side * side];
+        for (int i = 0; i < side * side; i++) {
+            x[i] = i % side;
+            y[i] = i / side;
+        }
+        graph.setCoordinates(x, y);
+        for (int i = 0; i < side * side; i++) {
+            if (i % side + 1 < side) graph.addEdge(i, i + 1, 1.0);
+            if (i + side < side * side) graph.addEdge(i, i + side, 1.0);
+        }
+
+        VertexOrdering ordering = VertexOrdering.compute(graph, VertexOrdering.Strategy.HILBERT);
+        assertEquals(VertexOrdering.Strategy.HILBERT, ordering.getStrategy());
+        // Consecutive cells on a Hilbert curve are grid neighbours
+        Graph reordered = ordering.getReorderedGraph();
+        for (int v = 1; v < side * side; v++) {
+            double distance = Math.abs(reordered.getX(v) - reordered.getX(v - 1))
+                    + Math.abs(reordered.getY(v) - reordered.getY(v - 1));
+            assertEquals(1.0, distance);
+        }
+
+        assertEquals(VertexOrdering.Strategy.RCM,
+                VertexOrdering.compute(new Graph(3), VertexOrdering.Strategy.HILBERT).getStrategy());
+        assertThrows(IllegalArgumentException.class, () -> VertexOrdering.Strategy.parse("random"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: solves on a shuffled grid before and after reordering")
+    void benchmarkShuffledGrid() {
+        int side = 600;
+        int n = side * side;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) label[i] = i;
+        Random random = new Random(12);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = label[i];
+            label[i] = label[j];
+            label[j] = tmp;
+        }
+        Graph graph = new Graph(n);
+        for (int i = 0; i < n; i++) {
+            if (i % side + 1 < side) graph.addEdge(label[i], label[i + 1], random.nextInt(1000));
+            if (i + side < n) graph.addEdge(label[i], label[i + side], random.nextInt(1000));
+        }
+
+        report("shuffled", graph);
+        for (VertexOrdering.Strategy strategy : new VertexOrdering.Strategy[]{
+                VertexOrdering.Strategy.BFS, VertexOrdering.Strategy.RCM}) {
+            long start = System.nanoTime();
+            Graph reordered = VertexOrdering.compute(graph, strategy).getReorderedGraph();
+            long reorderMs = (System.nanoTime() - start) / 1_000_000;
+            report(strategy + " (" + reorderMs + " ms to reorder)", reordered);
+        }
+    }
+
+    /**
+     * The mean id distance between edge endpoints stands in for the cache misses
+     * the JVM cannot count: the further apart, the less likely both are cached.
+     */
+    private static void report(String label, Graph graph) {
+        double span = 0;
+        for (Edge edge : graph.getEdges()) {
+            span += Math.abs(edge.getSource() - edge.getDestination());
+        }
+        span /= graph.getEdgeCount();
+        long prim = bestOf(new PrimAlgorithm(), graph);
+        long kruskal = bestOf(new KruskalAlgorithm(), graph);
+        System.out.printf("VertexOrdering %s: mean edge span %.0f, Prim %d ms, Kruskal %d ms%n",
+                label, span, prim, kruskal);
+    }
+
+    private static long bestOf(MSTAlgorithm engine, Graph graph) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            assertTrue(engine.findMST(graph).isSuccess());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+
+    private static Graph randomGraph(int n, Random random) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            names.add("V" + random.nextInt(1000) + "_" + i);
+        }
+        return TestGraphs.randomConnected(random, names, random.nextInt(2 * n + 1), () -> random.nextInt(20));
+    }
+}
@@ -0,0 +1,188 @@
+package mst.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MSTServerTest {
+
+    private static final String SMALL_BODY = "{\"graphs\":[{\"id\":7,\"nodes\":[\"A\",\"B\"],"
+            + "\"edges\":[{\"from\":\"A\",\"to\":\"B\",\"weight\":2}]}]}";
+
+    private MSTServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MSTServer(0, 2, 32, 4);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("POST /solve answers a batch in the output.json format")
+    void testSolveBatch() throws Exception {
+        HttpResponse<String> response = post("/solve",
+                HttpRequest.BodyPublishers.ofFile(Path.of("src/main/resources/input.json")));
+
+        assertEquals(200, response.statusCode());
+        JsonNode results = new ObjectMapper().readTree(response.body()).get("results");
+        assertEquals(10, results.size());
+        JsonNode first = results.get(0);
+        assertEquals(1, first.get("graph_id").asInt());
+        assertEquals(6, first.get("prim").get("total_cost").asInt());
+        assertEquals(6, first.get("kruskal").get("total_cost").asInt());
+    }
+
+    @Test
+    @DisplayName("mode=auto runs a single engine")
+    void testAutoMode() throws Exception {
+        String body = "{\"graphs\":[{\"id\":7,\"nodes\":[\"A\",\"B\",\"C\"],"
+                + "\"edges\":[{\"from\":\"A\",\"to\":\"B\",\"weight\":2},{\"from\":\"B\",\"to\":\"C\",\"weight\":3},"
+                + "{\"from\":\"A\",\"to\":\"C\",\"weight\":9}]}]}";
+        HttpResponse<String> response = post("/solve?mode=auto", HttpRequest.BodyPublishers.ofString(body));
+
+        assertEquals(200, response.statusCode());
+        JsonNode result = new ObjectMapper().readTree(response.body()).get("results").get(0);
+        assertFalse(result.has("prim"));
+        assertEquals(5, result.get("selected").get("total_cost").asInt());
+    }
+
+    @Test
+    @DisplayName("The mode parameter is found among others and unknown modes get 400")
+    void testModeParameter() throws Exception {
+        String body = "{\"graphs\":[{\"id\":7,\"nodes\":[\"A\",\"B\"],"
+                + "\"edges\":[{\"from\":\"A\",\"to\":\"B\",\"weight\":2}]}]}";
+        HttpResponse<String> auto = post("/solve?x=1&mode=%61uto", HttpRequest.BodyPublishers.ofString(body));
+        assertEquals(200, auto.statusCode());
+        assertFalse(new ObjectMapper().readTree(auto.body()).get("results").get(0).has("prim"));
+
+        HttpResponse<String> both = post("/solve?mode=both&x=1", HttpRequest.BodyPublishers.ofString(body));
+        assertTrue(new ObjectMapper().readTree(both.body()).get("results").get(0).has("prim"));
+
+        HttpResponse<String> unknown = post("/solve?mode=fast", HttpRequest.BodyPublishers.ofString(body));
+        assertEquals(400, unknown.statusCode());
+        assertTrue(unknown.body().contains("Unknown mode: fast"));
+    }
+
+    @Test
+    @DisplayName("Malformed bodies are rejected with 400 and health answers OK")
+    void testErrorsAndHealth() throws Exception {
+        assertEquals(400, post("/solve", HttpRequest.BodyPublishers.ofString("{not json")).statusCode());
+
+        HttpResponse<String> health = client.send(
+                HttpRequest.newBuilder(uri("/health")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, health.statusCode());
+        assertEquals("OK", health.body());
+    }
+
+    @Test
+    @DisplayName("GET /metrics reports solves and server gauges in Prometheus format")
+    void testMetrics() throws Exception {
+        post("/solve", HttpRequest.BodyPublishers.ofFile(Path.of("src/main/resources/input.json")));
+
+        HttpResponse<String> metrics = client.send(
+                HttpRequest.newBuilder(uri("/metrics")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("mst_solves_total{engine=\"Kruskal's Algorithm\"}"));
+        assertTrue(metrics.body().contains("\nmst_server_queue_depth 0\n"));
+        assertTrue(metrics.body().contains("\nmst_graphs_loaded_total "));
+    }
+
+    @Test
+    @DisplayName("Solve requests beyond the concurrency limit get 503 at once")
+    void testConcurrencyLimit() throws Exception {
+        MSTServer limited = new MSTServer(0, 1, 8, 1);
+        limited.start();
+        byte[] body = SMALL_BODY.getBytes(StandardCharsets.UTF_8);
+        try (Socket held = new Socket(InetAddress.getLoopbackAddress(), limited.getPort())) {
+            // The first request holds the only permit while the rest of its body is outstanding
+            OutputStream heldOut = held.getOutputStream();
+            heldOut.write(("POST /solve HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + body.length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            heldOut.write(body, 0, 10);
+            heldOut.flush();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (limited.getRequestsInFlight() == 0) {
+                assertTrue(System.nanoTime() < deadline, "first request never started");
+                Thread.sleep(5);
+            }
+
+            // Refused without waiting for the held request; a queued request would time out here
+            HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(uri(limited, "/solve"))
+                            .timeout(Duration.ofSeconds(10)).POST(HttpRequest.BodyPublishers.ofString(SMALL_BODY)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, rejected.statusCode());
+            assertEquals("Too many concurrent requests", rejected.body());
+            HttpResponse<String> health = client.send(
+                    HttpRequest.newBuilder(uri(limited, "/health")).GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, health.statusCode());
+
+            heldOut.write(body, 10, body.length - 10);
+            heldOut.flush();
+            BufferedReader heldIn = new BufferedReader(
+                    new InputStreamReader(held.getInputStream(), StandardCharsets.US_ASCII));
+            assertEquals("HTTP/1.1 200 OK", heldIn.readLine());
+        } finally {
+            limited.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Batches larger than the free solver slots get 503")
+    void testQueueFull() throws Exception {
+        MSTServer small = new MSTServer(0, 1, 2, 4);
+        small.start();
+        try {
+            HttpResponse<String> rejected = post(small, "/solve",
+                    HttpRequest.BodyPublishers.ofFile(Path.of("src/main/resources/input.json")));
+            assertEquals(503, rejected.statusCode());
+            assertEquals("Solver queue is full", rejected.body());
+
+            assertEquals(200, post(small, "/solve", HttpRequest.BodyPublishers.ofString(SMALL_BODY)).statusCode());
+        } finally {
+            small.stop();
+        }
+    }
+
+    private HttpResponse<String> post(String path, HttpRequest.BodyPublisher body) throws Exception {
+        return post(server, path, body);
+    }
+
+    private HttpResponse<String> post(MSTServer target, String path, HttpRequest.BodyPublisher body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(target, path)).POST(body).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return uri(server, path);
+    }
+
+    private static URI uri(MSTServer target, String path) {
+        return URI.create("http://localhost:" + target.getPort() + path);
+    }
+}
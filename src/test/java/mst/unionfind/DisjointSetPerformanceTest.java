@@ -0,0 +1,75 @@
+package mst.unionfind;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the find strategies on Kruskal-like workloads. Timings are printed,
+ * not asserted, in the same way as MSTPerformanceTest.
+ */
+class DisjointSetPerformanceTest {
+
+    private static final int ELEMENTS = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: random unions and finds per strategy")
+    void benchmarkRandomUnions() {
+        int[] a = new int[4 * ELEMENTS];
+        int[] b = new int[4 * ELEMENTS];
+        Random random = new Random(42);
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt(ELEMENTS);
+            b[i] = random.nextInt(ELEMENTS);
+        }
+
+        int expectedSets = -1;
+        for (DisjointSet.FindStrategy strategy : DisjointSet.FindStrategy.values()) {
+            DisjointSet set = new DisjointSet(ELEMENTS, strategy);
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                set.reset(ELEMENTS);
+                long start = System.nanoTime();
+                for (int i = 0; i < a.length; i++) {
+                    set.union(a[i], b[i]);
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            if (expectedSets < 0) {
+                expectedSets = set.getSetCount();
+            }
+            assertEquals(expectedSets, set.getSetCount());
+            System.out.printf("DisjointSet %-16s random unions: %d ms (%d sets)%n",
+                    strategy, best / 1_000_000, set.getSetCount());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: worst-case chains per strategy")
+    void benchmarkChains() {
+        for (DisjointSet.FindStrategy strategy : DisjointSet.FindStrategy.values()) {
+            DisjointSet set = new DisjointSet(ELEMENTS, strategy);
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                set.reset(ELEMENTS);
+                for (int i = ELEMENTS - 1; i > 0; i--) {
+                    set.link(set.find(i - 1), set.find(i));
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ELEMENTS; i++) {
+                    set.find(i);
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            assertEquals(1, set.getSetCount());
+            System.out.printf("DisjointSet %-16s chain finds: %d ms%n", strategy, best / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package mst.unionfind;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjointSetTest {
+
+    @Test
+    @DisplayName("All find strategies agree with a naive component labelling")
+    void testStrategiesAgree() {
+        int n = 500;
+        Random random = new Random(1);
+        for (DisjointSet.FindStrategy strategy : DisjointSet.FindStrategy.values()) {
+            DisjointSet set = new DisjointSet(n, strategy);
+            int[] label = new int[n];
+            for (int i = 0; i < n; i++) {
+                label[i] = i;
+            }
+
+            for (int step = 0; step < 400; step++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                boolean merged = set.union(a, b);
+                assertEquals(label[a] != label[b], merged);
+                if (merged) {
+                    int old = label[b];
+                    for (int i = 0; i < n; i++) {
+                        if (label[i] == old) label[i] = label[a];
+                    }
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                int size = 0;
+                for (int j = 0; j < n; j++) {
+                    assertEquals(label[i] == label[j], set.connected(i, j));
+                    if (label[i] == label[j]) size++;
+                }
+                assertEquals(size, set.setSize(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Finds on a million-element chain do not overflow the stack")
+    void testLongChain() {
+        int n = 1_000_000;
+        for (DisjointSet.FindStrategy strategy : DisjointSet.FindStrategy.values()) {
+            DisjointSet set = new DisjointSet(n, strategy);
+            // link(root, root) with equal sizes keeps the first root, so this builds a long chain
+            for (int i = n - 1; i > 0; i--) {
+                set.link(set.find(i - 1), set.find(i));
+            }
+            assertEquals(1, set.getSetCount());
+            assertEquals(n, set.setSize(n - 1));
+            assertTrue(set.connected(0, n - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Reset restores singletons and grows the array")
+    void testReset() {
+        DisjointSet set = new DisjointSet(4);
+        set.union(0, 1);
+        set.union(2, 3);
+        assertEquals(2, set.getSetCount());
+
+        set.reset(8);
+        assertEquals(8, set.size());
+        assertEquals(8, set.getSetCount());
+        assertFalse(set.connected(0, 1));
+        set.union(6, 7);
+        assertTrue(set.connected(6, 7));
+    }
+}
@@ -0,0 +1,125 @@
+package mst.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mst.TestGraphs;
+import mst.algorithm.KruskalAlgorithm;
+import mst.algorithm.MSTAlgorithm;
+import mst.algorithm.PrimAlgorithm;
+import mst.algorithm.SolverWorkspace;
+import mst.io.BinaryResultFormat;
+import mst.io.JSONHandler;
+import mst.model.Graph;
+import mst.model.MSTResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MemoryMeterTest {
+
+    @Test
+    @DisplayName("A warm workspace solve allocates far less than a cold one")
+    void testAllocationPerSolve() {
+        assumeTrue(MemoryMeter.isSupported());
+        Graph graph = TestGraphs.randomConnected(new Random(6), 20_000, 60_000, 1000);
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        SolverWorkspace workspace = new SolverWorkspace();
+
+        MSTResult cold = MemoryMeter.measure(graph, () -> kruskal.findMST(graph, workspace));
+        MSTResult warm = MemoryMeter.measure(graph, () -> kruskal.findMST(graph, workspace));
+
+        assertTrue(cold.getAllocatedBytes() > 0);
+        assertTrue(warm.getAllocatedBytes() < cold.getAllocatedBytes() / 2,
+                "warm " + warm.getAllocatedBytes() + " vs cold " + cold.getAllocatedBytes());
+        assertEquals(graph.estimateRetainedBytes(), warm.getGraphRetainedBytes());
+        assertEquals(cold.getTotalCost(), warm.getTotalCost());
+        assertEquals(-1, kruskal.findMST(graph).getAllocatedBytes());
+    }
+
+    @Test
+    @DisplayName("Solves through the MSTAlgorithm interface reuse the thread's workspace")
+    void testInterfacePathReusesWorkspace() {
+        assumeTrue(MemoryMeter.isSupported());
+        Graph graph = TestGraphs.randomConnected(new Random(27), 20_000, 60_000, 1000);
+        SolverWorkspace workspace = new SolverWorkspace();
+        for (MSTAlgorithm engine : new MSTAlgorithm[]{new PrimAlgorithm(), new KruskalAlgorithm()}) {
+            // Warm both the thread's workspace and a private one to the graph's size
+            engine.findMST(graph);
+            MemoryMeter.measure(graph, () -> engine instanceof PrimAlgorithm
+                    ? ((PrimAlgorithm) engine).findMST(graph, workspace)
+                    : ((KruskalAlgorithm) engine).findMST(graph, workspace));
+
+            MSTResult viaInterface = MemoryMeter.measure(graph, () -> engine.findMST(graph));
+            MSTResult viaWorkspace = MemoryMeter.measure(graph, () -> engine instanceof PrimAlgorithm
+                    ? ((PrimAlgorithm) engine).findMST(graph, workspace)
+                    : ((KruskalAlgorithm) engine).findMST(graph, workspace));
+            assertTrue(viaInterface.getAllocatedBytes() < 2 * viaWorkspace.getAllocatedBytes(),
+                    engine.getName() + ": interface " + viaInterface.getAllocatedBytes()
+                            + " vs workspace " + viaWorkspace.getAllocatedBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Retained size estimate tracks what building the graph allocated")
+    void testRetainedEstimate() {
+        assumeTrue(MemoryMeter.isSupported());
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            names.add("District-" + i);
+        }
+        Random random = new Random(9);
+        long before = MemoryMeter.currentThreadAllocatedBytes();
+        Graph graph = new Graph(names);
+        for (int v = 1; v < names.size(); v++) {
+            graph.addEdge(random.nextInt(v), v, random.nextInt(100));
+            graph.addEdge(random.nextInt(v), v, random.nextInt(100));
+        }
+        long allocated = MemoryMeter.currentThreadAllocatedBytes() - before;
+        long estimate = graph.estimateRetainedBytes();
+
+        // Construction also allocates the arrays the lists outgrew; the names themselves were allocated earlier
+        long namesBytes = 0;
+        for (String name : names) {
+            namesBytes += 24 + ((16 + name.length() + 7) & ~7);
+        }
+        assertTrue(estimate - namesBytes <= allocated, estimate + " vs " + allocated);
+        assertTrue(estimate - namesBytes > allocated / 2, estimate + " vs " + allocated);
+        assertTrue(TestGraphs.randomConnected(random, 2000, 6000, 1000).estimateRetainedBytes()
+                > 1.8 * TestGraphs.randomConnected(random, 1000, 3000, 1000).estimateRetainedBytes());
+    }
+
+    @Test
+    @DisplayName("Measurements reach the JSON output, the binary format and the CSV summary")
+    void testReported() throws IOException {
+        Graph graph = TestGraphs.randomConnected(new Random(1), 500, 1000, 1000);
+        JSONHandler.ResultPair pair = new JSONHandler.ResultPair(1, "G", graph.getVertices(), graph.getEdgeCount(),
+                MemoryMeter.measure(graph, () -> new PrimAlgorithm().findMST(graph)),
+                MemoryMeter.measure(graph, () -> new KruskalAlgorithm().findMST(graph)));
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        new JSONHandler().writeResults(json, List.of(pair));
+        JsonNode prim = new ObjectMapper().readTree(json.toByteArray()).get("results").get(0).get("prim");
+        assertEquals(pair.primResult.getAllocatedBytes(), prim.get("allocated_bytes").asLong());
+        assertEquals(graph.estimateRetainedBytes(), prim.get("graph_retained_bytes").asLong());
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        BinaryResultFormat.write(binary, List.of(pair));
+        MSTResult decoded = BinaryResultFormat.read(new ByteArrayInputStream(binary.toByteArray())).get(0).kruskalResult;
+        assertEquals(pair.kruskalResult.getAllocatedBytes(), decoded.getAllocatedBytes());
+        assertEquals(pair.kruskalResult.getGraphRetainedBytes(), decoded.getGraphRetainedBytes());
+
+        String row = ResultAnalyzer.summarize(pair).toString();
+        assertTrue(row.endsWith("," + pair.primResult.getAllocatedBytes() + "," + pair.kruskalResult.getAllocatedBytes()
+                + "," + graph.estimateRetainedBytes()));
+        assertEquals(ResultAnalyzer.CSV_HEADER.split(",").length, row.split(",", -1).length);
+    }
+}